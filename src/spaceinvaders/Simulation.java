@@ -0,0 +1,100 @@
+package spaceinvaders;
+
+import java.util.ArrayList;
+
+import spaceinvaders.framework.Game;
+import spaceinvaders.framework.GameContext;
+import spaceinvaders.framework.InputSource;
+import spaceinvaders.framework.Keyboard;
+import spaceinvaders.game.BotInputSource;
+import spaceinvaders.game.GameplayScene;
+import spaceinvaders.game.WaveStats;
+
+
+
+/**
+ * 	A Simulation is a single run of the Gameplay Scene played by a bot, with no
+ * 	Window and no sound, as fast as the machine allows. Each Simulation has its
+ * 	own Game Context with its own seed, so many Simulations can run at once on
+ * 	different Threads and a Simulation with the same seed and settings always
+ * 	plays out exactly the same way.
+ * 	
+ * 	The Simulation ends as soon as the ship is destroyed or every Alien Wave is
+ * 	defeated, or once the tick limit is reached, and then hands back the stats
+ * 	of each Wave that was played.
+ * 	
+ */
+public class Simulation extends Game {
+	
+	
+	/** Shortest time in seconds between Alien attacks */
+	private double minAttackDelay;
+	/** Longest time in seconds between Alien attacks */
+	private double maxAttackDelay;
+	
+	/** Scene being simulated */
+	private GameplayScene gameplay;
+	
+	
+	
+	
+	/**
+	 * 	Creates a new Simulation with the given seed where the Aliens attack
+	 * 	with a delay between the given minimum and maximum number of seconds.
+	 */
+	public Simulation( long seed, double minAttackDelay, double maxAttackDelay )
+	{
+		super( "Simulation " + seed, new GameContext( seed ) );
+		this.minAttackDelay = minAttackDelay;
+		this.maxAttackDelay = maxAttackDelay;
+	}
+	
+	
+	
+//==============================================================================
+//							RUN
+//==============================================================================
+	
+	/**
+	 * 	Runs the Simulation on the calling Thread for at most the given number
+	 * 	of ticks, then returns the stats of every Alien Wave that was played.
+	 */
+	public ArrayList<WaveStats> run( long maxTicks )
+	{
+		this.runHeadless( false, maxTicks );
+		return	this.gameplay.getWaveStats();
+	}
+	
+	/**
+	 * 	Sets up the Gameplay Scene and the bot that plays it, and stops the
+	 * 	Simulation once the game is over.
+	 */
+	@Override protected void onGameStart()
+	{
+		this.setFixedTimestep( true );
+		this.setTickRate( 60 );
+		
+		this.gameplay = new GameplayScene();
+		this.gameplay.setAttackDelay( this.minAttackDelay, this.maxAttackDelay );
+		this.getSceneController().addScene( this.gameplay );
+		this.getSceneController().setCurrentScene( this.gameplay.getName() );
+		
+		// Let the bot play, ending the Simulation once the game is over
+		final BotInputSource bot = new BotInputSource( this.gameplay );
+		this.setInputSource( new InputSource() {
+			@Override public void update( double secsPerFrame, Keyboard keys ) {
+				if ( Simulation.this.gameplay.isGameOver() )
+					Simulation.this.shutDownGame();
+				else
+					bot.update( secsPerFrame, keys );
+			}
+		});
+	}
+	
+	/** Nothing to save at the end of a Simulation */
+	@Override protected void onShutDown()
+	{
+		// Nothing to do ...
+	}
+	
+}
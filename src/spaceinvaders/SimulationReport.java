@@ -0,0 +1,162 @@
+package spaceinvaders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import spaceinvaders.game.WaveStats;
+
+
+
+/**
+ * 	The Simulation Report adds up the Wave Stats of every Simulation that was
+ * 	run with the same settings, and reports the averages for each Wave: how
+ * 	long the player survived, how many Aliens they killed and how many shots
+ * 	they fired, along with how often the Wave was cleared or killed the
+ * 	player.
+ * 	
+ */
+public class SimulationReport {
+	
+	
+	/** Shortest time in seconds between Alien attacks */
+	private double minAttackDelay;
+	/** Longest time in seconds between Alien attacks */
+	private double maxAttackDelay;
+	
+	/** Number of Simulations added to the report */
+	private int simulations;
+	/** Totals for each Wave, in order */
+	private ArrayList<WaveTotals> waves;
+	
+	
+	
+	
+	/**
+	 * 	Creates a new, empty, Simulation Report for Simulations run with the
+	 * 	given attack delays.
+	 */
+	public SimulationReport( double minAttackDelay, double maxAttackDelay )
+	{
+		this.minAttackDelay = minAttackDelay;
+		this.maxAttackDelay = maxAttackDelay;
+		this.waves = new ArrayList<WaveTotals>();
+	}
+	
+	
+	
+//==============================================================================
+//							ADD
+//==============================================================================
+	
+	/** Adds the Wave Stats from a single Simulation to the report */
+	public void add( List<WaveStats> stats )
+	{
+		this.simulations ++;
+		for ( WaveStats wave : stats )
+		{
+			while ( this.waves.size() < wave.getWave() )
+				this.waves.add( new WaveTotals() );
+			
+			WaveTotals totals = this.waves.get( wave.getWave() - 1 );
+			totals.played ++;
+			totals.survivalTime += wave.getSurvivalTime();
+			totals.aliensKilled += wave.getAliensKilled();
+			totals.shotsFired += wave.getShotsFired();
+			if ( wave.isCleared() )
+				totals.cleared ++;
+			if ( wave.isPlayerKilled() )
+				totals.playerKilled ++;
+		}
+	}
+	
+//==============================================================================
+//							REPORT
+//==============================================================================
+	
+	/** Returns the number of Simulations added to the report */
+	public int getSimulations()
+	{
+		return	this.simulations;
+	}
+	
+	/** Returns the number of Waves that were reached in any Simulation */
+	public int getTotalWaves()
+	{
+		return	this.waves.size();
+	}
+	
+	/**
+	 * 	Returns the average time in seconds the player survived the given Wave,
+	 * 	starting at 1, over the Simulations that reached it.
+	 */
+	public double getAverageSurvivalTime( int wave )
+	{
+		WaveTotals totals = this.waves.get( wave - 1 );
+		return	totals.survivalTime / totals.played;
+	}
+	
+	/**
+	 * 	Returns the average number of Aliens killed in the given Wave, starting
+	 * 	at 1, over the Simulations that reached it.
+	 */
+	public double getAverageAliensKilled( int wave )
+	{
+		WaveTotals totals = this.waves.get( wave - 1 );
+		return	(double)totals.aliensKilled / totals.played;
+	}
+	
+	/**
+	 * 	Returns the average number of shots fired in the given Wave, starting
+	 * 	at 1, over the Simulations that reached it.
+	 */
+	public double getAverageShotsFired( int wave )
+	{
+		WaveTotals totals = this.waves.get( wave - 1 );
+		return	(double)totals.shotsFired / totals.played;
+	}
+	
+	/**
+	 * 	Returns a compact report with one line for each Wave, for example:
+	 * 	"delay 0.40-1.10 wave 1: n=1000 survived 41.2s killed 37.5 shots 61.0
+	 * 	cleared 52% died 48%".
+	 */
+	@Override public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+		for ( int i = 0; i < this.waves.size(); i++ )
+		{
+			WaveTotals totals = this.waves.get(i);
+			sb.append( String.format( "delay %.2f-%.2f wave %d: n=%d survived %.1fs killed %.1f shots %.1f cleared %.0f%% died %.0f%%%n",
+					this.minAttackDelay, this.maxAttackDelay, i + 1, totals.played,
+					totals.survivalTime / totals.played,
+					(double)totals.aliensKilled / totals.played,
+					(double)totals.shotsFired / totals.played,
+					100.0 * totals.cleared / totals.played,
+					100.0 * totals.playerKilled / totals.played ) );
+		}
+		return	sb.toString();
+	}
+	
+//==============================================================================
+//							WAVE TOTALS
+//==============================================================================
+	
+	/** Running totals of the stats for a single Wave */
+	private static class WaveTotals {
+		
+		/** Number of Simulations that reached the Wave */
+		private int played;
+		/** Total time in seconds survived */
+		private double survivalTime;
+		/** Total Aliens killed */
+		private long aliensKilled;
+		/** Total shots fired */
+		private long shotsFired;
+		/** Number of times the Wave was cleared */
+		private int cleared;
+		/** Number of times the player was killed during the Wave */
+		private int playerKilled;
+	
+	}
+	
+}
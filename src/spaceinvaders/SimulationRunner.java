@@ -0,0 +1,159 @@
+package spaceinvaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import spaceinvaders.framework.Sound;
+import spaceinvaders.game.WaveStats;
+
+
+
+/**
+ * 	The Simulation Runner plays large batches of Simulations in parallel on a
+ * 	Fork Join Pool, using every core of the machine, and adds up the results
+ * 	into a Simulation Report. It can also sweep through several attack delay
+ * 	settings at once, producing one report for each, so the Aliens can be
+ * 	tuned by comparing the reports instead of by hand.
+ * 	
+ * 	Every Simulation in a batch gets its own seed, counting up from the base
+ * 	seed, so running the same batch again gives exactly the same report.
+ * 	
+ */
+public class SimulationRunner {
+	
+	
+	/** Default number of ticks a Simulation can run, 10 minutes at 60 ticks per second */
+	public static final long DEFAULT_MAX_TICKS = 60 * 60 * 10;
+	
+	
+	
+	/** Pool the Simulations are run on */
+	private ForkJoinPool pool;
+	/** Most ticks a single Simulation is allowed to run */
+	private long maxTicks;
+	
+	
+	
+	
+	/** Creates a new Simulation Runner that uses every core of the machine */
+	public SimulationRunner()
+	{
+		this( Runtime.getRuntime().availableProcessors() );
+	}
+	
+	/**
+	 * 	Creates a new Simulation Runner that runs the given number of
+	 * 	Simulations at a time. If the number is not positive this throws an
+	 * 	IllegalArgumentException.
+	 */
+	public SimulationRunner( int parallelism )
+	{
+		if ( parallelism <= 0 )
+			throw new IllegalArgumentException( "Simulation parallelism must be a positive value" );
+		
+		this.pool = new ForkJoinPool( parallelism );
+		this.maxTicks = DEFAULT_MAX_TICKS;
+	}
+	
+	
+	
+//==============================================================================
+//							RUN
+//==============================================================================
+	
+	/**
+	 * 	Runs the given number of Simulations with the given attack delays, the
+	 * 	first with the given seed and each one after with the next seed, and
+	 * 	returns the report of all of them. This blocks until every Simulation
+	 * 	has finished.
+	 */
+	public SimulationReport run( int simulations, long baseSeed, double minAttackDelay, double maxAttackDelay )
+	{
+		double[][] delays = { { minAttackDelay, maxAttackDelay } };
+		return	this.sweep( simulations, baseSeed, delays ).get( 0 );
+	}
+	
+	/**
+	 * 	Runs the given number of Simulations for each pair of minimum and
+	 * 	maximum attack delays, all in parallel, and returns one report for
+	 * 	each pair in the same order. Each setting is run with the same seeds
+	 * 	so the reports can be compared fairly. This blocks until every
+	 * 	Simulation has finished.
+	 */
+	public ArrayList<SimulationReport> sweep( int simulations, long baseSeed, double[][] delays )
+	{
+		// Nobody is listening, and opening thousands of Clips
+		//	would use up the Audio System
+		boolean audio = Sound.isAudioEnabled();
+		Sound.setAudioEnabled( false );
+		
+		try {
+			// Queue up every Simulation for every setting
+			ArrayList<Callable<List<WaveStats>>> tasks = new ArrayList<Callable<List<WaveStats>>>();
+			for ( double[] delay : delays )
+				for ( int i = 0; i < simulations; i++ )
+					tasks.add( this.createTask( baseSeed + i, delay[0], delay[1] ) );
+			
+			List<Future<List<WaveStats>>> results = this.pool.invokeAll( tasks );
+			
+			// Add each Simulation's stats to its setting's report
+			ArrayList<SimulationReport> reports = new ArrayList<SimulationReport>();
+			for ( int d = 0; d < delays.length; d++ )
+			{
+				SimulationReport report = new SimulationReport( delays[d][0], delays[d][1] );
+				for ( int i = 0; i < simulations; i++ )
+					report.add( results.get( d * simulations + i ).get() );
+				reports.add( report );
+			}
+			return	reports;
+		
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException( "Simulations were interrupted", e );
+		} catch ( ExecutionException e ) {
+			throw new IllegalStateException( "Simulation failed", e.getCause() );
+		} finally {
+			Sound.setAudioEnabled( audio );
+		}
+	}
+	
+	/** Creates the task that runs a single Simulation with the given settings */
+	private Callable<List<WaveStats>> createTask( final long seed, final double minAttackDelay, final double maxAttackDelay )
+	{
+		final long maxTicks = this.maxTicks;
+		return	new Callable<List<WaveStats>>() {
+			@Override public List<WaveStats> call() {
+				Simulation simulation = new Simulation( seed, minAttackDelay, maxAttackDelay );
+				return	simulation.run( maxTicks );
+			}
+		};
+	}
+	
+//==============================================================================
+//							SETTINGS
+//==============================================================================
+	
+	/**
+	 * 	Sets the most ticks a single Simulation is allowed to run before it is
+	 * 	stopped, in case the bot survives forever. If the given number is not
+	 * 	positive this throws an IllegalArgumentException.
+	 */
+	public void setMaxTicks( long maxTicks )
+	{
+		if ( maxTicks <= 0 )
+			throw new IllegalArgumentException( "Simulation tick limit must be a positive value" );
+		
+		this.maxTicks = maxTicks;
+	}
+	
+	/** Stops the Threads of the pool once all running Simulations finish */
+	public void shutdown()
+	{
+		this.pool.shutdown();
+	}
+	
+}
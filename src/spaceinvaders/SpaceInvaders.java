@@ -2,6 +2,7 @@ package spaceinvaders;
 
 import spaceinvaders.framework.Game;
 import spaceinvaders.framework.SceneController;
+import spaceinvaders.framework.Sound;
 import spaceinvaders.game.GameplayScene;
 import spaceinvaders.game.TitlescreenScene;
 
@@ -19,11 +20,22 @@ import spaceinvaders.game.TitlescreenScene;
 public class SpaceInvaders extends Game {
 	
 	
+	/** Number of ticks simulated by "--headless" when no number is given */
+	private static final long DEFAULT_HEADLESS_TICKS = 100000;
+	
+	
+	
+	/** Name of the Scene the Game enters first */
+	private String firstScene;
+	
+	
+	
 	
 	/** Creates a new Space Invaders Game */
 	public SpaceInvaders()
 	{
 		super( "Space Invaders!" );
+		this.firstScene = "Titlescreen";
 	}
 	
 	
@@ -44,6 +56,41 @@ public class SpaceInvaders extends Game {
 	public static void main( String[] args )
 	{
 		SpaceInvaders game = new SpaceInvaders();
+		
+		// Simulate the gameplay without a window or sound for the 
+		//	given number of ticks, e.g. "--headless 100000"
+		if ( args.length > 0 && args[0].equals( "--headless" ) )
+		{
+			long ticks = args.length > 1 ? Long.parseLong( args[1] ) : DEFAULT_HEADLESS_TICKS;
+			if ( ticks <= 0 )
+				throw new IllegalArgumentException( "Number of headless ticks must be greater than 0: " + ticks );
+			
+			game.firstScene = "Gamescreen";
+			Sound.setAudioEnabled( false );
+			long start = System.nanoTime();
+			game.runHeadless( false, ticks );
+			double secs = ( System.nanoTime() - start ) / 1.0e9;
+			long ran = game.getTotalTicks();
+			System.out.println( "Simulated " + ran + " ticks in " + secs + " seconds (" + (long)( ran / secs ) + " ticks per second)" );
+			return;
+		}
+		
+		// Play the given number of bot Simulations for each attack 
+		//	delay setting and print the reports, e.g. "--batch 1000"
+		if ( args.length > 0 && args[0].equals( "--batch" ) )
+		{
+			int simulations = args.length > 1 ? Integer.parseInt( args[1] ) : 100;
+			double[][] delays = { { 0.2, 0.6 }, { 0.4, 1.1 }, { 0.8, 1.6 } };
+			SimulationRunner runner = new SimulationRunner();
+			long start = System.nanoTime();
+			for ( SimulationReport report : runner.sweep( simulations, 0, delays ) )
+				System.out.print( report );
+			runner.shutdown();
+			double secs = ( System.nanoTime() - start ) / 1.0e9;
+			System.out.println( "Ran " + simulations * delays.length + " simulations in " + secs + " seconds" );
+			return;
+		}
+		
 		Game.launchGame(game);
 		// TODO: Create the game and properly launch it.
 	}
@@ -67,6 +114,11 @@ public class SpaceInvaders extends Game {
 		this.loadFont( "res/fonts/Arcade.ttf" );
 		this.loadFont( "res/fonts/Space Invaders.ttf" );
 		
+		// Simulate the game at a steady 60 ticks per second no matter 
+		//	how fast the frames are being rendered
+		this.setFixedTimestep( true );
+		this.setTickRate( 60 );
+		
 		
 		TitlescreenScene titlescreen = new TitlescreenScene();
 		GameplayScene gamescreen = new GameplayScene();
@@ -76,7 +128,7 @@ public class SpaceInvaders extends Game {
 		controller.addScene(titlescreen);
 		controller.addScene(gamescreen);
 		
-		controller.setCurrentScene("Titlescreen");
+		controller.setCurrentScene(this.firstScene);
 	}
 	
 //==============================================================================
@@ -0,0 +1,197 @@
+package spaceinvaders.framework;
+
+import java.awt.image.BufferedImage;
+
+
+
+/**
+ * 	An Animation Clip holds everything about an Animation that never changes
+ * 	while it plays: the images that make up the Animation, how long each image
+ * 	is shown for and the mode the Animation is played in. A clip is immutable,
+ * 	so a single clip can be shared by any number of Game Objects, each playing
+ * 	it with their own Animation Player.
+ * 	
+ * 	The Animation has two modes, SINGLE and LOOP. A SINGLE Animation only plays
+ * 	one time, from start to finish, and needs to be reset to be played again. A
+ * 	LOOP Animation however will play from start to finish, repeatidly.
+ * 	
+ */
+public final class AnimationClip {
+	
+	
+	/** Animation Mode that will play the Animation ONE Time */
+	public static final String SINGLE_MODE = "SINGLE";
+	/** Animation Mode that will loop the Animation until stopped */
+	public static final String LOOP_MODE = "LOOP";
+	
+	
+	
+	/** All Images in the Animation */
+	private final BufferedImage[] frames;
+	/** Amount of time each frame of the Animation is shown for */
+	private final double[] frameDurations;
+	/** Amount of time for one play through of the Animation */
+	private final double totalDuration;
+	
+	/** Mode of the Animation */
+	private final String mode;
+	
+	
+	
+	
+	/**
+	 * 	Creates a new Animation Clip with the given mode that shows each of
+	 * 	the given frames for the same duration. If the mode is not SINGLE or
+	 * 	LOOP, or the duration is negative, this throws an
+	 * 	IllegalArgumentException.
+	 */
+	public AnimationClip( String animationMode, double frameDuration, BufferedImage... frames )
+	{
+		this( animationMode, frames, fill( frames.length, frameDuration ) );
+	}
+	
+	/**
+	 * 	Creates a new Animation Clip with the given mode that shows each of
+	 * 	the given frames for the matching duration. The arrays are copied, so
+	 * 	changing them afterwards does not affect the clip. If the mode is not
+	 * 	SINGLE or LOOP, the arrays are different lengths or any duration is
+	 * 	negative, this throws an IllegalArgumentException.
+	 */
+	public AnimationClip( String animationMode, BufferedImage[] frames, double[] frameDurations )
+	{
+		if ( animationMode != SINGLE_MODE && animationMode != LOOP_MODE )
+			throw new IllegalArgumentException( "Animation mode must be set to either AnimationClip.SINGLE_MODE or AnimationClip.LOOP_MODE");
+		if ( frames.length != frameDurations.length )
+			throw new IllegalArgumentException( "Animation needs one frame duration for each frame: " + frames.length + " frames, " + frameDurations.length + " durations" );
+		
+		double total = 0;
+		for ( double duration : frameDurations )
+		{
+			if ( duration < 0 )
+				throw new IllegalArgumentException( "Animation frame duration must be a non-negative value" );
+			total += duration;
+		}
+		
+		this.frames = frames.clone();
+		this.frameDurations = frameDurations.clone();
+		this.totalDuration = total;
+		this.mode = animationMode;
+	}
+	
+	/** Returns an array of the given length with every value set to the given value */
+	private static double[] fill( int length, double value )
+	{
+		double[] values = new double[ length ];
+		for ( int i = 0; i < length; i++ )
+			values[i] = value;
+		return	values;
+	}
+	
+	
+	
+//==============================================================================
+//							FRAMES
+//==============================================================================
+	
+	/** Returns the animation frame Image at the given index, if it exists */
+	public BufferedImage getFrame( int index )
+	{
+		if ( index < 0 || index >= this.frames.length )
+			return null;
+		
+		return	this.frames[ index ];
+	}
+	
+	/**
+	 * 	Returns the amount of time the frame at the given index is shown for,
+	 * 	or zero if there is no such frame.
+	 */
+	public double getFrameDuration( int index )
+	{
+		if ( index < 0 || index >= this.frames.length )
+			return 0;
+		
+		return	this.frameDurations[ index ];
+	}
+	
+	/** Returns the amount of time for one play through of the Animation */
+	public double getTotalDuration()
+	{
+		return	this.totalDuration;
+	}
+	
+	/**
+	 * 	Returns the animation frame Image shown the given amount of time after
+	 * 	the Animation starts. A LOOP Animation wraps around to the start once
+	 * 	the time goes past its total duration, while a SINGLE Animation stays
+	 * 	on its last frame. Returns null if the clip is empty.
+	 */
+	public BufferedImage getFrameAt( double time )
+	{
+		if ( this.isEmpty() )
+			return null;
+		
+		// Wrap LOOP Animations back around to the start
+		if ( this.mode == LOOP_MODE && this.totalDuration > 0 )
+			time %= this.totalDuration;
+		
+		// Find the frame the time falls in
+		for ( int i = 0; i < this.frames.length; i++ )
+		{
+			time -= this.frameDurations[i];
+			if ( time < 0 )
+				return	this.frames[i];
+		}
+		return	this.frames[ this.frames.length - 1 ];
+	}
+	
+	/** Returns the total number of frames in this Animation */
+	public int getTotalFrames()
+	{
+		return	this.frames.length;
+	}
+	
+	/**
+	 * 	Returns true if this Animation is empty, meaning it has zero frames in
+	 * 	its Aniamtion.
+	 */
+	public boolean isEmpty()
+	{
+		return	this.frames.length == 0;
+	}
+	
+//==============================================================================
+//							MODE
+//==============================================================================
+	
+	/**
+	 * 	Returns true if this Animation's mode is set to SINGLE. An Animation set
+	 * 	to SINGLE mode will play its Animation one time through from start to
+	 * 	finish, but does not repeat.
+	 */
+	public boolean isSingleAnimation()
+	{
+		return	this.mode == SINGLE_MODE;
+	}
+	
+	/**
+	 * 	Returns true if this Animation's mode is set to LOOP. An Animation set
+	 * 	to LOOP will continuously play its Animation from start to finish.
+	 */
+	public boolean isLoopingAnimation()
+	{
+		return	this.mode == LOOP_MODE;
+	}
+	
+	/**
+	 * 	Returns the mode for this Animation. The mode determines how the
+	 * 	Animation is played. If in SINGLE mode the Animation will only play one
+	 * 	time through from start to finish. If in LOOP mode then the Animation will
+	 * 	continuously play from start to finish.
+	 */
+	public String getMode()
+	{
+		return	this.mode;
+	}
+	
+}
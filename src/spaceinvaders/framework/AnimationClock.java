@@ -0,0 +1,83 @@
+package spaceinvaders.framework;
+
+import java.awt.image.BufferedImage;
+
+
+
+/**
+ * 	An Animation Clock plays an Animation Clip on behalf of a whole group of
+ * 	Game Objects that all animate in step, such as every Alien of one type in a
+ * 	Wave. The clock is updated once per frame by whoever owns the group, and
+ * 	each Game Object only reads the current frame from it, so the cost of
+ * 	animating the group does not grow with its size.
+ * 	
+ */
+public class AnimationClock {
+	
+	
+	/** Clip being played */
+	private AnimationClip clip;
+	
+	/** Amount of time the clip has been playing */
+	private double elapsedTime;
+	/** Frame of the clip at the current time */
+	private BufferedImage currentFrame;
+	
+	
+	
+	
+	/** Creates a new Animation Clock that plays the given clip */
+	public AnimationClock( AnimationClip clip )
+	{
+		this.clip = clip;
+		this.reset();
+	}
+	
+	
+	
+//==============================================================================
+//							UPDATE
+//==============================================================================
+	
+	/**
+	 * 	Moves the clock forward by the given amount of time and works out the
+	 * 	clip's frame for the new time. This should be called exactly once per
+	 * 	frame no matter how many Game Objects share the clock.
+	 */
+	public void update( double secsPerFrame )
+	{
+		this.elapsedTime += secsPerFrame;
+		
+		// Keep the time within one play through so a LOOP 
+		//	clip never loses precision however long it runs
+		double total = this.clip.getTotalDuration();
+		if ( this.clip.isLoopingAnimation() && total > 0 )
+			this.elapsedTime %= total;
+		
+		this.currentFrame = this.clip.getFrameAt( this.elapsedTime );
+	}
+	
+	/** Resets the clock back to the start of its clip */
+	public void reset()
+	{
+		this.elapsedTime = 0;
+		this.currentFrame = this.clip.getFrameAt( 0 );
+	}
+	
+//==============================================================================
+//							FRAMES
+//==============================================================================
+	
+	/** Returns the animation Image of the clip at the clock's current time */
+	public BufferedImage getCurrentFrame()
+	{
+		return	this.currentFrame;
+	}
+	
+	/** Returns the clip this clock is playing */
+	public AnimationClip getClip()
+	{
+		return	this.clip;
+	}
+	
+}
@@ -0,0 +1,212 @@
+package spaceinvaders.framework;
+
+import java.awt.image.BufferedImage;
+
+
+
+/**
+ * 	An Animation Player plays an Animation Clip for a single Game Object. The
+ * 	clip holds the images, frame durations and mode of the Animation and can be
+ * 	shared, while the player only keeps track of which frame it is on, how long
+ * 	it has been on that frame and whether it is paused. This keeps each animated
+ * 	Game Object down to a few fields no matter how many frames its clip has.
+ * 	
+ */
+public class AnimationPlayer {
+	
+	
+	/** Clip being played */
+	private AnimationClip clip;
+	
+	/** Current frame of the Animation */
+	private int currentFrame;
+	/** Timer for the Animation */
+	private double frameTimer;
+	
+	/** True if the Animation is paused */
+	private boolean paused;
+	
+	
+	
+	
+	/** Creates a new Animation Player with no clip to play */
+	public AnimationPlayer()
+	{
+		this( null );
+	}
+	
+	/** Creates a new Animation Player that plays the given clip */
+	public AnimationPlayer( AnimationClip clip )
+	{
+		this.clip = clip;
+	}
+	
+	
+	
+//==============================================================================
+//							UPDATE
+//==============================================================================
+	
+	/**
+	 * 	Handles updating the Animation's current animation frame if it is not
+	 * 	paused, empty or finished yet.
+	 */
+	public void update( double secsPerFrame )
+	{
+		// Animation is paused, nothing to do...
+		if ( this.paused )
+			return;
+		
+		// Animation is empty or finished, nothing to do...
+		if ( this.isEmpty() || this.isFinished() )
+			return;
+		
+		// Update the timer and check if the current frame
+		//	has elapsed or not...
+		this.frameTimer += secsPerFrame;
+		if ( this.frameTimer < this.clip.getFrameDuration( this.currentFrame ) )
+			return;
+		
+		// Frame time has elapsed, reset the timer and
+		//	move to the next frame of the Animation
+		this.nextFrame();
+	}
+	
+//==============================================================================
+//							CONTROLS
+//==============================================================================
+	
+	/**
+	 * 	Returns true if this Animation is paused. When an Animation is paused
+	 * 	its frame timer and current frame will remain frozen in time until the
+	 * 	Animation is resumed.
+	 */
+	public boolean isPaused()
+	{
+		return	this.paused;
+	}
+	
+	/**
+	 * 	Pauses this Animation. When an Animation is paused its frame timer and
+	 * 	current frame will remain frozen in time until the Animation is resumed.
+	 */
+	public void pause()
+	{
+		this.setPaused( true );
+	}
+	
+	/**
+	 * 	Resumes this Animation from where it was last paused. If the Animation
+	 * 	was not currently paused then this method will have no effect.
+	 */
+	public void resume()
+	{
+		this.setPaused( false );
+	}
+	
+	/**
+	 * 	Set to true to pause the Animation, or false to resume it. When an
+	 * 	Animation is paused its frame timer and current frame will remain frozen
+	 * 	in time until the Animation is resumed.
+	 */
+	public void setPaused( boolean pause )
+	{
+		this.paused = pause;
+	}
+	
+	/** Resets the Animation back to the first frame */
+	public void reset()
+	{
+		this.currentFrame = 0;
+		this.frameTimer = 0;
+	}
+	
+	/**
+	 * 	Moves the Animation to the next frame, if possible, and resets the
+	 * 	Animation's frame timer. If the clip is set to SINGLE mode and it is
+	 * 	already on the last frame of the Animation then this method will do
+	 * 	nothing.
+	 */
+	public void nextFrame()
+	{
+		if ( this.isEmpty() )
+			return;
+		
+		// SINGLE Animation and already on the last frame,
+		//	nothing to do...
+		int lastFrame = this.clip.getTotalFrames() - 1;
+		if ( this.clip.isSingleAnimation() && this.currentFrame == lastFrame )
+			return;
+		
+		// Otherwise, we move to the next frame and reset
+		//	the timer
+		this.frameTimer = 0;
+		this.currentFrame = (this.currentFrame + 1) % this.clip.getTotalFrames();
+	}
+	
+	/**
+	 * 	Returns true if this Animation is finished. An Animation will be
+	 * 	considered finished when its clip is set to SINGLE mode and it has
+	 * 	finished the last frame of the clip. A LOOPING Animation will never be
+	 * 	considered finished.
+	 */
+	public boolean isFinished()
+	{
+		if ( this.isEmpty() )
+			return false;
+		
+		int lastFrame = this.clip.getTotalFrames() - 1;
+		return	this.clip.isSingleAnimation() 				&&
+				this.currentFrame == lastFrame 					&&
+				this.frameTimer >= this.clip.getFrameDuration( lastFrame );
+	}
+	
+//==============================================================================
+//							FRAMES
+//==============================================================================
+	
+	/** Returns the animation Image of the current frame of the Animation */
+	public BufferedImage getCurrentFrame()
+	{
+		if ( this.clip == null )
+			return null;
+		
+		return	this.clip.getFrame( this.currentFrame );
+	}
+	
+	/** Returns the index of the current frame of the Animation */
+	public int getCurrentFrameIndex()
+	{
+		return	this.currentFrame;
+	}
+	
+	/**
+	 * 	Returns true if this player has no clip, or its clip has zero frames
+	 * 	in its Animation.
+	 */
+	public boolean isEmpty()
+	{
+		return	this.clip == null || this.clip.isEmpty();
+	}
+	
+//==============================================================================
+//							CLIP
+//==============================================================================
+	
+	/** Returns the clip this player is playing, or null if it has none */
+	public AnimationClip getClip()
+	{
+		return	this.clip;
+	}
+	
+	/**
+	 * 	Sets the clip this player plays and resets the Animation back to the
+	 * 	first frame.
+	 */
+	public void setClip( AnimationClip clip )
+	{
+		this.clip = clip;
+		this.reset();
+	}
+	
+}
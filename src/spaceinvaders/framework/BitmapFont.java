@@ -0,0 +1,442 @@
+package spaceinvaders.framework;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+
+
+/**
+ * 	A Bitmap Font draws text from an atlas, a single Image holding every
+ * 	printable ASCII character of a Font drawn once up front. Drawing a string
+ * 	is then one image copy per character, and measuring or laying out text
+ * 	only reads the widths worked out when the atlas was made, so neither ever
+ * 	creates an object or asks the Font for its metrics.
+ * 	
+ * 	The atlas is drawn in white and a copy is made in each Color the font is
+ * 	drawn in, the first time that Color is used. Strings that never change,
+ * 	such as titles and labels, can also be drawn into an Image of their own
+ * 	once (see drawStaticString()) so drawing them costs a single copy.
+ * 	
+ * 	Bitmap Fonts are shared, see BitmapFont.get(). Fonts loaded with
+ * 	Game.loadFont() can be asked for by name once they are loaded. Characters
+ * 	outside the printable ASCII range are drawn as a '?'.
+ * 	
+ */
+public class BitmapFont {
+	
+	
+	/** First character in the atlas, a space */
+	public static final char FIRST_CHAR = 32;
+	/** Last character in the atlas, a tilde */
+	public static final char LAST_CHAR = 126;
+	/** Character drawn in place of any character not in the atlas */
+	public static final char MISSING_CHAR = '?';
+	
+	/** Widest the atlas is allowed to get before the glyphs wrap onto another row */
+	private static final int MAX_ATLAS_WIDTH = 1024;
+	
+	/** Bitmap Fonts created so far, by Font */
+	private static final HashMap<Font, BitmapFont> fonts = new HashMap<Font, BitmapFont>();
+	
+	
+	
+	/** Font the atlas was drawn from */
+	private Font font;
+	
+	/** Distance from the baseline to the top of most characters */
+	private int ascent;
+	/** Distance from the baseline to the bottom of most characters */
+	private int descent;
+	/** Distance from one baseline to the next */
+	private int height;
+	
+	/** Distance from the baseline to the top of every glyph's cell, always negative or zero */
+	private int cellTop;
+	/** Height of every glyph's cell in the atlas */
+	private int cellHeight;
+	/** Furthest any glyph's cell reaches behind the pen, always negative */
+	private int cellLeft;
+	/** Furthest any glyph's cell reaches past its advance */
+	private int cellRight;
+	
+	/** Position of each glyph's cell in the atlas */
+	private int[] glyphX;
+	private int[] glyphY;
+	/** Width of each glyph's cell in the atlas */
+	private int[] glyphWidth;
+	/** Distance from the pen position to the left of each glyph's cell */
+	private int[] glyphLeft;
+	/** Distance the pen moves along after each glyph */
+	private int[] advance;
+	
+	/** Atlas of every glyph, drawn in white */
+	private BufferedImage atlas;
+	/** Copies of the atlas in each Color the font has been drawn in */
+	private ArrayList<Tint> tints;
+	
+	
+	
+	
+	/** Creates a new Bitmap Font and draws the atlas for the given Font */
+	private BitmapFont( Font font )
+	{
+		this.font = font;
+		this.tints = new ArrayList<Tint>( 4 );
+		this.createAtlas();
+	}
+	
+	/**
+	 * 	Returns the Bitmap Font for the given Font, drawing its atlas the first
+	 * 	time the Font is asked for.
+	 */
+	public static BitmapFont get( Font font )
+	{
+		if ( font == null )
+			throw new IllegalArgumentException( "Bitmap Font needs a Font to draw" );
+		
+		synchronized ( fonts )
+		{
+			BitmapFont bitmapFont = fonts.get( font );
+			if ( bitmapFont == null )
+			{
+				bitmapFont = new BitmapFont( font );
+				fonts.put( font, bitmapFont );
+			}
+			return	bitmapFont;
+		}
+	}
+	
+	/**
+	 * 	Returns the Bitmap Font for the Font with the given name, style and
+	 * 	size. The name may be that of any Font loaded with Game.loadFont().
+	 */
+	public static BitmapFont get( String name, int style, int size )
+	{
+		return	get( new Font( name, style, size ) );
+	}
+	
+	/** Forgets every Bitmap Font so their atlases are drawn again when next needed */
+	public static void clearCache()
+	{
+		synchronized ( fonts )
+		{
+			fonts.clear();
+		}
+	}
+	
+//==============================================================================
+//							ATLAS
+//==============================================================================
+	
+	/**
+	 * 	Measures every glyph, packs their cells into rows and draws them all
+	 * 	into the atlas in white.
+	 */
+	private void createAtlas()
+	{
+		int totalGlyphs = LAST_CHAR - FIRST_CHAR + 1;
+		this.glyphX = new int[ totalGlyphs ];
+		this.glyphY = new int[ totalGlyphs ];
+		this.glyphWidth = new int[ totalGlyphs ];
+		this.glyphLeft = new int[ totalGlyphs ];
+		this.advance = new int[ totalGlyphs ];
+		
+		// Measure the font and the ink of every glyph, some glyphs
+		//	reach past their advance or above the ascent
+		BufferedImage scratch = new BufferedImage( 1, 1, BufferedImage.TYPE_INT_ARGB );
+		Graphics2D sg = this.createGlyphGraphics( scratch );
+		FontMetrics fm = sg.getFontMetrics();
+		FontRenderContext frc = sg.getFontRenderContext();
+		this.ascent = fm.getAscent();
+		this.descent = fm.getDescent();
+		this.height = fm.getHeight();
+		
+		int top = -this.ascent;
+		int bottom = this.descent;
+		char[] glyph = new char[ 1 ];
+		Rectangle[] ink = new Rectangle[ totalGlyphs ];
+		for ( int i = 0; i < totalGlyphs; i++ )
+		{
+			glyph[0] = (char)(FIRST_CHAR + i);
+			ink[i] = this.font.createGlyphVector( frc, glyph ).getPixelBounds( frc, 0, 0 );
+			this.advance[i] = fm.charWidth( glyph[0] );
+			if ( !ink[i].isEmpty() )
+			{
+				top = Math.min( top, ink[i].y );
+				bottom = Math.max( bottom, ink[i].y + ink[i].height );
+			}
+		}
+		sg.dispose();
+		
+		// One pixel of space around every cell so no glyph
+		//	bleeds into its neighbour
+		this.cellTop = top - 1;
+		this.cellHeight = bottom - top + 2;
+		
+		// Pack the cells into rows
+		int x = 0;
+		int y = 0;
+		int atlasWidth = 1;
+		for ( int i = 0; i < totalGlyphs; i++ )
+		{
+			int left = Math.min( 0, ink[i].isEmpty() ? 0 : ink[i].x ) - 1;
+			int right = Math.max( this.advance[i], ink[i].isEmpty() ? 0 : ink[i].x + ink[i].width ) + 1;
+			int width = right - left;
+			if ( x > 0 && x + width > MAX_ATLAS_WIDTH )
+			{
+				x = 0;
+				y += this.cellHeight;
+			}
+			
+			this.glyphX[i] = x;
+			this.glyphY[i] = y;
+			this.glyphWidth[i] = width;
+			this.glyphLeft[i] = left;
+			this.cellLeft = Math.min( this.cellLeft, left );
+			this.cellRight = Math.max( this.cellRight, right - this.advance[i] );
+			x += width;
+			atlasWidth = Math.max( atlasWidth, x );
+		}
+		
+		// Draw every glyph into its cell
+		this.atlas = new BufferedImage( atlasWidth, y + this.cellHeight, BufferedImage.TYPE_INT_ARGB );
+		Graphics2D g = this.createGlyphGraphics( this.atlas );
+		g.setColor( Color.WHITE );
+		for ( int i = 0; i < totalGlyphs; i++ )
+		{
+			glyph[0] = (char)(FIRST_CHAR + i);
+			g.drawChars( glyph, 0, 1, this.glyphX[i] - this.glyphLeft[i], this.glyphY[i] - this.cellTop );
+		}
+		g.dispose();
+	}
+	
+	/**
+	 * 	Returns a Graphics for the given Image set up to draw glyphs the same
+	 * 	way the Game draws text, without anti-aliasing.
+	 */
+	private Graphics2D createGlyphGraphics( BufferedImage img )
+	{
+		Graphics2D g = img.createGraphics();
+		g.setFont( this.font );
+		g.setRenderingHint( RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF );
+		g.setRenderingHint( RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF );
+		return	g;
+	}
+	
+	/**
+	 * 	Returns the copy of the atlas in the given Color, drawing it the first
+	 * 	time the Color is used.
+	 */
+	private synchronized Tint getTint( Color color )
+	{
+		int rgb = color.getRGB();
+		for ( int i = 0; i < this.tints.size(); i++ )
+		{
+			Tint tint = this.tints.get(i);
+			if ( tint.rgb == rgb )
+				return	tint;
+		}
+		
+		// Keep the glyphs' shape from the white atlas and fill them with the Color
+		BufferedImage tinted = new BufferedImage( this.atlas.getWidth(), this.atlas.getHeight(), BufferedImage.TYPE_INT_ARGB );
+		Graphics2D g = tinted.createGraphics();
+		g.drawImage( this.atlas, 0, 0, null );
+		g.setComposite( AlphaComposite.SrcIn );
+		g.setColor( color );
+		g.fillRect( 0, 0, tinted.getWidth(), tinted.getHeight() );
+		g.dispose();
+		
+		Tint tint = new Tint( rgb, ImageLoader.toCompatibleImage( tinted ) );
+		this.tints.add( tint );
+		return	tint;
+	}
+	
+	/** Returns the index of the given character's glyph in the atlas */
+	private static int getGlyph( char c )
+	{
+		if ( c < FIRST_CHAR || c > LAST_CHAR )
+			c = MISSING_CHAR;
+		return	c - FIRST_CHAR;
+	}
+	
+//==============================================================================
+//							METRICS
+//==============================================================================
+	
+	/** Returns the Font the atlas was drawn from */
+	public Font getFont()
+	{
+		return	this.font;
+	}
+	
+	/** Returns the distance from the baseline to the top of most characters */
+	public int getAscent()
+	{
+		return	this.ascent;
+	}
+	
+	/** Returns the distance from the baseline to the bottom of most characters */
+	public int getDescent()
+	{
+		return	this.descent;
+	}
+	
+	/** Returns the distance from one line of text's baseline to the next */
+	public int getHeight()
+	{
+		return	this.height;
+	}
+	
+	/** Returns the distance the pen moves along after the given character */
+	public int charWidth( char c )
+	{
+		return	this.advance[ getGlyph( c ) ];
+	}
+	
+	/** Returns the width of the given text when drawn in this font */
+	public int stringWidth( CharSequence text )
+	{
+		int width = 0;
+		for ( int i = 0; i < text.length(); i++ )
+			width += this.advance[ getGlyph( text.charAt(i) ) ];
+		return	width;
+	}
+	
+	/** Returns the width of the given range of characters when drawn in this font */
+	public int charsWidth( char[] text, int offset, int length )
+	{
+		int width = 0;
+		for ( int i = offset; i < offset + length; i++ )
+			width += this.advance[ getGlyph( text[i] ) ];
+		return	width;
+	}
+	
+//==============================================================================
+//							RENDER
+//==============================================================================
+	
+	/**
+	 * 	Draws the given text in the given Color with the left of its baseline
+	 * 	at the given position, and returns the position the pen ends up at.
+	 */
+	public int drawString( Graphics2D g, CharSequence text, int x, int y, Color color )
+	{
+		BufferedImage img = this.getTint( color ).atlas;
+		for ( int i = 0; i < text.length(); i++ )
+			x = this.drawGlyph( g, img, getGlyph( text.charAt(i) ), x, y );
+		return	x;
+	}
+	
+	/**
+	 * 	Draws the given range of characters in the given Color with the left
+	 * 	of its baseline at the given position, and returns the position the
+	 * 	pen ends up at.
+	 */
+	public int drawChars( Graphics2D g, char[] text, int offset, int length, int x, int y, Color color )
+	{
+		BufferedImage img = this.getTint( color ).atlas;
+		for ( int i = offset; i < offset + length; i++ )
+			x = this.drawGlyph( g, img, getGlyph( text[i] ), x, y );
+		return	x;
+	}
+	
+	/** Copies one glyph's cell from the given atlas and returns the next pen position */
+	private int drawGlyph( Graphics2D g, BufferedImage img, int glyph, int x, int y )
+	{
+		// Nothing to draw for a space
+		if ( glyph != 0 )
+		{
+			int sx = this.glyphX[ glyph ];
+			int sy = this.glyphY[ glyph ];
+			int dx = x + this.glyphLeft[ glyph ];
+			int dy = y + this.cellTop;
+			int w = this.glyphWidth[ glyph ];
+			int h = this.cellHeight;
+			g.drawImage( img, dx, dy, dx + w, dy + h, sx, sy, sx + w, sy + h, null );
+		}
+		return	x + this.advance[ glyph ];
+	}
+	
+	/**
+	 * 	Draws text that never changes, such as a title or label, in the given
+	 * 	Color with the left of its baseline at the given position. The text is
+	 * 	drawn into an Image of its own the first time and that Image is copied
+	 * 	every time after, so only use this for a small number of strings.
+	 */
+	public void drawStaticString( Graphics2D g, String text, int x, int y, Color color )
+	{
+		g.drawImage( this.getStringImage( text, color ), x + this.cellLeft, y + this.cellTop, null );
+	}
+	
+	/**
+	 * 	Returns the Image the given text is drawn into for drawStaticString(),
+	 * 	drawing it the first time the text is asked for in the given Color. The
+	 * 	left of the text's baseline is at (-getStringImageLeft(),
+	 * 	-getStringImageTop()) in the Image.
+	 */
+	public BufferedImage getStringImage( String text, Color color )
+	{
+		Tint tint = this.getTint( color );
+		synchronized ( tint )
+		{
+			BufferedImage img = tint.strings.get( text );
+			if ( img == null )
+			{
+				int width = this.stringWidth( text ) - this.cellLeft + this.cellRight;
+				img = new BufferedImage( width, this.cellHeight, BufferedImage.TYPE_INT_ARGB );
+				Graphics2D g = img.createGraphics();
+				this.drawString( g, text, -this.cellLeft, -this.cellTop, color );
+				g.dispose();
+				
+				img = ImageLoader.toCompatibleImage( img );
+				tint.strings.put( text, img );
+			}
+			return	img;
+		}
+	}
+	
+	/** Returns the distance from the left of a string's baseline to the left of its Image */
+	public int getStringImageLeft()
+	{
+		return	this.cellLeft;
+	}
+	
+	/** Returns the distance from a string's baseline to the top of its Image */
+	public int getStringImageTop()
+	{
+		return	this.cellTop;
+	}
+	
+//==============================================================================
+//							TINT
+//==============================================================================
+	
+	/** Copy of the atlas in one Color, and the static strings drawn in it */
+	private static class Tint {
+		
+		/** Color of the glyphs, as returned by Color.getRGB() */
+		private int rgb;
+		/** Atlas with every glyph filled in the Color */
+		private BufferedImage atlas;
+		/** Static strings drawn in the Color, by text */
+		private HashMap<String, BufferedImage> strings;
+		
+		private Tint( int rgb, BufferedImage atlas )
+		{
+			this.rgb = rgb;
+			this.atlas = atlas;
+			this.strings = new HashMap<String, BufferedImage>();
+		}
+	
+	}
+	
+}
@@ -106,6 +106,99 @@ public class Bounds {
 		return true;
 	}
 	
+	/**
+	 * 	Returns how far along the line segment from (x1, y1) to (x2, y2) it 
+	 * 	first touches these Bounds, from 0 at (x1, y1) to 1 at (x2, y2), or -1 
+	 * 	if it never does. Edges count as touching, the same as intersects().
+	 */
+	public double segmentEntry( double x1, double y1, double x2, double y2 )
+	{
+		return	entry( x1, y1, x2 - x1, y2 - y1,
+					   this.getX(), this.getY(), this.getX() + this.getWidth(), this.getY() + this.getHeight() );
+	}
+	
+	/**
+	 * 	Returns true if the line segment from (x1, y1) to (x2, y2) touches 
+	 * 	these Bounds anywhere along its length.
+	 */
+	public boolean intersectsSegment( double x1, double y1, double x2, double y2 )
+	{
+		return	this.segmentEntry( x1, y1, x2, y2 ) >= 0;
+	}
+	
+	/**
+	 * 	Returns how far along their move these Bounds first touch the given 
+	 * 	Bounds, if they moved in a straight line from having their top-left 
+	 * 	corner at the given position to where they are now. This is from 0 at 
+	 * 	the start of the move to 1 at the end, or -1 if they never touch. 
+	 * 	Unlike intersects(), this also catches Bounds that moved so far in 
+	 * 	one step that they passed right over the other Bounds.
+	 */
+	public double sweepEntry( double fromX, double fromY, Bounds other )
+	{
+		// Moving these Bounds against the other is the same as moving 
+		//	their top-left corner against the other grown by their size
+		return	entry( fromX, fromY, this.getX() - fromX, this.getY() - fromY,
+					   other.getX() - this.width, other.getY() - this.height,
+					   other.getX() + other.getWidth(), other.getY() + other.getHeight() );
+	}
+	
+	/**
+	 * 	Returns true if these Bounds touched the given Bounds at any point 
+	 * 	while moving in a straight line from having their top-left corner at 
+	 * 	the given position to where they are now.
+	 */
+	public boolean intersectsSwept( double fromX, double fromY, Bounds other )
+	{
+		return	this.sweepEntry( fromX, fromY, other ) >= 0;
+	}
+	
+	/**
+	 * 	Returns how far along the move of (dx, dy) from the given point it 
+	 * 	first touches the area with the given corners, from 0 to 1, or -1 if 
+	 * 	it never does. The move is clipped to the area along each axis, and 
+	 * 	touches it if anything is left.
+	 */
+	private static double entry( double x, double y, double dx, double dy, 
+								 double left, double top, double right, double bottom )
+	{
+		double enter = 0;
+		double exit = 1;
+		
+		// Clip along x...
+		if ( Math.abs( dx ) < Vector.EPSILON )
+		{
+			if ( x < left || x > right )
+				return -1;
+		}
+		else
+		{
+			double t1 = (left - x) / dx;
+			double t2 = (right - x) / dx;
+			enter = Math.max( enter, Math.min( t1, t2 ) );
+			exit = Math.min( exit, Math.max( t1, t2 ) );
+		}
+		
+		// ... then along y
+		if ( Math.abs( dy ) < Vector.EPSILON )
+		{
+			if ( y < top || y > bottom )
+				return -1;
+		}
+		else
+		{
+			double t1 = (top - y) / dy;
+			double t2 = (bottom - y) / dy;
+			enter = Math.max( enter, Math.min( t1, t2 ) );
+			exit = Math.min( exit, Math.max( t1, t2 ) );
+		}
+		
+		if ( enter > exit )
+			return -1;
+		
+		return	enter;
+	}
+	
 	/** 
 	 * 	Returns true if the given Vector position is contained inside of
 	 * 	these Bounds.
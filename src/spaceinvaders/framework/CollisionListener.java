@@ -0,0 +1,22 @@
+package spaceinvaders.framework;
+
+
+
+/**
+ * 	Base class for anything that handles the collisions found by a Spatial
+ * 	Grid. The Grid invokes the Collision Listener once for each pair of Game
+ * 	Objects whose Bounds overlap, see SpatialGrid.findPairs().
+ * 	
+ */
+public abstract class CollisionListener {
+	
+	
+	
+	/**
+	 * 	Invoked by the Spatial Grid for a pair of Game Objects whose Bounds
+	 * 	overlap. The first Game Object is from the first group searched and
+	 * 	the second from the second group.
+	 */
+	abstract public void collided( GameObject a, GameObject b );
+	
+}
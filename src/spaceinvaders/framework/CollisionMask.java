@@ -0,0 +1,253 @@
+package spaceinvaders.framework;
+
+import java.awt.image.BufferedImage;
+
+
+
+/**
+ * 	A Collision Mask marks which pixels of an Image are solid, so two things
+ * 	can be tested for touching by what is actually drawn instead of by their
+ * 	Bounds. A pixel is solid if its alpha is at least ALPHA_THRESHOLD.
+ * 	
+ * 	Each row of the mask is packed into longs, 64 pixels to a long, with the
+ * 	leftmost pixel in the lowest bit. Two masks are tested against each other
+ * 	64 pixels at a time, by shifting the words of one to line up with the
+ * 	other and ANDing them together, so a test costs little more than testing
+ * 	their Bounds. Masks are created and cached by the Image Loader (see
+ * 	ImageLoader.getCollisionMask()) and should be tested only once the Bounds
+ * 	are known to overlap.
+ * 	
+ */
+public class CollisionMask {
+	
+	
+	/** Lowest alpha value of a pixel that counts as solid */
+	public static final int ALPHA_THRESHOLD = 128;
+	
+	
+	
+	/** Size of the mask in pixels */
+	private int width;
+	private int height;
+	
+	/** Number of longs each row is packed into */
+	private int wordsPerRow;
+	/** Solid pixels of every row, one bit each, row after row */
+	private long[] bits;
+	
+	
+	
+	
+	/** Creates a new Collision Mask of the given size with no solid pixels */
+	public CollisionMask( int width, int height )
+	{
+		if ( width < 0 || height < 0 )
+			throw new IllegalArgumentException( "Collision Mask size must be non-negative: " + width + "x" + height );
+		
+		this.width = width;
+		this.height = height;
+		this.wordsPerRow = (width + 63) >>> 6;
+		this.bits = new long[ this.wordsPerRow * height ];
+	}
+	
+	/** Creates a new Collision Mask that is a copy of the given one, to be changed on its own */
+	public CollisionMask( CollisionMask other )
+	{
+		this.width = other.width;
+		this.height = other.height;
+		this.wordsPerRow = other.wordsPerRow;
+		this.bits = other.bits.clone();
+	}
+	
+	/**
+	 * 	Creates a new Collision Mask the size of the given Image, with every
+	 * 	pixel whose alpha is at least ALPHA_THRESHOLD solid.
+	 */
+	public CollisionMask( BufferedImage img )
+	{
+		this( img.getWidth(), img.getHeight() );
+		
+		int[] row = new int[ this.width ];
+		for ( int y = 0; y < this.height; y++ )
+		{
+			img.getRGB( 0, y, this.width, 1, row, 0, this.width );
+			int word = y * this.wordsPerRow;
+			for ( int x = 0; x < this.width; x++ )
+				if ( (row[x] >>> 24) >= ALPHA_THRESHOLD )
+					this.bits[ word + (x >>> 6) ] |= 1L << x;
+		}
+	}
+	
+	
+	
+//==============================================================================
+//							PIXELS
+//==============================================================================
+	
+	/** Returns true if the pixel at the given position is solid */
+	public boolean isSolid( int x, int y )
+	{
+		if ( x < 0 || y < 0 || x >= this.width || y >= this.height )
+			return false;
+		
+		return	(this.bits[ y * this.wordsPerRow + (x >>> 6) ] & 1L << x) != 0;
+	}
+	
+	/** Sets the pixel at the given position to solid or not, if it is inside the mask */
+	public void setSolid( int x, int y, boolean solid )
+	{
+		if ( x < 0 || y < 0 || x >= this.width || y >= this.height )
+			return;
+		
+		int word = y * this.wordsPerRow + (x >>> 6);
+		if ( solid )
+			this.bits[ word ] |= 1L << x;
+		else
+			this.bits[ word ] &= ~(1L << x);
+	}
+	
+	/**
+	 * 	Clears every pixel of this mask under a solid pixel of the given 
+	 * 	stamp, with the stamp's top left at (x, y) in this mask. This works a 
+	 * 	whole word of each row at a time, so carving a hole out of the mask 
+	 * 	costs a few operations per row of the stamp.
+	 */
+	public void subtract( CollisionMask stamp, int x, int y )
+	{
+		int left = Math.max( 0, x );
+		int top = Math.max( 0, y );
+		int right = Math.min( this.width, x + stamp.width );
+		int bottom = Math.min( this.height, y + stamp.height );
+		
+		for ( int row = top; row < bottom; row++ )
+		{
+			int start = row * this.wordsPerRow;
+			int col = left;
+			while ( col < right )
+			{
+				// Up to the end of the word the column is in
+				int shift = col & 63;
+				int n = Math.min( 64 - shift, right - col );
+				long bits = stamp.getBits( row - y, col - x ) & lowBits( n );
+				this.bits[ start + (col >>> 6) ] &= ~(bits << shift);
+				col += n;
+			}
+		}
+	}
+	
+	/**
+	 * 	Returns the 64 pixels of the given row starting at the given column
+	 * 	packed into one long, the pixel at the column in the lowest bit.
+	 * 	Pixels past the right edge are never solid.
+	 */
+	private long getBits( int y, int x )
+	{
+		int word = x >>> 6;
+		int shift = x & 63;
+		int start = y * this.wordsPerRow;
+		long bits = this.bits[ start + word ] >>> shift;
+		if ( shift != 0 && word + 1 < this.wordsPerRow )
+			bits |= this.bits[ start + word + 1 ] << (64 - shift);
+		return	bits;
+	}
+	
+	/** Returns a long with the lowest given number of bits, up to 64, set */
+	private static long lowBits( int n )
+	{
+		return	n >= 64 ? -1L : (1L << n) - 1;
+	}
+	
+//==============================================================================
+//							OVERLAP
+//==============================================================================
+	
+	/**
+	 * 	Returns true if any solid pixel of this mask, with its top left at
+	 * 	(x, y), lands on a solid pixel of the given mask, with its top left at
+	 * 	(otherX, otherY).
+	 */
+	public boolean overlaps( int x, int y, CollisionMask other, int otherX, int otherY )
+	{
+		// Where the other mask sits relative to this one
+		int dx = otherX - x;
+		int dy = otherY - y;
+		
+		// Only the area both masks cover can overlap
+		int left = Math.max( 0, dx );
+		int top = Math.max( 0, dy );
+		int right = Math.min( this.width, dx + other.width );
+		int bottom = Math.min( this.height, dy + other.height );
+		
+		for ( int row = top; row < bottom; row++ )
+			for ( int col = left; col < right; col += 64 )
+			{
+				long mine = this.getBits( row, col );
+				long theirs = other.getBits( row - dy, col - dx );
+				if ( (mine & theirs & lowBits( right - col )) != 0 )
+					return true;
+			}
+		
+		return false;
+	}
+	
+	/**
+	 * 	Returns true if any solid pixel of this mask, with its top left at
+	 * 	(x, y), lies inside the given area, whose right and bottom edges are
+	 * 	not included. This tests the mask against something solid all over,
+	 * 	such as a Laser.
+	 */
+	public boolean overlaps( int x, int y, int left, int top, int right, int bottom )
+	{
+		left = Math.max( 0, left - x );
+		top = Math.max( 0, top - y );
+		right = Math.min( this.width, right - x );
+		bottom = Math.min( this.height, bottom - y );
+		
+		for ( int row = top; row < bottom; row++ )
+			for ( int col = left; col < right; col += 64 )
+				if ( (this.getBits( row, col ) & lowBits( right - col )) != 0 )
+					return true;
+		
+		return false;
+	}
+	
+	/**
+	 * 	Returns true if any solid pixel of this mask, with its top left at
+	 * 	(x, y), lies inside the given Bounds. Every pixel the Bounds cover, 
+	 * 	even in part, counts.
+	 */
+	public boolean overlaps( int x, int y, Bounds bounds )
+	{
+		int left = (int)Math.floor( bounds.getX() );
+		int top = (int)Math.floor( bounds.getY() );
+		int right = (int)Math.ceil( bounds.getX() + bounds.getWidth() );
+		int bottom = (int)Math.ceil( bounds.getY() + bounds.getHeight() );
+		return	this.overlaps( x, y, left, top, Math.max( right, left + 1 ), Math.max( bottom, top + 1 ) );
+	}
+	
+//==============================================================================
+//							SIZE
+//==============================================================================
+	
+	/** Returns the width of the mask in pixels */
+	public int getWidth()
+	{
+		return	this.width;
+	}
+	
+	/** Returns the height of the mask in pixels */
+	public int getHeight()
+	{
+		return	this.height;
+	}
+	
+	/** Returns the number of solid pixels in the mask */
+	public int getTotalSolid()
+	{
+		int total = 0;
+		for ( int i = 0; i < this.bits.length; i++ )
+			total += Long.bitCount( this.bits[i] );
+		return	total;
+	}
+	
+}
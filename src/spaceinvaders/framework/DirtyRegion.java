@@ -0,0 +1,355 @@
+package spaceinvaders.framework;
+
+import java.awt.Rectangle;
+
+
+
+/**
+ * 	A Dirty Region is the set of rectangles of the screen that have changed
+ * 	since the last frame and need to be drawn again. When the Game renders with
+ * 	dirty rectangles (see Game.setDirtyRendering()) it keeps the last frame and
+ * 	only draws the current Scene again inside these rectangles, leaving the
+ * 	rest of the frame as it was.
+ * 	
+ * 	Before each frame the Scene reports what has changed (see
+ * 	Scene.invalidate()). Anything that is drawn at a place that can change,
+ * 	such as a moving Game Object, is reported with addDrawn(). Its area is
+ * 	dirty this frame, so it is drawn where it is now, and is also dirty next
+ * 	frame, so wherever it was drawn is cleaned up once it moves away or is
+ * 	gone. Areas that only change this frame are reported with add().
+ * 	
+ * 	Overlapping rectangles are joined together, and once there are too many
+ * 	the closest ones are joined as well, so the Scene is never drawn more than
+ * 	a handful of times in one frame.
+ * 	
+ */
+public class DirtyRegion {
+	
+	
+	/** Default most rectangles the region is split into */
+	public static final int DEFAULT_MAX_RECTS = 8;
+	
+	
+	
+	/** Size of the area the region covers, usually the screen */
+	private int width;
+	private int height;
+	
+	/** Most rectangles the region is split into before they are joined */
+	private int maxRects;
+	
+	/** Corners of each dirty rectangle, left, top, right and bottom */
+	private int[] rects;
+	/** Number of dirty rectangles */
+	private int totalRects;
+	/** True if the whole area is dirty */
+	private boolean allDirty;
+	
+	/** Corners of each area drawn this frame, dirty again next frame */
+	private int[] drawn;
+	/** Number of areas drawn this frame */
+	private int totalDrawn;
+	
+	
+	
+	
+	/** Creates a new Dirty Region covering an area of the given size */
+	public DirtyRegion( int width, int height )
+	{
+		this.maxRects = DEFAULT_MAX_RECTS;
+		this.rects = new int[ 4 * DEFAULT_MAX_RECTS ];
+		this.drawn = new int[ 4 * 64 ];
+		this.setSize( width, height );
+	}
+	
+	
+	
+//==============================================================================
+//							FRAME
+//==============================================================================
+	
+	/**
+	 * 	Starts a new frame. The region is emptied, then everything reported
+	 * 	with addDrawn() during the last frame is made dirty again.
+	 */
+	public void beginFrame()
+	{
+		this.totalRects = 0;
+		this.allDirty = false;
+		
+		int total = this.totalDrawn;
+		this.totalDrawn = 0;
+		for ( int i = 0; i < total * 4; i += 4 )
+			this.addCorners( this.drawn[i], this.drawn[i + 1], this.drawn[i + 2], this.drawn[i + 3] );
+	}
+	
+	/**
+	 * 	Makes the whole area dirty for this frame, for example when a new
+	 * 	Scene is shown or the whole background changes.
+	 */
+	public void invalidateAll()
+	{
+		this.allDirty = true;
+		this.totalRects = 1;
+		this.rects[0] = 0;
+		this.rects[1] = 0;
+		this.rects[2] = this.width;
+		this.rects[3] = this.height;
+	}
+	
+//==============================================================================
+//							ADD
+//==============================================================================
+	
+	/** Makes the given area dirty for this frame */
+	public void add( int x, int y, int w, int h )
+	{
+		if ( w > 0 && h > 0 )
+			this.addCorners( x, y, x + w, y + h );
+	}
+	
+	/**
+	 * 	Makes the pixels the given Bounds cover dirty for this frame, including
+	 * 	any pixel they only partly cover.
+	 */
+	public void add( Bounds bounds )
+	{
+		int left = (int)Math.floor( bounds.getX() );
+		int top = (int)Math.floor( bounds.getY() );
+		int right = (int)Math.ceil( bounds.getX() + bounds.getWidth() ) + 1;
+		int bottom = (int)Math.ceil( bounds.getY() + bounds.getHeight() ) + 1;
+		if ( bounds.getWidth() > 0 && bounds.getHeight() > 0 )
+			this.addCorners( left, top, right, bottom );
+	}
+	
+	/**
+	 * 	Reports that something is drawn over the given area this frame, making
+	 * 	it dirty both this frame and the next.
+	 */
+	public void addDrawn( int x, int y, int w, int h )
+	{
+		if ( w <= 0 || h <= 0 )
+			return;
+		
+		this.addCorners( x, y, x + w, y + h );
+		this.remember( x, y, x + w, y + h );
+	}
+	
+	/**
+	 * 	Reports that something is drawn over the given Bounds this frame,
+	 * 	making them dirty both this frame and the next.
+	 */
+	public void addDrawn( Bounds bounds )
+	{
+		int left = (int)Math.floor( bounds.getX() );
+		int top = (int)Math.floor( bounds.getY() );
+		int right = (int)Math.ceil( bounds.getX() + bounds.getWidth() ) + 1;
+		int bottom = (int)Math.ceil( bounds.getY() + bounds.getHeight() ) + 1;
+		if ( bounds.getWidth() <= 0 || bounds.getHeight() <= 0 )
+			return;
+		
+		this.addCorners( left, top, right, bottom );
+		this.remember( left, top, right, bottom );
+	}
+	
+	/** Keeps the given area to be made dirty again next frame */
+	private void remember( int left, int top, int right, int bottom )
+	{
+		int i = this.totalDrawn * 4;
+		if ( i == this.drawn.length )
+		{
+			int[] grown = new int[ this.drawn.length * 2 ];
+			System.arraycopy( this.drawn, 0, grown, 0, i );
+			this.drawn = grown;
+		}
+		
+		this.drawn[i] = left;
+		this.drawn[i + 1] = top;
+		this.drawn[i + 2] = right;
+		this.drawn[i + 3] = bottom;
+		this.totalDrawn ++;
+	}
+	
+	/**
+	 * 	Adds the rectangle with the given corners, cut down to the area, and
+	 * 	joins it with any rectangle it overlaps. If there are already as many
+	 * 	rectangles as allowed it is joined with the one that grows the least.
+	 */
+	private void addCorners( int left, int top, int right, int bottom )
+	{
+		if ( this.allDirty )
+			return;
+		
+		left = Math.max( left, 0 );
+		top = Math.max( top, 0 );
+		right = Math.min( right, this.width );
+		bottom = Math.min( bottom, this.height );
+		if ( left >= right || top >= bottom )
+			return;
+		
+		// Join with every rectangle it overlaps or touches, the joined
+		//	rectangle may then reach others so keep going until it doesn't
+		boolean joined = true;
+		while ( joined )
+		{
+			joined = false;
+			for ( int i = 0; i < this.totalRects * 4; i += 4 )
+			{
+				if ( left > this.rects[i + 2] || right < this.rects[i] || top > this.rects[i + 3] || bottom < this.rects[i + 1] )
+					continue;
+				
+				left = Math.min( left, this.rects[i] );
+				top = Math.min( top, this.rects[i + 1] );
+				right = Math.max( right, this.rects[i + 2] );
+				bottom = Math.max( bottom, this.rects[i + 3] );
+				this.removeRect( i );
+				joined = true;
+				break;
+			}
+		}
+		
+		// Too many rectangles, join with the one that grows the least
+		if ( this.totalRects == this.maxRects )
+		{
+			int best = 0;
+			long bestGrowth = Long.MAX_VALUE;
+			for ( int i = 0; i < this.totalRects * 4; i += 4 )
+			{
+				long joinedArea = area( Math.min( left, this.rects[i] ), Math.min( top, this.rects[i + 1] ),
+										Math.max( right, this.rects[i + 2] ), Math.max( bottom, this.rects[i + 3] ) );
+				long growth = joinedArea - area( this.rects[i], this.rects[i + 1], this.rects[i + 2], this.rects[i + 3] );
+				if ( growth < bestGrowth )
+				{
+					best = i;
+					bestGrowth = growth;
+				}
+			}
+			
+			int l = Math.min( left, this.rects[best] );
+			int t = Math.min( top, this.rects[best + 1] );
+			int r = Math.max( right, this.rects[best + 2] );
+			int b = Math.max( bottom, this.rects[best + 3] );
+			this.removeRect( best );
+			this.addCorners( l, t, r, b );
+			return;
+		}
+		
+		int i = this.totalRects * 4;
+		this.rects[i] = left;
+		this.rects[i + 1] = top;
+		this.rects[i + 2] = right;
+		this.rects[i + 3] = bottom;
+		this.totalRects ++;
+		
+		// Grown to cover the whole area anyway
+		if ( left == 0 && top == 0 && right == this.width && bottom == this.height )
+			this.invalidateAll();
+	}
+	
+	/** Removes the rectangle starting at the given index by moving the last one into its place */
+	private void removeRect( int i )
+	{
+		this.totalRects --;
+		int last = this.totalRects * 4;
+		this.rects[i] = this.rects[ last ];
+		this.rects[i + 1] = this.rects[ last + 1 ];
+		this.rects[i + 2] = this.rects[ last + 2 ];
+		this.rects[i + 3] = this.rects[ last + 3 ];
+	}
+	
+	/** Returns the area of the rectangle with the given corners */
+	private static long area( int left, int top, int right, int bottom )
+	{
+		return	(long)(right - left) * (bottom - top);
+	}
+	
+//==============================================================================
+//							RECTANGLES
+//==============================================================================
+	
+	/** Returns the number of dirty rectangles this frame */
+	public int getTotalRects()
+	{
+		return	this.totalRects;
+	}
+	
+	/** Sets the given Rectangle to the dirty rectangle at the given index */
+	public void getRect( int index, Rectangle rect )
+	{
+		int i = index * 4;
+		rect.setBounds( this.rects[i], this.rects[i + 1], this.rects[i + 2] - this.rects[i], this.rects[i + 3] - this.rects[i + 1] );
+	}
+	
+	/** Returns true if nothing needs to be drawn again this frame */
+	public boolean isEmpty()
+	{
+		return	this.totalRects == 0;
+	}
+	
+	/** Returns true if the whole area needs to be drawn again this frame */
+	public boolean isAllDirty()
+	{
+		return	this.allDirty;
+	}
+	
+	/** Returns the number of pixels that need to be drawn again this frame */
+	public long getDirtyArea()
+	{
+		long total = 0;
+		for ( int i = 0; i < this.totalRects * 4; i += 4 )
+			total += area( this.rects[i], this.rects[i + 1], this.rects[i + 2], this.rects[i + 3] );
+		return	total;
+	}
+	
+//==============================================================================
+//							SIZE
+//==============================================================================
+	
+	/**
+	 * 	Sets the size of the area the region covers and makes all of it dirty.
+	 * 	If either size is negative this throws an IllegalArgumentException.
+	 */
+	public void setSize( int width, int height )
+	{
+		if ( width < 0 || height < 0 )
+			throw new IllegalArgumentException( "Dirty Region size must be non-negative: " + width + "x" + height );
+		
+		this.width = width;
+		this.height = height;
+		this.invalidateAll();
+	}
+	
+	/** Returns the width of the area the region covers */
+	public int getWidth()
+	{
+		return	this.width;
+	}
+	
+	/** Returns the height of the area the region covers */
+	public int getHeight()
+	{
+		return	this.height;
+	}
+	
+	/**
+	 * 	Sets the most rectangles the region is split into before the closest
+	 * 	ones are joined. If the number is less than 1 this throws an
+	 * 	IllegalArgumentException.
+	 */
+	public void setMaxRects( int maxRects )
+	{
+		if ( maxRects < 1 )
+			throw new IllegalArgumentException( "Dirty Region must allow at least one rectangle: " + maxRects );
+		
+		this.maxRects = maxRects;
+		this.rects = new int[ 4 * maxRects ];
+		this.invalidateAll();
+	}
+	
+	/** Returns the most rectangles the region is split into */
+	public int getMaxRects()
+	{
+		return	this.maxRects;
+	}
+	
+}
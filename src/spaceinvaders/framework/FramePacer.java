@@ -0,0 +1,156 @@
+package spaceinvaders.framework;
+
+import java.util.concurrent.locks.LockSupport;
+
+
+
+/**
+ * 	The Frame Pacer handles waiting at the end of each iteration of the game
+ * 	loop so that the Game runs at a steady target frame rate. Simply sleeping
+ * 	for a set amount of time either wastes a whole CPU core (sleep too little)
+ * 	or causes the frames to jitter by however long the operating system decides
+ * 	to oversleep (sleep too much).
+ * 	
+ * 	Instead the Frame Pacer parks the game Thread until shortly before the next
+ * 	frame's deadline and then spins the last small amount of time, so that it
+ * 	wakes up right on time without burning the CPU for the rest of the frame.
+ * 	Each deadline is scheduled from the previous deadline rather than from the
+ * 	time the Thread actually woke up, so small errors do not add up and drift
+ * 	the frame rate over time. If the Game ever falls a whole frame behind the
+ * 	schedule is reset rather than racing through frames to catch up.
+ * 	
+ */
+public class FramePacer {
+	
+	
+	/** Time before a deadline, in nano-seconds, that parking stops and spinning starts */
+	private static final long DEFAULT_SPIN_THRESHOLD_NS = 1500000L;
+	
+	
+	
+	/** Target length of each frame in nano-seconds, zero if uncapped */
+	private long framePeriodNS;
+	/** Time of the system in nano-seconds that the next frame should start */
+	private long nextFrameNS;
+	/** Time before a deadline, in nano-seconds, that parking stops and spinning starts */
+	private long spinThresholdNS;
+	
+	
+	
+	
+	/**
+	 * 	Creates a new Frame Pacer that paces frames at the given target frame
+	 * 	rate. A target of zero or less leaves the frame rate uncapped.
+	 */
+	public FramePacer( int targetFrameRate )
+	{
+		this.spinThresholdNS = DEFAULT_SPIN_THRESHOLD_NS;
+		this.setTargetFrameRate( targetFrameRate );
+	}
+	
+	
+	
+//==============================================================================
+//							PACING
+//==============================================================================
+	
+	/**
+	 * 	Resets the Frame Pacer so that the next frame deadline is one frame
+	 * 	from now. This should be invoked when the game loop starts, or after any
+	 * 	long pause where the old schedule no longer makes sense.
+	 */
+	public void reset()
+	{
+		this.nextFrameNS = System.nanoTime() + this.framePeriodNS;
+	}
+	
+	/**
+	 * 	Waits until the start of the next frame and returns the amount of time
+	 * 	in nano-seconds that the wait overslept past the deadline. If the frame
+	 * 	rate is uncapped the game Thread only yields, and if the current frame
+	 * 	already ran past its deadline this method returns immediately and
+	 * 	reports zero oversleep since no waiting was done.
+	 */
+	public long pace()
+	{
+		// Uncapped, just give other Threads a chance to run
+		if ( this.framePeriodNS <= 0 )
+		{
+			Thread.yield();
+			return 0;
+		}
+		
+		long deadline = this.nextFrameNS;
+		long now = System.nanoTime();
+		boolean waited = deadline - now > 0;
+		
+		// Park for the bulk of the remaining time, the scheduler
+		//	may wake us late so we stop short of the deadline
+		while ( deadline - now > this.spinThresholdNS )
+		{
+			LockSupport.parkNanos( deadline - now - this.spinThresholdNS );
+			now = System.nanoTime();
+		}
+		
+		// Spin the rest of the way to land right on the deadline
+		while ( deadline - now > 0 )
+		{
+			Thread.yield();
+			now = System.nanoTime();
+		}
+		
+		// Schedule the next frame from the ideal deadline so that
+		//	errors don't accumulate, unless we've fallen a whole frame
+		//	behind in which case the schedule starts over from now
+		this.nextFrameNS = deadline + this.framePeriodNS;
+		if ( now - this.nextFrameNS > 0 )
+			this.nextFrameNS = now + this.framePeriodNS;
+		
+		return	waited ? now - deadline : 0;
+	}
+	
+//==============================================================================
+//							FRAME RATE
+//==============================================================================
+	
+	/**
+	 * 	Returns the target number of frames per second the Frame Pacer is
+	 * 	pacing to, or zero if the frame rate is uncapped.
+	 */
+	public int getTargetFrameRate()
+	{
+		if ( this.framePeriodNS <= 0 )
+			return 0;
+		
+		return	(int)Math.round( 1.0e9 / this.framePeriodNS );
+	}
+	
+	/**
+	 * 	Sets the target number of frames per second to pace to. A target of
+	 * 	zero or less leaves the frame rate uncapped.
+	 */
+	public void setTargetFrameRate( int framesPerSecond )
+	{
+		if ( framesPerSecond <= 0 )
+			this.framePeriodNS = 0;
+		else
+			this.framePeriodNS = (long)( 1.0e9 / framesPerSecond );
+		
+		this.reset();
+	}
+	
+	/**
+	 * 	Sets how long before each deadline, in nano-seconds, the Frame Pacer
+	 * 	stops parking the Thread and starts spinning instead. Larger values are
+	 * 	more accurate on busy systems but use more CPU. If the given value is
+	 * 	negative this method throws an IllegalArgumentException.
+	 */
+	public void setSpinThreshold( long nanoseconds )
+	{
+		if ( nanoseconds < 0 )
+			throw new IllegalArgumentException( "Frame pacer spin threshold must be a non-negative value" );
+		
+		this.spinThresholdNS = nanoseconds;
+	}
+	
+}
@@ -0,0 +1,138 @@
+package spaceinvaders.framework;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+
+
+
+/**
+ * 	The Frame Stats Overlay draws the frame time percentiles of a Frame Time
+ * 	Histogram in the corner of the screen along with a sparkline of the most
+ * 	recent frame times, so hitches can be spotted while the game is running.
+ * 	Each bar of the sparkline is one frame, and a line is drawn across the
+ * 	sparkline at the frame time for 60 frames per second.
+ * 	
+ * 	The text is formatted into a reused character buffer, so drawing the
+ * 	overlay does not create any new Strings each frame.
+ * 	
+ */
+public class FrameStatsOverlay {
+	
+	
+	/** Width of the sparkline in pixels */
+	private static final int GRAPH_WIDTH = 240;
+	/** Height of the sparkline in pixels */
+	private static final int GRAPH_HEIGHT = 50;
+	/** Frame time in seconds at the top of the sparkline */
+	private static final double GRAPH_MAX_TIME = 1.0 / 20;
+	/** Frame time in seconds of the reference line on the sparkline */
+	private static final double TARGET_TIME = 1.0 / 60;
+	/** Space around the contents of the overlay */
+	private static final int PADDING = 5;
+	
+	
+	
+	/** Font the statistics are drawn with */
+	private Font font;
+	/** Color of the text */
+	private Color textColor;
+	/** Color of the panel behind the overlay */
+	private Color panelColor;
+	/** Color of the bars of frames at or under the target frame time */
+	private Color fastColor;
+	/** Color of the bars of frames over the target frame time */
+	private Color slowColor;
+	/** Color of the target frame time line */
+	private Color targetColor;
+	
+	/** Reused buffer the text is formatted into */
+	private TextBuffer text;
+	
+	
+	
+	
+	/** Creates a new Frame Stats Overlay */
+	public FrameStatsOverlay()
+	{
+		this.font = new Font( "Courier New", Font.PLAIN, 14 );
+		this.textColor = new Color( 255, 0, 0 );
+		this.panelColor = new Color( 0, 0, 0, 160 );
+		this.fastColor = new Color( 0, 200, 0 );
+		this.slowColor = new Color( 255, 60, 0 );
+		this.targetColor = new Color( 255, 255, 255, 120 );
+		this.text = new TextBuffer( 64 );
+	}
+	
+	
+	
+//==============================================================================
+//							RENDER
+//==============================================================================
+	
+	/**
+	 * 	Renders the frame rate, the percentiles of the given Frame Time
+	 * 	Histogram and the sparkline of its most recent frames with the top-left
+	 * 	corner of the overlay at the given position.
+	 */
+	public void render( Graphics2D g, int frameRate, FrameTimeHistogram histogram, int x, int y )
+	{
+		g.setFont( this.font );
+		FontMetrics fm = g.getFontMetrics();
+		int lineH = fm.getHeight();
+		int panelW = GRAPH_WIDTH + PADDING * 2;
+		int panelH = lineH * 3 + GRAPH_HEIGHT + PADDING * 3;
+		
+		// Draw the panel
+		g.setColor( this.panelColor );
+		g.fillRect( x, y, panelW, panelH );
+		
+		// Draw the text lines
+		int textX = x + PADDING;
+		int textY = y + PADDING + fm.getAscent();
+		g.setColor( this.textColor );
+		
+		this.text.clear().append( "FPS " ).append( frameRate );
+		this.text.append( "   max " ).appendMillis( histogram.getMax() );
+		this.text.render( g, textX, textY );
+		
+		this.text.clear().append( "p50 " ).appendMillis( histogram.getP50() );
+		this.text.append( "  p95 " ).appendMillis( histogram.getP95() );
+		this.text.render( g, textX, textY + lineH );
+		
+		this.text.clear().append( "p99 " ).appendMillis( histogram.getP99() );
+		this.text.render( g, textX, textY + lineH * 2 );
+		
+		// Draw the sparkline
+		int graphX = x + PADDING;
+		int graphY = y + PADDING * 2 + lineH * 3;
+		this.renderSparkline( g, histogram, graphX, graphY );
+	}
+	
+	/**
+	 * 	Renders one bar for each of the most recent frames in the histogram,
+	 * 	newest on the right, with the given top-left corner.
+	 */
+	private void renderSparkline( Graphics2D g, FrameTimeHistogram histogram, int x, int y )
+	{
+		int bottom = y + GRAPH_HEIGHT;
+		int total = histogram.getTotalSamples();
+		int bars = Math.min( total, GRAPH_WIDTH );
+		int first = total - bars;
+		
+		for ( int i = 0; i < bars; i++ )
+		{
+			double frameTime = histogram.getSample( first + i );
+			int barH = (int)Math.min( GRAPH_HEIGHT, frameTime / GRAPH_MAX_TIME * GRAPH_HEIGHT );
+			g.setColor( frameTime > TARGET_TIME ? this.slowColor : this.fastColor );
+			g.fillRect( x + GRAPH_WIDTH - bars + i, bottom - barH, 1, barH );
+		}
+		
+		// Draw the target line
+		int targetY = bottom - (int)( TARGET_TIME / GRAPH_MAX_TIME * GRAPH_HEIGHT );
+		g.setColor( this.targetColor );
+		g.drawLine( x, targetY, x + GRAPH_WIDTH, targetY );
+	}
+	
+}
@@ -0,0 +1,201 @@
+package spaceinvaders.framework;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+
+
+/**
+ * 	The Frame Time Histogram keeps track of how long each of the most recent
+ * 	frames of the game took so that hitches can be seen, which an average frame
+ * 	rate hides. Frame times are sorted into buckets a quarter of a millisecond
+ * 	wide, up to 100 milliseconds, and any longer frame goes into one last
+ * 	overflow bucket.
+ * 	
+ * 	The histogram only ever covers a rolling window of the most recent frames.
+ * 	Every frame time is also kept in a ring buffer the size of the window, and
+ * 	once the window is full the oldest frame time is removed from its bucket as
+ * 	each new one is added. Recording a frame and querying the percentiles never
+ * 	allocate anything, and the bucket counts can safely be read from another
+ * 	Thread without locking while the game Thread is recording.
+ * 	
+ */
+public class FrameTimeHistogram {
+	
+	
+	/** Default number of frames in the rolling window */
+	public static final int DEFAULT_WINDOW = 240;
+	
+	/** Width of each bucket in micro-seconds */
+	private static final int BUCKET_WIDTH_US = 250;
+	/** Number of buckets before the overflow bucket, covering 0 to 100ms */
+	private static final int BUCKETS = 400;
+	
+	
+	
+	/** Number of frame times in each bucket */
+	private AtomicIntegerArray counts;
+	
+	/** Frame times of the frames in the window, in micro-seconds */
+	private int[] samples;
+	/** Index in the ring buffer the next frame time is stored at */
+	private volatile int nextSample;
+	/** Number of frame times currently in the window */
+	private volatile int totalSamples;
+	
+	
+	
+	
+	/** Creates a new Frame Time Histogram with the default window size */
+	public FrameTimeHistogram()
+	{
+		this( DEFAULT_WINDOW );
+	}
+	
+	/**
+	 * 	Creates a new Frame Time Histogram that covers the given number of
+	 * 	most recent frames. If the given window size is not positive this
+	 * 	throws an IllegalArgumentException.
+	 */
+	public FrameTimeHistogram( int window )
+	{
+		if ( window <= 0 )
+			throw new IllegalArgumentException( "Frame time histogram window must be a positive value" );
+		
+		this.counts = new AtomicIntegerArray( BUCKETS + 1 );
+		this.samples = new int[ window ];
+	}
+	
+	
+	
+//==============================================================================
+//							RECORD
+//==============================================================================
+	
+	/**
+	 * 	Records the given frame time, in seconds, as the most recent frame.
+	 * 	If the window is already full the oldest frame is dropped from it.
+	 */
+	public void record( double frameTimeSecs )
+	{
+		int us = (int)Math.min( Integer.MAX_VALUE, Math.max( 0, frameTimeSecs * 1.0e6 ) );
+		int index = this.nextSample;
+		
+		// Window is full, the oldest frame falls out of it
+		if ( this.totalSamples == this.samples.length )
+			this.counts.decrementAndGet( this.getBucket( this.samples[index] ) );
+		else
+			this.totalSamples ++;
+		
+		this.samples[ index ] = us;
+		this.counts.incrementAndGet( this.getBucket( us ) );
+		this.nextSample = ( index + 1 ) % this.samples.length;
+	}
+	
+	/** Removes all frame times from the histogram */
+	public void clear()
+	{
+		for ( int i = 0; i < this.counts.length(); i++ )
+			this.counts.set( i, 0 );
+		this.totalSamples = 0;
+		this.nextSample = 0;
+	}
+	
+	/** Returns the bucket the given frame time in micro-seconds belongs to */
+	private int getBucket( int us )
+	{
+		return	Math.min( BUCKETS, us / BUCKET_WIDTH_US );
+	}
+	
+//==============================================================================
+//							STATISTICS
+//==============================================================================
+	
+	/**
+	 * 	Returns the frame time in seconds that the given fraction of frames in
+	 * 	the window took no longer than, for example 0.95 returns the 95th
+	 * 	percentile frame time. The result is accurate to the width of a single
+	 * 	bucket, a quarter of a millisecond. Frames past the last bucket report
+	 * 	the longest frame in the window. If there are no frames this returns 0.
+	 */
+	public double getPercentile( double fraction )
+	{
+		int total = this.totalSamples;
+		if ( total == 0 )
+			return 0;
+		
+		// Walk the buckets until we've passed the requested
+		//	number of frames
+		int target = Math.max( 1, (int)Math.ceil( fraction * total ) );
+		int seen = 0;
+		for ( int i = 0; i < BUCKETS; i++ )
+		{
+			seen += this.counts.get( i );
+			if ( seen >= target )
+				return	( i + 1 ) * BUCKET_WIDTH_US / 1.0e6;
+		}
+		
+		// Landed in the overflow bucket
+		return	this.getMax();
+	}
+	
+	/** Returns the median frame time in seconds over the window */
+	public double getP50()
+	{
+		return	this.getPercentile( 0.50 );
+	}
+	
+	/** Returns the 95th percentile frame time in seconds over the window */
+	public double getP95()
+	{
+		return	this.getPercentile( 0.95 );
+	}
+	
+	/** Returns the 99th percentile frame time in seconds over the window */
+	public double getP99()
+	{
+		return	this.getPercentile( 0.99 );
+	}
+	
+	/** Returns the longest frame time in seconds over the window */
+	public double getMax()
+	{
+		int max = 0;
+		int total = this.totalSamples;
+		for ( int i = 0; i < total; i++ )
+			max = Math.max( max, this.samples[i] );
+		
+		return	max / 1.0e6;
+	}
+	
+//==============================================================================
+//							SAMPLES
+//==============================================================================
+	
+	/** Returns the number of frames currently in the window */
+	public int getTotalSamples()
+	{
+		return	this.totalSamples;
+	}
+	
+	/** Returns the number of frames the window can hold */
+	public int getWindowSize()
+	{
+		return	this.samples.length;
+	}
+	
+	/**
+	 * 	Returns the frame time in seconds of the frame at the given index in
+	 * 	the window, where 0 is the oldest frame and getTotalSamples() - 1 is the
+	 * 	most recent. If the index is out of range this returns 0.
+	 */
+	public double getSample( int index )
+	{
+		int total = this.totalSamples;
+		if ( index < 0 || index >= total )
+			return 0;
+		
+		int oldest = ( this.nextSample - total + this.samples.length ) % this.samples.length;
+		return	this.samples[ ( oldest + index ) % this.samples.length ] / 1.0e6;
+	}
+	
+}
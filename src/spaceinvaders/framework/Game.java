@@ -4,10 +4,12 @@ import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Composite;
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.image.BufferedImage;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.File;
@@ -47,8 +49,13 @@ import javax.swing.SwingUtilities;
 public abstract class Game {
 
 	
-	/** Default amount of time the game loop sleeps, in milliseconds */
-	private static final long DEFAULT_SLEEP = 1L;
+	/** Default number of frames per second the game loop is paced to */
+	private static final int DEFAULT_FRAME_RATE = 60;
+	
+	/** Default number of fixed updates, or ticks, per second */
+	private static final double DEFAULT_TICK_RATE = 60;
+	/** Default maximum number of ticks that can be run in a single frame */
+	private static final int DEFAULT_MAX_TICKS_PER_FRAME = 5;
 	
 	
 	
@@ -59,25 +66,84 @@ public abstract class Game {
 	private GameWindow window;
 	/** Keyboard device for the Game Window */
 	private Keyboard keyboard;
+	/** Source of simulated key presses, null if only the player gives inputs */
+	private InputSource inputSource;
 	
+	/** Time, Screen, Random and shared objects belonging to this Game */
+	private GameContext context;
 	/** Time for the Game and game loop */
 	private Time time;
 	
+	/** Hands finished frames to a separate render Thread, if enabled */
+	private RenderPipeline renderPipeline;
+	/** True if the Game should render through a Render Pipeline */
+	private boolean pipelinedRendering;
+	/** True if the Render Pipeline should wait for each frame to be presented */
+	private boolean pipelineDoubleBuffered;
+	
+	/** True if only the changed parts of each frame are drawn again */
+	private boolean dirtyRendering;
+	/** Parts of the frame that have changed, when rendering dirty rectangles */
+	private DirtyRegion dirtyRegion;
+	/** Last frame drawn, kept so only its changed parts need drawing again */
+	private BufferedImage dirtyFrame;
+	/** Scene that was drawn into the kept frame */
+	private Scene dirtyScene;
+	/** Reused rectangle each changed part is drawn through */
+	private Rectangle dirtyClip;
+	/** True if the frame was last drawn straight onto a target that keeps it */
+	private boolean dirtyRetained;
+	
 	/** Thread that the game loop runs on */
 	private Thread gameThread;
 	/** True if the game Thead should be running */
 	private boolean gameThreadRunning;
 	
-	/** Amount of delay between iterations of the game loop */
-	private long sleepTime;
+	/** True if the Game is running without a Game Window */
+	private boolean headless;
+	/** Image the Game renders to when running headless, null if not rendering */
+	private BufferedImage offscreenFrame;
+	
+	/** Number of ticks run during the current second of real time */
+	private int tickCount;
+	/** Time of the system in nano-seconds when the current second of ticks started */
+	private long tickCountStartNS;
+	/** Number of ticks run in the most recent second of real time */
+	private int ticksPerSecond;
+	/** Number of ticks run since the Game started running headless */
+	private long totalTicks;
+	
+	/** Paces the game loop to its target frame rate */
+	private FramePacer pacer;
+	
+	/** True if the Scenes are updated with a fixed timestep */
+	private boolean fixedTimestep;
+	/** Amount of time in seconds simulated by a single fixed update, or tick */
+	private double tickTime;
+	/** Maximum number of ticks the game loop will run to catch up in one frame */
+	private int maxTicksPerFrame;
+	/** Amount of frame time in seconds that has not been simulated by a tick yet */
+	private double tickAccumulator;
+	/** Fraction of a tick that has elapsed since the last tick, from 0 to 1 */
+	private double interpolation;
 	
 	
 	/** Font used to display the frame rate */
-	private Font fpsFont;
+	private BitmapFont fpsFont;
 	/** Color the frame rate is displayed in */
 	private Color fpsColor;
+	/** Reused buffer the frame rate is formatted into */
+	private TextBuffer fpsText;
 	/** True if the frame rate should be displayed on screen */
 	private boolean fpsVisible;
+	/** Overlay that displays the frame time statistics */
+	private FrameStatsOverlay frameStatsOverlay;
+	/** True if the frame time statistics are displayed instead of the frame rate */
+	private boolean frameStatsVisible;
+	/** Times each phase of the game loop and any sections of the Scenes */
+	private Profiler profiler;
+	/** Drawing commands submitted by the Scenes, flushed at the end of every frame */
+	private RenderQueue renderQueue;
 	
 	
 	/** Controller for all Scenes in the Game */
@@ -88,15 +154,42 @@ public abstract class Game {
 	
 	/** Creates a new Game with the given Title */
 	public Game( String title )
+	{
+		this( title, new GameContext() );
+	}
+	
+	/**
+	 * 	Creates a new Game with the given Title that runs in the given Game 
+	 * 	Context. A Game Context should only ever be used by one Game at a time.
+	 */
+	public Game( String title, GameContext context )
 	{
 		this.title = title;
-		this.sleepTime = DEFAULT_SLEEP;
+		this.context = context;
+		this.time = context.getTime();
+		this.pacer = new FramePacer( DEFAULT_FRAME_RATE );
 		
-		this.fpsFont = new Font( "Courier New", Font.PLAIN, 14 );
+		this.fixedTimestep = false;
+		this.tickTime = 1.0 / DEFAULT_TICK_RATE;
+		this.maxTicksPerFrame = DEFAULT_MAX_TICKS_PER_FRAME;
+		this.interpolation = 1;
+		
+		this.fpsFont = BitmapFont.get( "Courier New", Font.PLAIN, 14 );
 		this.fpsColor = new Color( 255, 0, 0 );
+		this.fpsText = new TextBuffer( 16 );
 		this.fpsVisible = true;
+		this.frameStatsOverlay = new FrameStatsOverlay();
+		this.frameStatsVisible = false;
+		
+		this.profiler = new Profiler();
+		this.renderQueue = new RenderQueue();
+		this.dirtyRegion = new DirtyRegion( 0, 0 );
+		this.dirtyClip = new Rectangle();
 		
 		this.sceneController = new SceneController();
+		this.sceneController.setProfiler( this.profiler );
+		this.sceneController.setRenderQueue( this.renderQueue );
+		this.sceneController.setContext( context );
 	}
 	
 	
@@ -120,6 +213,53 @@ public abstract class Game {
 		});
 	}
 	
+	/**
+	 * 	Runs the Game on the calling Thread without a Game Window. No window, 
+	 * 	Canvas or buffer strategy is created and the game loop never waits 
+	 * 	between frames, instead each iteration advances the Game by exactly one 
+	 * 	fixed tick (see setTickRate()) so the Game is simulated as fast as the 
+	 * 	machine allows. If renderOffscreen is true each frame is still rendered 
+	 * 	into an offscreen image, otherwise rendering is skipped entirely. The 
+	 * 	Game stops once the given number of ticks have run, or once it is shut 
+	 * 	down if the given number is zero or less, and this method then returns.
+	 */
+	public void runHeadless( boolean renderOffscreen, long maxTicks )
+	{
+		this.headless = true;
+		
+		// The Screen has no Window to size it so it is given 
+		//	the default size of the Game Window
+		Screen screen = this.context.getScreen();
+		screen.setScreenSize( screen.getWindowWidth(), screen.getWindowHeight() );
+		if ( renderOffscreen )
+			this.offscreenFrame = new BufferedImage( screen.getScreenWidth(), screen.getScreenHeight(), BufferedImage.TYPE_INT_RGB );
+		
+		// The Keyboard is never attached to anything, it is only here 
+		//	so that the Scenes can still process inputs
+		this.keyboard = new Keyboard();
+		this.sceneController.setKeyboard( this.keyboard );
+		
+		// Start up the same as the game Thread would
+		this.gameThreadRunning = true;
+		this.onGameStart();
+		this.time.init();
+		this.tickCount = 0;
+		this.tickCountStartNS = System.nanoTime();
+		this.totalTicks = 0;
+		
+		// Run the game loop one fixed tick at a time
+		long ticks = 0;
+		while ( this.gameThreadRunning && ( maxTicks <= 0 || ticks < maxTicks ) )
+		{
+			this.time.step( this.tickTime );
+			this.headlessGameloop( this.tickTime );
+			ticks ++;
+		}
+		
+		// Game loop has ended, handle shutdown
+		this.handleShutdown();
+	}
+	
 //==============================================================================
 //								INITIALIZE
 //==============================================================================
@@ -132,7 +272,7 @@ public abstract class Game {
 	private void init()
 	{
 		// Initialize the Game Window
-		this.window = new GameWindow();
+		this.window = new GameWindow( this.context.getScreen() );
 		this.window.setTitle( this.title );
 		this.window.addWindowListener( new WindowAdapter() {
 			@Override public void windowClosing( WindowEvent e ) {
@@ -147,6 +287,15 @@ public abstract class Game {
 		this.window.setKeyboard( this.keyboard );
 		this.sceneController.setKeyboard( this.keyboard );
 		
+		// Start the render Thread if frames should be presented 
+		//	separately from the game Thread
+		if ( this.pipelinedRendering )
+		{
+			this.renderPipeline = new RenderPipeline( this.window );
+			this.renderPipeline.setDoubleBuffered( this.pipelineDoubleBuffered );
+			this.renderPipeline.start();
+		}
+		
 		// Start the game Thread. This Thread handles the game loop 
 		// seperately from the input Thread so that inputs can be 
 		// triggered at any point of the game loop
@@ -177,8 +326,8 @@ public abstract class Game {
 		this.onGameStart();
 		
 		// Start the Timer for game and its frame rate
-		this.time = Time.getInstance();
 		this.time.init();
+		this.pacer.reset();
 		
 		// Start the game loop itself
 		while ( this.gameThreadRunning )
@@ -192,7 +341,7 @@ public abstract class Game {
 		}
 		
 		// Game loop has ended, handle shutdown
-		this.shutdownGame();
+		this.handleShutdown();
 	}
 	
 	/**
@@ -204,31 +353,125 @@ public abstract class Game {
 	
 	/**
 	 * 	Handles one iteration of the game's loop, this method will process the inputs, 
-	 * 	update and render the Scene Controller and its current Scene in the game.
+	 * 	update and render the Scene Controller and its current Scene in the game. 
+	 * 	When the Game is using a fixed timestep the inputs and update steps may be 
+	 * 	run several times, or not at all, before the frame is rendered.
 	 */
 	private void gameloop( double delta )
+	{
+		if ( this.fixedTimestep )
+			this.fixedUpdate( delta );
+		else
+		{
+			this.processInputs( delta );
+			this.update( delta );
+			this.interpolation = 1;
+		}
+		
+		this.render();
+		this.profiler.endFrame();
+		this.pace();
+	}
+	
+	/**
+	 * 	Handles the inputs and update steps when the Game is using a fixed 
+	 * 	timestep. The elapsed frame time is added to an accumulator and as many 
+	 * 	whole ticks as fit in the accumulator are run, each with exactly the 
+	 * 	same tick time. If the game falls too far behind the number of ticks is 
+	 * 	capped and the remaining time is dropped, otherwise one slow frame could 
+	 * 	cause every following frame to run even more ticks. Whatever is left 
+	 * 	over becomes the interpolation alpha that is passed to the render step.
+	 */
+	private void fixedUpdate( double delta )
+	{
+		this.tickAccumulator += delta;
+		
+		// Run all of the whole ticks that have elapsed, up 
+		//	to the catch up limit
+		int ticks = 0;
+		while ( this.tickAccumulator >= this.tickTime && ticks < this.maxTicksPerFrame )
+		{
+			this.processInputs( this.tickTime );
+			this.update( this.tickTime );
+			this.tickAccumulator -= this.tickTime;
+			ticks ++;
+		}
+		
+		// Hit the limit, drop the time we could not catch 
+		//	up on so the simulation just runs slower instead
+		if ( this.tickAccumulator >= this.tickTime )
+			this.tickAccumulator %= this.tickTime;
+		
+		this.interpolation = this.tickAccumulator / this.tickTime;
+	}
+	
+	/**
+	 * 	Handles one iteration of the game's loop when running headless. This 
+	 * 	processes the inputs and updates the current Scene by a single tick and 
+	 * 	renders it to the offscreen image if there is one. There is no waiting 
+	 * 	between iterations.
+	 */
+	private void headlessGameloop( double delta )
 	{
 		this.processInputs( delta );
 		this.update( delta );
-		this.render();
-		this.sleep( this.sleepTime );
+		this.interpolation = 1;
+		
+		if ( this.offscreenFrame != null )
+			this.renderOffscreen();
+		
+		this.profiler.endFrame();
+		this.countTick();
+	}
+	
+	/**
+	 * 	Handles counting the ticks run each second of real time so that the 
+	 * 	speed of a headless Game can be reported.
+	 */
+	private void countTick()
+	{
+		this.tickCount ++;
+		this.totalTicks ++;
+		long now = System.nanoTime();
+		if ( now - this.tickCountStartNS >= 1000000000L )
+		{
+			this.ticksPerSecond = this.tickCount;
+			this.tickCount = 0;
+			this.tickCountStartNS = now;
+		}
 	}
 	
 	/**
 	 * 	Handles processing the Keyboard inputs that occured during the previous 
 	 * 	frame. This method will process the Keyboard and then notify the Scene 
-	 * 	Controller have the current Scene do the same.
+	 * 	Controller have the current Scene do the same. If the Game has an 
+	 * 	Input Source it presses its keys first. Pressing F3 switches the 
+	 * 	Profiler on or off.
 	 */
 	private void processInputs( double secsPerFrame )
 	{
+		// Let the Input Source press its keys for this tick
+		if ( this.inputSource != null )
+			this.inputSource.update( secsPerFrame, this.keyboard );
+		
+		this.profiler.begin( Profiler.KEYBOARD_PHASE );
 		this.keyboard.process();
+		this.profiler.end( Profiler.KEYBOARD_PHASE );
+		
+		if ( this.keyboard.keyDownOnce( Keyboard.F3 ) )
+			this.profiler.setEnabled( !this.profiler.isEnabled() );
+		
+		this.profiler.begin( Profiler.INPUTS_PHASE );
 		this.sceneController.processInputs( secsPerFrame );
+		this.profiler.end( Profiler.INPUTS_PHASE );
 	}
 	
 	/** Handles updating the Scene Controller's current Scene in the game */
 	private void update( double secsPerFrame )
 	{
+		this.profiler.begin( Profiler.UPDATE_PHASE );
 		this.sceneController.update( secsPerFrame );
+		this.profiler.end( Profiler.UPDATE_PHASE );
 	}
 	
 	/**
@@ -242,8 +485,18 @@ public abstract class Game {
 	 */
 	private void render()
 	{
+		// Rendering through the pipeline, the render Thread will
+		//	handle showing the frame
+		if ( this.renderPipeline != null )
+		{
+			this.renderPipelined();
+			return;
+		}
+		
 		// Attempt to render the single frame, if anything fails we 
 		//	re-do it all ...
+		boolean restored;
+		boolean lost;
 		do 
 		{
 			// Following loop ensures that the contents of the drawing
@@ -256,8 +509,7 @@ public abstract class Game {
 					// Grab the graphics from the Window's buffer and 
 					// render the next frame
 					g = this.window.getFrameGraphics();
-					this.clearFrame( g );
-					this.renderFrame( g );
+					this.drawFrame( g, this.window.isFrameRetained() && !this.isDebugOverlayVisible() );
 					
 					// Render the frame rate if visible
 					if ( this.fpsVisible )
@@ -269,20 +521,161 @@ public abstract class Game {
 						g.dispose();
 				}
 			
-			// If buffer contents were restored, this means that it 
-			//	was lost during this iteration due to some error outside
-			//	of this method and thus we reattempt the render since it
-			//	most likely didn't complete
-			} while ( this.window.frameContentsRestored() );
+				// If buffer contents were restored, this means that it 
+				//	was lost during this iteration due to some error outside
+				//	of this method and thus we reattempt the render since it
+				//	most likely didn't complete
+				restored = this.window.frameContentsRestored();
+				if ( restored )
+					this.invalidateDirtyFrame();
+			} while ( restored );
 			
 			// Made it out of first loop then rendering was successful,
 			//	now we show the newly drawn buffer
+			this.profiler.begin( Profiler.PRESENT_PHASE );
 			this.window.showNextFrame();
+			this.profiler.end( Profiler.PRESENT_PHASE );
+			
+			// If for some reasone the buffer's graphics contents was lost
+			// during the rendering or the swapping of buffers, then we need
+			// to re-attempt the whole thing
+			lost = this.window.frameContentsLost();
+			if ( lost )
+				this.invalidateDirtyFrame();
+		} while ( lost );
+	}
+	
+	/**
+	 * 	Handles rendering the current frame of the game into the offscreen 
+	 * 	image when the Game is running headless.
+	 */
+	private void renderOffscreen()
+	{
+		Graphics2D g = this.offscreenFrame.createGraphics();
+		try {
+			this.drawFrame( g, true );
+		} finally {
+			g.dispose();
+		}
+	}
+	
+	/**
+	 * 	Handles rendering the current frame of the game into the Render 
+	 * 	Pipeline's offscreen image and handing it off to the render Thread. 
+	 * 	The game Thread can then move on to the next frame while the render 
+	 * 	Thread presents this one on the Game Window.
+	 */
+	private void renderPipelined()
+	{
+		Graphics2D g = null;
+		try {
+			g = this.renderPipeline.beginFrame();
+			this.drawFrame( g, false );
+			
+			// Render the frame rate if visible
+			if ( this.fpsVisible )
+				this.renderFPS( g );
 			
-		// If for some reasone the buffer's graphics contents was lost
-		// during the rendering or the swapping of buffers, then we need
-		// to re-attempt the whole thing
-		} while ( this.window.frameContentsLost() );
+		} finally {
+			if ( g != null )
+				g.dispose();
+		}
+		
+		this.renderPipeline.endFrame();
+	}
+	
+	/**
+	 * 	Handles drawing the current Scene onto the given Graphics for the 
+	 * 	frame, either in full or, when rendering dirty rectangles, by only 
+	 * 	drawing its changed parts again. The given flag is true if what the 
+	 * 	Graphics draws onto still holds the last frame.
+	 */
+	private void drawFrame( Graphics2D g, boolean retained )
+	{
+		if ( this.dirtyRendering )
+		{
+			this.drawDirtyFrame( g, retained );
+			return;
+		}
+		
+		this.clearFrame( g );
+		this.renderFrame( g );
+	}
+	
+	/**
+	 * 	Handles drawing the frame when rendering dirty rectangles. The current 
+	 * 	Scene reports what has changed since the last frame and only those 
+	 * 	parts are cleared and drawn again. If the given Graphics still holds 
+	 * 	the last frame they are drawn straight onto it, otherwise the Game 
+	 * 	keeps a frame of its own to draw them into and copies the whole of it 
+	 * 	onto the Graphics in one go.
+	 */
+	private void drawDirtyFrame( Graphics2D g, boolean retained )
+	{
+		int w = this.headless ? this.context.getScreen().getScreenWidth() : this.window.getScreenWidth();
+		int h = this.headless ? this.context.getScreen().getScreenHeight() : this.window.getScreenHeight();
+		if ( this.dirtyRegion.getWidth() != w || this.dirtyRegion.getHeight() != h || retained != this.dirtyRetained )
+		{
+			this.dirtyRegion.setSize( w, h );
+			this.dirtyRetained = retained;
+			this.dirtyScene = null;
+		}
+		if ( !retained && ( this.dirtyFrame == null || this.dirtyFrame.getWidth() != w || this.dirtyFrame.getHeight() != h ) )
+		{
+			this.dirtyFrame = g.getDeviceConfiguration().createCompatibleImage( w, h );
+			this.dirtyScene = null;
+		}
+		
+		// Find what has changed, everything if the Scene has
+		Scene scene = this.sceneController.getCurrentScene();
+		this.dirtyRegion.beginFrame();
+		if ( scene != this.dirtyScene )
+			this.dirtyRegion.invalidateAll();
+		this.dirtyScene = scene;
+		this.sceneController.invalidate( this.dirtyRegion );
+		
+		// The frame rate is drawn over the last one
+		if ( retained && this.fpsVisible )
+			this.dirtyRegion.add( 0, 0, 40 + this.fpsFont.stringWidth( "FPS: 00000" ), 10 + this.fpsFont.getHeight() );
+		
+		// Draw the Scene again through each changed part
+		Graphics2D fg = retained ? g : this.dirtyFrame.createGraphics();
+		Shape clip = fg.getClip();
+		try {
+			for ( int i = 0; i < this.dirtyRegion.getTotalRects(); i++ )
+			{
+				this.dirtyRegion.getRect( i, this.dirtyClip );
+				fg.setClip( this.dirtyClip );
+				this.clearFrame( fg );
+				this.renderFrame( fg );
+			}
+		} finally {
+			if ( retained )
+				fg.setClip( clip );
+			else
+				fg.dispose();
+		}
+		
+		if ( !retained )
+			g.drawImage( this.dirtyFrame, 0, 0, null );
+	}
+	
+	/** 
+	 * 	Makes the whole of the next frame be drawn again when rendering dirty 
+	 * 	rectangles, for when the last frame drawn has been lost.
+	 */
+	private void invalidateDirtyFrame()
+	{
+		this.dirtyScene = null;
+	}
+	
+	/** 
+	 * 	Returns true if the frame time statistics or Profiler are drawn over 
+	 * 	the frame, which change too much to keep track of what they cover.
+	 */
+	private boolean isDebugOverlayVisible()
+	{
+		return	this.fpsVisible && ( this.frameStatsVisible || this.profiler.isEnabled() );
 	}
 	
 	/**
@@ -292,9 +685,18 @@ public abstract class Game {
 	 */
 	private void clearFrame( Graphics2D g )
 	{
+		// The current Scene draws over the whole screen 
+		//	itself, nothing to clear...
+		Scene scene = this.sceneController.getCurrentScene();
+		if ( scene != null && scene.coversScreen() )
+			return;
+		
 		Composite comp = g.getComposite();
 		g.setComposite( AlphaComposite.Clear );
-		g.fillRect( 0, 0, this.window.getScreenWidth(), this.window.getScreenHeight() );
+		if ( this.headless )
+			g.fillRect( 0, 0, this.context.getScreen().getScreenWidth(), this.context.getScreen().getScreenHeight() );
+		else
+			g.fillRect( 0, 0, this.window.getScreenWidth(), this.window.getScreenHeight() );
 		g.setComposite( comp );
 	}
 	
@@ -310,40 +712,49 @@ public abstract class Game {
 		g.setRenderingHint( RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED );
 		g.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF );
 		
-		// Render the current Scene
-		this.sceneController.render( g );
+		// Render the current Scene, then draw anything it 
+		//	submitted to the Render Queue on top
+		this.profiler.begin( Profiler.RENDER_PHASE );
+		this.sceneController.render( g, this.interpolation );
+		this.renderQueue.flush( g );
+		this.profiler.end( Profiler.RENDER_PHASE );
 	}
 	
 	/**
 	 * 	Handles rendering the current frame rate to the top-left corner of the 
-	 * 	screen for testing purposes.
+	 * 	screen for testing purposes. If the frame stats are visible then the 
+	 * 	frame time percentiles and a graph of the recent frame times are shown 
+	 * 	instead. If the Profiler is on its statistics are shown underneath.
 	 */
 	private void renderFPS( Graphics2D g )
 	{
-		// Set the font and color of graphics
-		g.setFont( this.fpsFont );
-		g.setColor( this.fpsColor );
+		// Show the full frame time statistics instead
+		if ( this.frameStatsVisible )
+		{
+			FrameTimeHistogram histogram = this.time.getFrameTimeHistogram();
+			this.frameStatsOverlay.render( g, this.time.getFrameRate(), histogram, 15, 5 );
+			this.profiler.render( g, 15, 125 );
+			return;
+		}
+		
+		this.profiler.render( g, 15, 30 );
 		
-		// Calculate position to draw fps
 		// Render the fps
-		String fps = "FPS: " + this.time.getFrameRate();
-		FontMetrics fm = g.getFontMetrics();
-		g.drawString( fps, 20, fm.getAscent() + 5 );
+		this.fpsText.clear().append( "FPS: " ).append( this.time.getFrameRate() );
+		this.fpsText.render( g, this.fpsFont, 20, this.fpsFont.getAscent() + 5, this.fpsColor );
 	}
 	
 	/**
-	 * 	Handles pausing the game thread for a specified amount of milliseconds. 
+	 * 	Handles pausing the game thread until the next frame should start. 
 	 * 	This is necessary for the player to be able to see the current frame 
-	 * 	on the screen and can be used to control exactly how many frames the 
-	 * 	game runs per minute.
+	 * 	on the screen and controls exactly how many frames the game runs per 
+	 * 	second. The amount of time the wait overslept is reported to the Time 
+	 * 	so the accuracy of the pacing can be monitored.
 	 */
-	private void sleep( long ms )
+	private void pace()
 	{
-		try { 
-			Thread.sleep( ms ); 
-		} catch ( InterruptedException e ) { 
-			// Nothing to do...
-		}
+		long oversleep = this.pacer.pace();
+		this.time.recordOversleep( oversleep );
 	}
 	
 //==============================================================================
@@ -361,12 +772,22 @@ public abstract class Game {
 		this.gameThreadRunning = false;
 	}
 	
+	/**
+	 * 	Shuts down the Game. The game loop will finish its current iteration 
+	 * 	and then the Game, its current Scene and the Game Window are properly 
+	 * 	shut down in that order.
+	 */
+	public void shutDownGame()
+	{
+		this.gameThreadRunning = false;
+	}
+	
 	/**
 	 * 	Invoked when the game loop has stopped running. This method will first 
 	 * 	handle any last minute details for the game such as saving the player's 
 	 * 	progress, and then properly shuts down the Game Window.
 	 */
-	private void shutdownGame()
+	private void handleShutdown()
 	{
 		// First have the game handle any shutdown details such as unloading 
 		//	assets or saving game data that the player has not saved yet
@@ -376,9 +797,16 @@ public abstract class Game {
 		//	shutdown details.
 		this.sceneController.onShutDown();
 		
+		// Stop presenting frames before the Window goes away
+		if ( this.renderPipeline != null )
+			this.renderPipeline.stop();
+		
 		// Finally, close the Window.
-		this.window.setVisible( false );
-		this.window.dispose();
+		if ( this.window != null )
+		{
+			this.window.setVisible( false );
+			this.window.dispose();
+		}
 	}
 	
 	/**
@@ -388,6 +816,282 @@ public abstract class Game {
 	 */
 	abstract protected void onShutDown();
 	
+//==============================================================================
+//								RENDERING
+//==============================================================================
+	
+	/**
+	 * 	Returns true if the Game presents its frames on a separate render 
+	 * 	Thread, letting the next frame be updated while the current one is 
+	 * 	still being shown.
+	 */
+	public boolean isPipelinedRendering()
+	{
+		return	this.pipelinedRendering;
+	}
+	
+	/**
+	 * 	Set to true to have the Game present its frames on a separate render 
+	 * 	Thread. Each frame is drawn in full to an offscreen image on the game 
+	 * 	Thread and then handed to the render Thread, so a slow buffer swap no 
+	 * 	longer delays the next update. This must be set before the Game is 
+	 * 	launched or it will have no effect.
+	 */
+	public void setPipelinedRendering( boolean pipelined )
+	{
+		this.pipelinedRendering = pipelined;
+	}
+	
+	/**
+	 * 	Same as setPipelinedRendering( pipelined ), also choosing how the 
+	 * 	frames are handed over. If doubleBuffered is true the game Thread waits 
+	 * 	for each frame to be picked up by the render Thread, so no frame is 
+	 * 	ever dropped. Otherwise the pipeline is triple buffered, the game 
+	 * 	Thread never waits and frames that were not presented in time are 
+	 * 	dropped. How frames are handed over can be changed while the Game is 
+	 * 	running, whether it is pipelined can not.
+	 */
+	public void setPipelinedRendering( boolean pipelined, boolean doubleBuffered )
+	{
+		this.pipelinedRendering = pipelined;
+		this.pipelineDoubleBuffered = doubleBuffered;
+		if ( this.renderPipeline != null )
+			this.renderPipeline.setDoubleBuffered( doubleBuffered );
+	}
+	
+	/**
+	 * 	Returns true if the Render Pipeline waits for each frame to be 
+	 * 	presented, see setPipelinedRendering( boolean, boolean ).
+	 */
+	public boolean isPipelineDoubleBuffered()
+	{
+		return	this.pipelineDoubleBuffered;
+	}
+	
+	/** Returns true if the Game only draws the changed parts of each frame */
+	public boolean isDirtyRendering()
+	{
+		return	this.dirtyRendering;
+	}
+	
+	/**
+	 * 	Set to true to only draw the parts of each frame that have changed 
+	 * 	since the last one. Each frame the current Scene reports what has 
+	 * 	changed (see Scene.invalidate()), then the Scene is drawn again inside 
+	 * 	just those parts. This saves drawing the whole background every frame, 
+	 * 	which is most of the work on machines without graphics acceleration. 
+	 * 	Scenes that do not report their changes are drawn in full every frame, 
+	 * 	as normal.
+	 * 	
+	 * 	Where the frame being drawn onto still holds the last one, such as a 
+	 * 	windowed Canvas or the headless frame, the changed parts are drawn 
+	 * 	straight onto it. Otherwise, such as when rendering through a Render 
+	 * 	Pipeline, the Game keeps a copy of the last frame to draw them into.
+	 */
+	public void setDirtyRendering( boolean dirty )
+	{
+		this.dirtyRendering = dirty;
+		this.dirtyFrame = null;
+		this.dirtyScene = null;
+	}
+	
+//==============================================================================
+//								HEADLESS
+//==============================================================================
+	
+	/** Returns true if the Game is running without a Game Window */
+	public boolean isHeadless()
+	{
+		return	this.headless;
+	}
+	
+	/**
+	 * 	Returns the number of ticks the Game ran in the most recent second of 
+	 * 	real time. When running headless this shows how much faster than real 
+	 * 	time the Game is being simulated.
+	 */
+	public int getTicksPerSecond()
+	{
+		return	this.ticksPerSecond;
+	}
+	
+	/** Returns the number of ticks the Game has run since it started running headless */
+	public long getTotalTicks()
+	{
+		return	this.totalTicks;
+	}
+	
+	/**
+	 * 	Returns the image the Game renders into when running headless, or null 
+	 * 	if the Game is not rendering offscreen.
+	 */
+	public BufferedImage getOffscreenFrame()
+	{
+		return	this.offscreenFrame;
+	}
+	
+//==============================================================================
+//								FRAME RATE
+//==============================================================================
+	
+	/**
+	 * 	Set to true to display the frame rate in the top-left corner of the 
+	 * 	screen, or false to hide it.
+	 */
+	public void setFPSVisible( boolean visible )
+	{
+		this.fpsVisible = visible;
+	}
+	
+	/**
+	 * 	Set to true to display the frame time statistics in place of the frame 
+	 * 	rate. This shows the median, 95th and 99th percentile and longest frame 
+	 * 	times of the most recent frames along with a graph of each frame's time, 
+	 * 	so hitches that are hidden by the frame rate can be seen.
+	 */
+	public void setFrameStatsVisible( boolean visible )
+	{
+		this.frameStatsVisible = visible;
+	}
+	
+	/**
+	 * 	Returns the target number of frames per second the game loop is paced 
+	 * 	to, or zero if the frame rate is uncapped.
+	 */
+	public int getTargetFrameRate()
+	{
+		return	this.pacer.getTargetFrameRate();
+	}
+	
+	/**
+	 * 	Sets the target number of frames per second the game loop is paced to. 
+	 * 	A target of zero or less leaves the frame rate uncapped, in which case 
+	 * 	the game loop runs as fast as it can.
+	 */
+	public void setTargetFrameRate( int framesPerSecond )
+	{
+		this.pacer.setTargetFrameRate( framesPerSecond );
+	}
+	
+//==============================================================================
+//								TIMESTEP
+//==============================================================================
+	
+	/**
+	 * 	Returns true if the Game updates its Scenes with a fixed timestep. When 
+	 * 	fixed, every update of the current Scene is given the same amount of 
+	 * 	time no matter how fast the Game is actually being rendered.
+	 */
+	public boolean isFixedTimestep()
+	{
+		return	this.fixedTimestep;
+	}
+	
+	/**
+	 * 	Set to true to have the Game update its Scenes with a fixed timestep, 
+	 * 	or false to update them once per frame with the elapsed frame time.
+	 */
+	public void setFixedTimestep( boolean fixed )
+	{
+		this.fixedTimestep = fixed;
+		this.tickAccumulator = 0;
+		this.interpolation = 1;
+	}
+	
+	/** 
+	 * 	Returns the number of fixed updates, or ticks, run per second when the 
+	 * 	Game is using a fixed timestep.
+	 */
+	public double getTickRate()
+	{
+		return	1.0 / this.tickTime;
+	}
+	
+	/**
+	 * 	Sets the number of fixed updates, or ticks, run per second when the 
+	 * 	Game is using a fixed timestep. If the given rate is not positive this 
+	 * 	method throws an IllegalArgumentException.
+	 */
+	public void setTickRate( double ticksPerSecond )
+	{
+		if ( ticksPerSecond <= 0 )
+			throw new IllegalArgumentException( "Game tick rate must be a positive value" );
+		
+		this.tickTime = 1.0 / ticksPerSecond;
+	}
+	
+	/**
+	 * 	Sets the maximum number of ticks the game loop will run in a single 
+	 * 	frame to catch up after a slow frame. If the given number is less than 
+	 * 	one this method throws an IllegalArgumentException.
+	 */
+	public void setMaxTicksPerFrame( int maxTicks )
+	{
+		if ( maxTicks < 1 )
+			throw new IllegalArgumentException( "Game max ticks per frame must be at least one" );
+		
+		this.maxTicksPerFrame = maxTicks;
+	}
+	
+//==============================================================================
+//							INPUT SOURCE
+//==============================================================================
+	
+	/**
+	 * 	Sets the Input Source that presses and releases keys on the Game's 
+	 * 	Keyboard each tick, such as a bot that plays the game by itself when 
+	 * 	it is running headless. Set to null to leave all inputs to the player.
+	 */
+	public void setInputSource( InputSource source )
+	{
+		this.inputSource = source;
+	}
+	
+	/** Returns the Game's Input Source, or null if it does not have one */
+	public InputSource getInputSource()
+	{
+		return	this.inputSource;
+	}
+	
+//==============================================================================
+//							CONTEXT
+//==============================================================================
+	
+	/**
+	 * 	Returns the Game Context this Game runs in, which holds the Game's 
+	 * 	Time, Screen, random number generator and any shared objects.
+	 */
+	public GameContext getContext()
+	{
+		return	this.context;
+	}
+	
+//==============================================================================
+//							PROFILER
+//==============================================================================
+	
+	/**
+	 * 	Returns the Profiler that times each phase of the game loop, the 
+	 * 	processing of the Keyboard, the inputs, update and render of the 
+	 * 	current Scene and showing the frame, along with any named sections 
+	 * 	the Scenes time themselves. The rolling statistics of each can be 
+	 * 	read from it at any time while the game is running.
+	 */
+	public Profiler getProfiler()
+	{
+		return	this.profiler;
+	}
+	
+	/**
+	 * 	Set to true to switch on the Profiler and display its statistics 
+	 * 	under the frame rate, or false to switch it off. The Profiler can 
+	 * 	also be toggled while playing by pressing F3.
+	 */
+	public void setProfilerEnabled( boolean enabled )
+	{
+		this.profiler.setEnabled( enabled );
+	}
+	
 //==============================================================================
 //							SCENE CONTROLLER
 //==============================================================================
@@ -406,7 +1110,9 @@ public abstract class Game {
 //==============================================================================
 	
 	/**
-	 * 	Handles loading the Font file at the given 
+	 * 	Handles loading the Font file at the given path and registering it, 
+	 * 	so it can be created by name and drawn with a Bitmap Font (see 
+	 * 	BitmapFont.get()).
 	 */
 	public void loadFont( String filepath )
 	{
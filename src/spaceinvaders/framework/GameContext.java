@@ -0,0 +1,137 @@
+package spaceinvaders.framework;
+
+import java.util.HashMap;
+import java.util.Random;
+
+
+
+/**
+ * 	The Game Context holds everything that belongs to a single running Game:
+ * 	its Time, its Screen, the random number generator that all of its Scenes
+ * 	and Game Objects should use, and any other shared objects that have been
+ * 	stored in it by key-name (for example the starfield that every Scene draws
+ * 	behind itself).
+ * 	
+ * 	Nothing in the context is static, so any number of Games, each with their
+ * 	own context, can run side by side in the same JVM without affecting each
+ * 	other. Every Scene can reach the context of its Game through getContext().
+ * 	
+ * 	Giving the context a seed makes everything that draws from its Random
+ * 	repeat exactly the same way each time the Game is run.
+ * 	
+ */
+public class GameContext {
+	
+	
+	/** Clock for the Game and its game loop */
+	private Time time;
+	/** Size of the Game's screen */
+	private Screen screen;
+	
+	/** Random number generator shared by the whole Game */
+	private Random random;
+	/** Seed the random number generator was started with */
+	private long seed;
+	
+	/** Shared objects stored in the context by key-name */
+	private HashMap<String, Object> attributes;
+	
+	
+	
+	
+	/** Creates a new Game Context with a random seed */
+	public GameContext()
+	{
+		this( new Random().nextLong() );
+	}
+	
+	/** Creates a new Game Context with the given seed */
+	public GameContext( long seed )
+	{
+		this.time = new Time();
+		this.screen = new Screen();
+		this.random = new Random( seed );
+		this.seed = seed;
+		this.attributes = new HashMap<String, Object>();
+	}
+	
+	
+	
+//==============================================================================
+//							TIME
+//==============================================================================
+	
+	/**
+	 * 	Returns the Time of the Game, which tracks the frame time, the total
+	 * 	time the Game has been running and its frame rate.
+	 */
+	public Time getTime()
+	{
+		return	this.time;
+	}
+	
+//==============================================================================
+//							SCREEN
+//==============================================================================
+	
+	/**
+	 * 	Returns the Screen of the Game, which tracks the size of the Game
+	 * 	Window and the screen the Game is drawn on.
+	 */
+	public Screen getScreen()
+	{
+		return	this.screen;
+	}
+	
+//==============================================================================
+//							RANDOM
+//==============================================================================
+	
+	/**
+	 * 	Returns the random number generator for the Game. Everything random in
+	 * 	the Game should come from this so that a seeded Game always plays out
+	 * 	the same way.
+	 */
+	public Random getRandom()
+	{
+		return	this.random;
+	}
+	
+	/** Returns the seed the random number generator was started with */
+	public long getSeed()
+	{
+		return	this.seed;
+	}
+	
+//==============================================================================
+//							ATTRIBUTES
+//==============================================================================
+	
+	/**
+	 * 	Returns the shared object stored in the context by the given key-name,
+	 * 	or null if there is nothing stored by that name.
+	 */
+	public Object getAttribute( String key )
+	{
+		return	this.attributes.get( key );
+	}
+	
+	/**
+	 * 	Stores the given shared object in the context by the given key-name,
+	 * 	replacing anything that was already stored by that name.
+	 */
+	public void setAttribute( String key, Object value )
+	{
+		this.attributes.put( key, value );
+	}
+	
+	/**
+	 * 	Removes and returns the shared object stored in the context by the
+	 * 	given key-name, or null if there was nothing stored by that name.
+	 */
+	public Object removeAttribute( String key )
+	{
+		return	this.attributes.remove( key );
+	}
+	
+}
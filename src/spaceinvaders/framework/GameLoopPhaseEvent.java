@@ -0,0 +1,36 @@
+package spaceinvaders.framework;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+
+/**
+ * 	Flight Recorder event for a single phase of the game loop, or a named
+ * 	section timed by a Scene, such as "SceneController.update" or
+ * 	"GameplayScene.checkCollisions". The Profiler emits one of these for each
+ * 	section it times whenever the event is enabled in a recording, so frame
+ * 	hitches can be lined up against garbage collection and I/O.
+ * 	
+ */
+@Name( "spaceinvaders.GameLoopPhase" )
+@Label( "Game Loop Phase" )
+@Category( { "Space Invaders", "Game Loop" } )
+@Description( "Time spent in one phase of the game loop or a named Scene section" )
+@StackTrace( false )
+public class GameLoopPhaseEvent extends Event {
+	
+	
+	/** Name of the phase or section */
+	@Label( "Phase" )
+	public String phase;
+	
+	/** Number of the frame the phase ran in */
+	@Label( "Frame" )
+	public long frame;
+	
+}
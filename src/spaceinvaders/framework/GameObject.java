@@ -22,6 +22,12 @@ public abstract class GameObject {
 	/** Bounds for the Game Object */
 	private Bounds bounds;
 	
+	/** Position of the Game Object before the last tick moved it */
+	private double previousX;
+	private double previousY;
+	/** True once the position before a tick has been saved */
+	private boolean positionSaved;
+	
 	
 	
 	/** Creates a new Game Object */
@@ -54,6 +60,114 @@ public abstract class GameObject {
 	 */
 	abstract public void render( Graphics2D g );
 	
+	/**
+	 * 	Renders the Game Object the given fraction (0 to 1) of the way from 
+	 * 	its position before the last tick to where it is now, see 
+	 * 	savePosition(). The Graphics are moved by the whole pixels between 
+	 * 	the two for the call to render( g ), so the Game Object draws itself 
+	 * 	the same as always.
+	 */
+	public void render( Graphics2D g, double alpha )
+	{
+		int dx = (int)this.getDrawX( alpha ) - (int)this.getX();
+		int dy = (int)this.getDrawY( alpha ) - (int)this.getY();
+		if ( dx == 0 && dy == 0 )
+		{
+			this.render( g );
+			return;
+		}
+		
+		g.translate( dx, dy );
+		this.render( g );
+		g.translate( -dx, -dy );
+	}
+	
+	/**
+	 * 	Reports the area this Game Object is drawn over this frame to the 
+	 * 	given Dirty Region, so it is drawn again where it is now and wherever 
+	 * 	it was drawn is cleaned up once it moves. By default this is the 
+	 * 	Object's Bounds stretched back to where they were before the last 
+	 * 	tick, since the Object can be drawn anywhere in between (see 
+	 * 	render( g, alpha )). Objects that draw outside of their Bounds should 
+	 * 	report the area they really cover.
+	 */
+	public void invalidate( DirtyRegion region )
+	{
+		double fromX = this.getPreviousX();
+		double fromY = this.getPreviousY();
+		if ( fromX == this.getX() && fromY == this.getY() )
+		{
+			region.addDrawn( this.bounds );
+			return;
+		}
+		
+		if ( this.getWidth() <= 0 || this.getHeight() <= 0 )
+			return;
+		
+		int left = (int)Math.floor( Math.min( fromX, this.getX() ) );
+		int top = (int)Math.floor( Math.min( fromY, this.getY() ) );
+		int right = (int)Math.ceil( Math.max( fromX, this.getX() ) + this.getWidth() ) + 1;
+		int bottom = (int)Math.ceil( Math.max( fromY, this.getY() ) + this.getHeight() ) + 1;
+		region.addDrawn( left, top, right - left, bottom - top );
+	}
+	
+//==============================================================================
+//								INTERPOLATION			
+//==============================================================================
+	
+	/**
+	 * 	Remembers where the Game Object is before a tick moves it, so that it 
+	 * 	can be drawn part way between there and where the tick leaves it when 
+	 * 	the Game renders faster than it ticks. This should be invoked at the 
+	 * 	start of every tick for anything that moves.
+	 */
+	public void savePosition()
+	{
+		this.previousX = this.getX();
+		this.previousY = this.getY();
+		this.positionSaved = true;
+	}
+	
+	/**
+	 * 	Returns the x-coordinate of the Game Object's position before the last 
+	 * 	tick, or its current one if its position has never been saved.
+	 */
+	public double getPreviousX()
+	{
+		return	this.positionSaved ? this.previousX : this.getX();
+	}
+	
+	/**
+	 * 	Returns the y-coordinate of the Game Object's position before the last 
+	 * 	tick, or its current one if its position has never been saved.
+	 */
+	public double getPreviousY()
+	{
+		return	this.positionSaved ? this.previousY : this.getY();
+	}
+	
+	/**
+	 * 	Returns the x-coordinate the Game Object should be drawn at, the given 
+	 * 	fraction (0 to 1) of the way from its position before the last tick to 
+	 * 	its current one.
+	 */
+	public double getDrawX( double alpha )
+	{
+		double fromX = this.getPreviousX();
+		return	fromX + (this.getX() - fromX) * alpha;
+	}
+	
+	/**
+	 * 	Returns the y-coordinate the Game Object should be drawn at, the given 
+	 * 	fraction (0 to 1) of the way from its position before the last tick to 
+	 * 	its current one.
+	 */
+	public double getDrawY( double alpha )
+	{
+		double fromY = this.getPreviousY();
+		return	fromY + (this.getY() - fromY) * alpha;
+	}
+	
 //==============================================================================
 //								INTERSECTION			
 //==============================================================================
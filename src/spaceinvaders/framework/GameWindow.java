@@ -1,5 +1,6 @@
 package spaceinvaders.framework;
 
+import java.awt.BufferCapabilities;
 import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Graphics2D;
@@ -37,6 +38,9 @@ public class GameWindow extends JFrame {
 	/** Keyboard for all Key Events in the Game */
 	private Keyboard keyboard;
 	
+	/** Screen of the Game, sized to match the Canvas */
+	private Screen screen;
+	
 	
 	/** True if the Window has been initialized */
 	private boolean initialized;
@@ -44,11 +48,15 @@ public class GameWindow extends JFrame {
 	
 	
 	
-	/** Creates a new Game Window */
-	public GameWindow()
+	/** 
+	 * 	Creates a new Game Window sized to the given Screen, which is kept up 
+	 * 	to date with the size of the Window's Canvas.
+	 */
+	public GameWindow( Screen screen )
 	{
-		this.width = Screen.getWindowWidth();
-		this.height = Screen.getWindowHeight();
+		this.screen = screen;
+		this.width = screen.getWindowWidth();
+		this.height = screen.getWindowHeight();
 	}
 	
 	
@@ -150,9 +158,9 @@ public class GameWindow extends JFrame {
 		this.canvas.setSize( w, h );
 		this.canvas.setLocation( 0, 0 );
 		
-		// Set the size for the Screen class so that all Game Objects can 
+		// Set the size for the Screen so that all Game Objects can 
 		//	reference an accurate screen size
-		Screen.setScreenSize( w, h );
+		this.screen.setScreenSize( w, h );
 	}
 	
 //==============================================================================
@@ -195,6 +203,19 @@ public class GameWindow extends JFrame {
 		return	(Graphics2D) this.bufferStrat.getDrawGraphics();
 	}
 	
+	/**
+	 * 	Returns true if the drawing buffer still holds the last frame drawn 
+	 * 	when the next frame starts, so only the parts that changed need to be 
+	 * 	drawn again. This is the case when the buffer is copied onto the 
+	 * 	screen instead of flipped, which is how a windowed Canvas normally 
+	 * 	shows its frames, as long as the buffer has not been lost.
+	 */
+	protected boolean isFrameRetained()
+	{
+		BufferCapabilities caps = this.bufferStrat.getCapabilities();
+		return	!caps.isPageFlipping() || caps.getFlipContents() == BufferCapabilities.FlipContents.COPIED;
+	}
+	
 	/**
 	 * 	Returns true if the drawing buffer was recently restored from a lost 
 	 * 	state. If this has occured the buffer would be reset to the default 
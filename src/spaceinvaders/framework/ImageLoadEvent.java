@@ -0,0 +1,39 @@
+package spaceinvaders.framework;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+
+/**
+ * 	Flight Recorder event for an image being read from a file by the Image
+ * 	Loader, covering opening and decoding the file.
+ * 	
+ */
+@Name( "spaceinvaders.ImageLoad" )
+@Label( "Image Load" )
+@Category( { "Space Invaders", "Resources" } )
+@Description( "Reading and decoding of an image file" )
+public class ImageLoadEvent extends Event {
+	
+	
+	/** Path of the image file */
+	@Label( "Path" )
+	public String path;
+	
+	/** Width of the loaded image, or 0 if it failed to load */
+	@Label( "Width" )
+	public int width;
+	
+	/** Height of the loaded image, or 0 if it failed to load */
+	@Label( "Height" )
+	public int height;
+	
+	/** True if the image was loaded */
+	@Label( "Success" )
+	public boolean success;
+	
+}
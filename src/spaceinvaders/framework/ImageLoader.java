@@ -1,9 +1,15 @@
 package spaceinvaders.framework;
 
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
 import java.awt.image.BufferedImage;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 
 import javax.imageio.ImageIO;
 
@@ -11,16 +17,71 @@ import javax.imageio.ImageIO;
 
 /**
  * 	Utility class that handles the process for loading Images from files in the Game.
+ * 	
+ * 	Each file is only read once, the Image is converted into the format of the 
+ * 	screen and kept so any later loads of the same file return it straight away. 
+ * 	The Image Loader also keeps a cache of Sprites, copies of an Image already 
+ * 	scaled to the size they are drawn at, so drawing never has to convert or 
+ * 	scale the Image on the fly. Along with each Image and Sprite it keeps a 
+ * 	Collision Mask of its solid pixels, for collisions that need to be exact 
+ * 	to the pixel.
  */
 public class ImageLoader {
-
+	
+	
+	/** Never committed, used only to check if a recording wants the events */
+	private static final ImageLoadEvent LOAD_EVENTS = new ImageLoadEvent();
+	
+	/** Images loaded so far, by path */
+	private static final HashMap<String, BufferedImage> images = new HashMap<String, BufferedImage>();
+	/** Sprites created so far for each source Image, one for each size */
+	private static final IdentityHashMap<BufferedImage, ArrayList<Sprite>> sprites = new IdentityHashMap<BufferedImage, ArrayList<Sprite>>();
+	/** Collision Masks created so far for each source Image, one for each size */
+	private static final IdentityHashMap<BufferedImage, ArrayList<CollisionMask>> masks = new IdentityHashMap<BufferedImage, ArrayList<CollisionMask>>();
+	
+	
+	
+//==============================================================================
+//							IMAGES
+//==============================================================================
 	
 	/** 
 	 * 	Loads an image for the given directory and filename. Any error results
-	 * 	in this method returning null. 
+	 * 	in this method returning null. The image is converted into the format 
+	 * 	of the screen and shared with every other caller that loads the same 
+	 * 	file, so it must not be drawn onto. Its Collision Mask is worked out 
+	 * 	up front as well.
 	 */
 	public static BufferedImage loadImage( String directory, String filename )
 	{
+		String path = directory + filename;
+		synchronized ( images )
+		{
+			BufferedImage img = images.get( path );
+			if ( img == null )
+			{
+				img = readImage( directory, filename );
+				if ( img != null )
+				{
+					img = toCompatibleImage( img );
+					images.put( path, img );
+					getCollisionMask( img, img.getWidth(), img.getHeight() );
+				}
+			}
+			return	img;
+		}
+	}
+	
+	/** 
+	 * 	Reads the image for the given directory and filename from its file. 
+	 * 	Any error results in this method returning null. 
+	 */
+	private static BufferedImage readImage( String directory, String filename )
+	{
+		ImageLoadEvent event = LOAD_EVENTS.isEnabled() ? new ImageLoadEvent() : null;
+		if ( event != null )
+			event.begin();
+		
 		// Attempt to load file
 		BufferedImage img = null;
 		InputStream stream = null;
@@ -33,12 +94,184 @@ public class ImageLoader {
 			e.printStackTrace();
 		} finally {
 			try {
-				stream.close();
+				if ( stream != null )
+					stream.close();
 			} catch ( IOException ioe ) {
 				ioe.printStackTrace();
 			}
 		}
+		
+		if ( event == null )
+			return img;
+		
+		event.end();
+		if ( event.shouldCommit() )
+		{
+			event.path = directory + filename;
+			event.success = img != null;
+			event.width = img == null ? 0 : img.getWidth();
+			event.height = img == null ? 0 : img.getHeight();
+			event.commit();
+		}
 		return img;
 	}
 	
+	/**
+	 * 	Returns a copy of the given Image in the format of the screen, or the 
+	 * 	Image itself if it is already in that format. Drawing an Image in the 
+	 * 	screen's format is a straight copy, any other format has to be 
+	 * 	converted every single time it is drawn. Without a screen Images are 
+	 * 	converted to pre-multiplied ARGB, the fastest format to draw in 
+	 * 	software.
+	 */
+	public static BufferedImage toCompatibleImage( BufferedImage img )
+	{
+		return	createScaledImage( img, img.getWidth(), img.getHeight() );
+	}
+	
+	/**
+	 * 	Returns a copy of the given Image scaled to the given size and in the 
+	 * 	format of the screen. If the Image is already that size and format it 
+	 * 	is returned as it is. 
+	 */
+	private static BufferedImage createScaledImage( BufferedImage img, int w, int h )
+	{
+		GraphicsConfiguration gc = getGraphicsConfiguration();
+		BufferedImage scaled;
+		if ( gc == null )
+			scaled = new BufferedImage( w, h, BufferedImage.TYPE_INT_ARGB_PRE );
+		else
+			scaled = gc.createCompatibleImage( w, h, img.getTransparency() );
+		
+		// Already the right size and format, nothing to do...
+		boolean sameSize = img.getWidth() == w && img.getHeight() == h;
+		if ( sameSize && img.getColorModel().equals( scaled.getColorModel() ) )
+			return	img;
+		
+		Graphics2D g = scaled.createGraphics();
+		g.drawImage( img, 0, 0, w, h, null );
+		g.dispose();
+		return	scaled;
+	}
+	
+	/** 
+	 * 	Returns the Graphics Configuration of the default screen, or null if 
+	 * 	there is no screen. 
+	 */
+	private static GraphicsConfiguration getGraphicsConfiguration()
+	{
+		if ( GraphicsEnvironment.isHeadless() )
+			return null;
+		
+		return	GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+	}
+	
+//==============================================================================
+//							SPRITES
+//==============================================================================
+	
+	/**
+	 * 	Returns the Sprite for the given Image scaled to the given size, 
+	 * 	creating it the first time that size is asked for. Drawing the Sprite 
+	 * 	instead of drawing the Image at that size skips scaling the Image on 
+	 * 	every draw. Returns null if the given Image is null or the size is not 
+	 * 	positive.
+	 */
+	public static Sprite getSprite( BufferedImage img, int w, int h )
+	{
+		if ( img == null || w <= 0 || h <= 0 )
+			return null;
+		
+		synchronized ( sprites )
+		{
+			ArrayList<Sprite> sizes = sprites.get( img );
+			if ( sizes == null )
+			{
+				sizes = new ArrayList<Sprite>( 2 );
+				sprites.put( img, sizes );
+			}
+			
+			// Find the Sprite of the right size
+			for ( int i = 0; i < sizes.size(); i++ )
+			{
+				Sprite sprite = sizes.get(i);
+				if ( sprite.getWidth() == w && sprite.getHeight() == h )
+					return	sprite;
+			}
+			
+			Sprite sprite = new Sprite( createScaledImage( img, w, h ) );
+			sizes.add( sprite );
+			return	sprite;
+		}
+	}
+	
+	/**
+	 * 	Draws the given Image over the given area using its cached Sprite for 
+	 * 	that size. This is a drop-in replacement for drawing the Image scaled 
+	 * 	with Graphics2D.drawImage(). 
+	 */
+	public static void drawSprite( Graphics2D g, BufferedImage img, int x, int y, int w, int h )
+	{
+		Sprite sprite = getSprite( img, w, h );
+		if ( sprite != null )
+			sprite.draw( g, x, y );
+	}
+	
+//==============================================================================
+//							COLLISION MASKS
+//==============================================================================
+	
+	/**
+	 * 	Returns the Collision Mask of the given Image scaled to the given size, 
+	 * 	creating it the first time that size is asked for. The mask is made 
+	 * 	from the same scaled Image the Sprite of that size draws, so it marks 
+	 * 	exactly the pixels that are drawn. Returns null if the given Image is 
+	 * 	null or the size is not positive.
+	 */
+	public static CollisionMask getCollisionMask( BufferedImage img, int w, int h )
+	{
+		if ( img == null || w <= 0 || h <= 0 )
+			return null;
+		
+		synchronized ( masks )
+		{
+			ArrayList<CollisionMask> sizes = masks.get( img );
+			if ( sizes == null )
+			{
+				sizes = new ArrayList<CollisionMask>( 2 );
+				masks.put( img, sizes );
+			}
+			
+			// Find the mask of the right size
+			for ( int i = 0; i < sizes.size(); i++ )
+			{
+				CollisionMask mask = sizes.get(i);
+				if ( mask.getWidth() == w && mask.getHeight() == h )
+					return	mask;
+			}
+			
+			BufferedImage scaled = img.getWidth() == w && img.getHeight() == h ? img : getSprite( img, w, h ).getImage();
+			CollisionMask mask = new CollisionMask( scaled );
+			sizes.add( mask );
+			return	mask;
+		}
+	}
+	
+	/** Forgets every loaded Image, Sprite and Collision Mask so they are loaded again when next needed */
+	public static void clearCache()
+	{
+		synchronized ( images )
+		{
+			images.clear();
+		}
+		synchronized ( sprites )
+		{
+			sprites.clear();
+		}
+		synchronized ( masks )
+		{
+			masks.clear();
+		}
+	}
+	
 }
\ No newline at end of file
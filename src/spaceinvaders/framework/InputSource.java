@@ -0,0 +1,28 @@
+package spaceinvaders.framework;
+
+
+
+/**
+ * 	Base class for anything other than the player that gives inputs to a Game,
+ * 	such as a bot that plays by itself or a script that replays a recorded
+ * 	run. The Game invokes the Input Source once each tick, just before the
+ * 	Keyboard processes the tick's inputs, and the Input Source presses and
+ * 	releases keys on the Keyboard the same way the player would by typing.
+ * 	
+ * 	Input Sources are what let a Game be played while running headless, where
+ * 	there is no Window for the player to type into at all.
+ * 	
+ */
+public abstract class InputSource {
+	
+	
+	
+	/**
+	 * 	Invoked by the Game at the start of each tick with the amount of time
+	 * 	the tick covers. This method should press and release the keys it
+	 * 	wants to on the given Keyboard, and the Scene will see them as the
+	 * 	inputs for this tick.
+	 */
+	abstract public void update( double secsPerFrame, Keyboard keys );
+	
+}
@@ -624,10 +624,54 @@ public class Keyboard implements KeyListener {
 		this.polledModifiers = mask;
 	}
 	
+//==============================================================================
+//		  					SIMULATED INPUTS
+//==============================================================================
+	
+	/**
+	 * 	Presses the key with the given key code exactly as if a Key Event for 
+	 * 	it had come from the Event Dispatching Thread. This lets an Input 
+	 * 	Source, such as a bot or a script, drive the game when there is no 
+	 * 	Window to type into. The key stays down until it is released. Key 
+	 * 	codes out of range are ignored.
+	 */
+	public synchronized void press( int keyCode )
+	{
+		if ( keyCode < 0 || keyCode >= this.keys.length )
+			return;
+		
+		// Update key's down count
+		boolean prevDown = this.keys[ keyCode ];
+		this.keys[ keyCode ] = true;
+		if ( !prevDown )
+			this.keysDownCount ++;
+		
+		// Store the key press
+		this.eventThreadPressed.add( keyCode );
+	}
+	
+	/**
+	 * 	Releases the key with the given key code exactly as if a Key Event for 
+	 * 	it had come from the Event Dispatching Thread. Releasing a key that is 
+	 * 	not down does nothing. Key codes out of range are ignored.
+	 */
+	public synchronized void release( int keyCode )
+	{
+		if ( keyCode < 0 || keyCode >= this.keys.length || !this.keys[ keyCode ] )
+			return;
+		
+		// Update key's down count
+		this.keys[ keyCode ] = false;
+		this.keysDownCount --;
+		
+		// Store the key release
+		this.eventThreadReleased.add( keyCode );
+	}
+	
 //==============================================================================
 //		  					KEY LISTENER
 //==============================================================================
-    
+	
 	/**
 	 * 	Invoked by the Event Dispatching Thread of the application that this
 	 * 	Keyboard is registered too as a KeyListener. This method will update 
@@ -643,15 +687,7 @@ public class Keyboard implements KeyListener {
 			return;
 		
 		// Activate the key
-		boolean prevDown = this.keys[ code ];
-		this.keys[ code ] = true;
-		
-		// Update key's down count
-		if ( !prevDown )
-			this.keysDownCount ++;
-		
-		// Store the key press
-		this.eventThreadPressed.add( e.getKeyCode() );
+		this.press( code );
 		
 		// Update the modifier mask, account for both types
 		//	of modifiers in case the caller uses an old mask 
@@ -677,11 +713,7 @@ public class Keyboard implements KeyListener {
 			return;
 		
 		// Deactivate the key
-		this.keys[ code ] = false;
-		this.keysDownCount --;
-		
-		// Store the key release
-		this.eventThreadReleased.add( e.getKeyCode() );
+		this.release( code );
 		
 		// Update the modifier mask, account for both types
 		//	of modifiers in case the caller uses an old mask 
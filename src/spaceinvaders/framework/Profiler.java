@@ -0,0 +1,365 @@
+package spaceinvaders.framework;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+
+
+/**
+ * 	The Profiler times how long each part of the game loop takes so that it is
+ * 	possible to tell exactly where a slow frame came from. The Game times each
+ * 	phase of the game loop itself (see the PHASE constants), and any Scene can
+ * 	time its own named sections on top of that by wrapping code between calls
+ * 	to begin() and end() with a name such as "GameplayScene.checkCollisions".
+ * 	
+ * 	The time spent in each section is added up over the frame. At the end of
+ * 	each frame the totals are collected into rolling statistics, the average
+ * 	and longest time per frame over the most recent second, which can be
+ * 	queried by name at any point while the game is running.
+ * 	
+ * 	Every section is also emitted as a Game Loop Phase Event whenever a Flight
+ * 	Recorder recording has the event enabled, whether or not the Profiler
+ * 	itself is on, so the phases show up on the same timeline as the JVM's own
+ * 	events.
+ * 	
+ * 	The Profiler can be switched on and off at any time. When off, and when no
+ * 	recording wants the events, begin() and end() return immediately so
+ * 	sections can be left in the code for good.
+ * 	
+ */
+public class Profiler {
+	
+	
+	/** Name of the phase where the Keyboard processes the frame's Key Events */
+	public static final String KEYBOARD_PHASE = "Keyboard.process";
+	/** Name of the phase where the current Scene processes its inputs */
+	public static final String INPUTS_PHASE = "SceneController.processInputs";
+	/** Name of the phase where the current Scene is updated */
+	public static final String UPDATE_PHASE = "SceneController.update";
+	/** Name of the phase where the current Scene is rendered */
+	public static final String RENDER_PHASE = "SceneController.render";
+	/** Name of the phase where the rendered frame is shown on the screen */
+	public static final String PRESENT_PHASE = "BufferStrategy.show";
+	
+	/** Length of the window the rolling statistics cover, in nano-seconds */
+	private static final long WINDOW_NS = 1000000000L;
+	
+	/** Never committed, used only to check if a recording wants the events */
+	private static final GameLoopPhaseEvent PHASE_EVENTS = new GameLoopPhaseEvent();
+	
+	
+	
+	/** All sections timed so far, by name */
+	private HashMap<String, Section> sections;
+	/** All sections timed so far, in the order they were first timed */
+	private ArrayList<Section> sectionList;
+	
+	/** Time of the system in nano-seconds that the current window started */
+	private long windowStartNS;
+	/** Number of frames in the current window */
+	private long windowFrames;
+	
+	/** Number of frames the game loop has finished */
+	private long frame;
+	
+	/** True if the Profiler is timing sections */
+	private boolean enabled;
+	
+	/** Font the statistics are drawn with */
+	private Font font;
+	/** Color of the text */
+	private Color textColor;
+	/** Color of the panel behind the statistics */
+	private Color panelColor;
+	/** Reused buffer the text is formatted into */
+	private TextBuffer text;
+	
+	
+	
+	
+	/** Creates a new Profiler, which is switched off until enabled */
+	public Profiler()
+	{
+		this.sections = new HashMap<String, Section>();
+		this.sectionList = new ArrayList<Section>();
+		this.font = new Font( "Courier New", Font.PLAIN, 14 );
+		this.textColor = new Color( 255, 255, 0 );
+		this.panelColor = new Color( 0, 0, 0, 160 );
+		this.text = new TextBuffer( 96 );
+	}
+	
+	
+	
+//==============================================================================
+//							SECTIONS
+//==============================================================================
+	
+	/**
+	 * 	Starts timing the section with the given name. Every call to begin()
+	 * 	must be followed by a call to end() with the same name. Does nothing
+	 * 	if the Profiler is not enabled.
+	 */
+	public void begin( String name )
+	{
+		boolean recording = PHASE_EVENTS.isEnabled();
+		if ( !this.enabled && !recording )
+			return;
+		
+		Section section = this.getSection( name );
+		if ( recording )
+		{
+			section.event = new GameLoopPhaseEvent();
+			section.eventFrame = this.frame;
+			section.event.begin();
+		}
+		if ( this.enabled )
+			section.startNS = System.nanoTime();
+	}
+	
+	/**
+	 * 	Stops timing the section with the given name and adds the elapsed time
+	 * 	to the section's total for this frame. Does nothing if the Profiler is
+	 * 	not enabled or the section was never started.
+	 */
+	public void end( String name )
+	{
+		Section section = this.sections.get( name );
+		if ( section == null )
+			return;
+		
+		if ( section.event != null )
+		{
+			GameLoopPhaseEvent event = section.event;
+			event.end();
+			if ( event.shouldCommit() )
+			{
+				event.phase = section.name;
+				event.frame = section.eventFrame;
+				event.commit();
+			}
+			section.event = null;
+		}
+		if ( this.enabled && section.startNS != 0 )
+		{
+			section.frameNS += System.nanoTime() - section.startNS;
+			section.startNS = 0;
+		}
+	}
+	
+	/**
+	 * 	Invoked by the Game at the end of each frame, this collects the time
+	 * 	each section took during the frame into the rolling statistics.
+	 */
+	public void endFrame()
+	{
+		this.frame ++;
+		if ( !this.enabled )
+			return;
+		
+		for ( int i = 0; i < this.sectionList.size(); i++ )
+		{
+			Section section = this.sectionList.get(i);
+			section.windowSumNS += section.frameNS;
+			section.windowMaxNS = Math.max( section.windowMaxNS, section.frameNS );
+			section.lastNS = section.frameNS;
+			section.frameNS = 0;
+		}
+		
+		// Window has elapsed, publish the statistics and start a new one
+		long now = System.nanoTime();
+		this.windowFrames ++;
+		if ( now - this.windowStartNS >= WINDOW_NS )
+		{
+			for ( int i = 0; i < this.sectionList.size(); i++ )
+			{
+				Section section = this.sectionList.get(i);
+				section.averageNS = section.windowSumNS / this.windowFrames;
+				section.maxNS = section.windowMaxNS;
+				section.windowSumNS = 0;
+				section.windowMaxNS = 0;
+			}
+			this.windowFrames = 0;
+			this.windowStartNS = now;
+		}
+	}
+	
+	/** Returns the section with the given name, creating it if it's new */
+	private Section getSection( String name )
+	{
+		Section section = this.sections.get( name );
+		if ( section == null )
+		{
+			section = new Section( name );
+			this.sections.put( name, section );
+			this.sectionList.add( section );
+		}
+		return	section;
+	}
+	
+//==============================================================================
+//							STATISTICS
+//==============================================================================
+	
+	/**
+	 * 	Returns the average time in seconds per frame spent in the section
+	 * 	with the given name over the most recent second, or 0 if the section
+	 * 	has not been timed.
+	 */
+	public double getAverageTime( String name )
+	{
+		Section section = this.sections.get( name );
+		return	section == null ? 0 : section.averageNS / 1.0e9;
+	}
+	
+	/**
+	 * 	Returns the longest time in seconds spent in the section with the given
+	 * 	name in a single frame over the most recent second, or 0 if the section
+	 * 	has not been timed.
+	 */
+	public double getMaxTime( String name )
+	{
+		Section section = this.sections.get( name );
+		return	section == null ? 0 : section.maxNS / 1.0e9;
+	}
+	
+	/**
+	 * 	Returns the time in seconds spent in the section with the given name
+	 * 	during the last frame, or 0 if the section has not been timed.
+	 */
+	public double getLastTime( String name )
+	{
+		Section section = this.sections.get( name );
+		return	section == null ? 0 : section.lastNS / 1.0e9;
+	}
+	
+	/** Returns the names of all sections timed so far */
+	public ArrayList<String> getSectionNames()
+	{
+		ArrayList<String> names = new ArrayList<String>();
+		for ( Section section : this.sectionList )
+			names.add( section.name );
+		return	names;
+	}
+	
+//==============================================================================
+//							ENABLE
+//==============================================================================
+	
+	/** Returns true if the Profiler is currently timing sections */
+	public boolean isEnabled()
+	{
+		return	this.enabled;
+	}
+	
+	/**
+	 * 	Set to true to start timing sections, or false to stop. Starting the
+	 * 	Profiler clears any statistics from the last time it was enabled.
+	 */
+	public void setEnabled( boolean enabled )
+	{
+		if ( enabled && !this.enabled )
+		{
+			for ( Section section : this.sectionList )
+				section.reset();
+			this.windowFrames = 0;
+			this.windowStartNS = System.nanoTime();
+		}
+		
+		this.enabled = enabled;
+	}
+	
+//==============================================================================
+//							RENDER
+//==============================================================================
+	
+	/**
+	 * 	Renders the average and longest time of every section with the top-left
+	 * 	corner of the list at the given position, if the Profiler is enabled.
+	 */
+	public void render( Graphics2D g, int x, int y )
+	{
+		if ( !this.enabled )
+			return;
+		
+		g.setFont( this.font );
+		FontMetrics fm = g.getFontMetrics();
+		int lineH = fm.getHeight();
+		
+		// Draw the panel
+		g.setColor( this.panelColor );
+		g.fillRect( x, y, 480, lineH * ( this.sectionList.size() + 1 ) + 10 );
+		
+		// Draw each section's line
+		g.setColor( this.textColor );
+		int textY = y + 5 + fm.getAscent();
+		this.text.clear().append( "Section                        avg      max" );
+		this.text.render( g, x + 5, textY );
+		for ( int i = 0; i < this.sectionList.size(); i++ )
+		{
+			Section section = this.sectionList.get(i);
+			this.text.clear().append( section.label );
+			this.text.appendMillis( section.averageNS / 1.0e9 ).append( "  " );
+			this.text.appendMillis( section.maxNS / 1.0e9 );
+			this.text.render( g, x + 5, textY + lineH * ( i + 1 ) );
+		}
+	}
+	
+//==============================================================================
+//							SECTION
+//==============================================================================
+	
+	/** The timing data for a single named section */
+	private static class Section {
+		
+		/** Name of the section */
+		private String name;
+		/** Name of the section padded to line up the overlay columns */
+		private String label;
+		
+		/** Time of the system in nano-seconds the section was started, 0 if not running */
+		private long startNS;
+		/** Flight Recorder event of the running section, null if not recording */
+		private GameLoopPhaseEvent event;
+		/** Frame the running section's event was started in */
+		private long eventFrame;
+		/** Total time spent in the section during the current frame */
+		private long frameNS;
+		/** Total time spent in the section during the last frame */
+		private long lastNS;
+		
+		/** Total time spent in the section during the current window */
+		private long windowSumNS;
+		/** Longest frame spent in the section during the current window */
+		private long windowMaxNS;
+		
+		/** Average time per frame spent in the section over the last window */
+		private long averageNS;
+		/** Longest frame spent in the section over the last window */
+		private long maxNS;
+		
+		/** Creates a new Section with the given name */
+		private Section( String name )
+		{
+			this.name = name;
+			this.label = String.format( "%-30s ", name.length() > 30 ? name.substring( 0, 30 ) : name );
+		}
+		
+		/** Clears all of the Section's timing data */
+		private void reset()
+		{
+			this.startNS = 0;
+			this.frameNS = 0;
+			this.lastNS = 0;
+			this.windowSumNS = 0;
+			this.windowMaxNS = 0;
+			this.averageNS = 0;
+			this.maxNS = 0;
+		}
+	
+	}
+	
+}
@@ -0,0 +1,199 @@
+package spaceinvaders.framework;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+
+
+/**
+ * 	A Render Layer caches something expensive to draw, such as a background,
+ * 	in an offscreen image so that each frame only has to copy the image onto
+ * 	the screen instead of drawing everything in it again. The layer is only
+ * 	painted again when it has been invalidated, so layers that change slowly
+ * 	over time are invalidated by their owner whenever they are due.
+ * 	
+ * 	When the surface the layer is drawn onto is accelerated the image is kept
+ * 	in video memory as a Volatile Image, and if its contents are ever lost the
+ * 	layer is simply painted again.
+ * 	
+ * 	Subclasses only need to override paint() to draw the layer's contents.
+ * 	
+ */
+public abstract class RenderLayer {
+	
+	
+	/** Width of the layer in pixels */
+	private int width;
+	/** Height of the layer in pixels */
+	private int height;
+	/** Transparency of the layer, see the java.awt.Transparency constants */
+	private int transparency;
+	
+	/** Cached image in normal memory, if the surface is not accelerated */
+	private BufferedImage image;
+	/** Cached image in video memory, if the surface is accelerated */
+	private VolatileImage accelerated;
+	
+	/** True if the layer has to be painted before it is next drawn */
+	private boolean dirty;
+	
+	
+	
+	
+	/**
+	 * 	Creates a new Render Layer of the given size that covers everything
+	 * 	behind it, so paint() must fill every pixel.
+	 */
+	public RenderLayer( int width, int height )
+	{
+		this( width, height, Transparency.OPAQUE );
+	}
+	
+	/**
+	 * 	Creates a new Render Layer of the given size and transparency, one of
+	 * 	the java.awt.Transparency constants.
+	 */
+	public RenderLayer( int width, int height, int transparency )
+	{
+		this.width = width;
+		this.height = height;
+		this.transparency = transparency;
+		this.dirty = true;
+	}
+	
+	
+	
+//==============================================================================
+//							PAINT
+//==============================================================================
+	
+	/**
+	 * 	Paints the contents of the layer onto the given Graphics, which is
+	 * 	the size of the layer. For a transparent layer the Graphics starts out
+	 * 	cleared, otherwise it holds whatever was painted last time.
+	 */
+	abstract protected void paint( Graphics2D g );
+	
+	/** Marks the layer to be painted again before it is next drawn */
+	public void invalidate()
+	{
+		this.dirty = true;
+	}
+	
+	/** Returns true if the layer will be painted again before it is next drawn */
+	public boolean isDirty()
+	{
+		return	this.dirty;
+	}
+	
+//==============================================================================
+//							RENDER
+//==============================================================================
+	
+	/**
+	 * 	Draws the layer onto the given Graphics with its top left corner at
+	 * 	the given position, painting it first if it is dirty or its cached
+	 * 	image was lost.
+	 */
+	public void render( Graphics2D g, int x, int y )
+	{
+		GraphicsConfiguration gc = g.getDeviceConfiguration();
+		Image img;
+		if ( gc != null && gc.getImageCapabilities().isAccelerated() )
+			img = this.getAcceleratedImage( gc );
+		else
+			img = this.getImage( gc );
+		
+		g.drawImage( img, x, y, null );
+	}
+	
+	/** Returns the layer's image in normal memory, painted if needed */
+	private BufferedImage getImage( GraphicsConfiguration gc )
+	{
+		if ( this.image == null )
+		{
+			if ( gc == null )
+				this.image = new BufferedImage( this.width, this.height, BufferedImage.TYPE_INT_ARGB_PRE );
+			else
+				this.image = gc.createCompatibleImage( this.width, this.height, this.transparency );
+			this.dirty = true;
+		}
+		
+		if ( this.dirty )
+			this.repaint( this.image.createGraphics() );
+		return	this.image;
+	}
+	
+	/**
+	 * 	Returns the layer's image in video memory, creating it or painting it
+	 * 	again if it is dirty, lost or no longer suits the given configuration.
+	 */
+	private VolatileImage getAcceleratedImage( GraphicsConfiguration gc )
+	{
+		int status = VolatileImage.IMAGE_INCOMPATIBLE;
+		if ( this.accelerated != null )
+			status = this.accelerated.validate( gc );
+		if ( status == VolatileImage.IMAGE_INCOMPATIBLE )
+		{
+			if ( this.accelerated != null )
+				this.accelerated.flush();
+			this.accelerated = gc.createCompatibleVolatileImage( this.width, this.height, this.transparency );
+		}
+		
+		if ( this.dirty || status != VolatileImage.IMAGE_OK )
+			this.repaint( this.accelerated.createGraphics() );
+		return	this.accelerated;
+	}
+	
+	/** Paints the layer with the given Graphics of its image and disposes it */
+	private void repaint( Graphics2D g )
+	{
+		try {
+			if ( this.transparency != Transparency.OPAQUE )
+			{
+				g.setComposite( AlphaComposite.Clear );
+				g.fillRect( 0, 0, this.width, this.height );
+				g.setComposite( AlphaComposite.SrcOver );
+			}
+			this.paint( g );
+		} finally {
+			g.dispose();
+		}
+		this.dirty = false;
+	}
+	
+	/** Releases the layer's cached images, they are recreated when next drawn */
+	public void flush()
+	{
+		if ( this.image != null )
+			this.image.flush();
+		if ( this.accelerated != null )
+			this.accelerated.flush();
+		
+		this.image = null;
+		this.accelerated = null;
+		this.dirty = true;
+	}
+	
+//==============================================================================
+//							SIZE
+//==============================================================================
+	
+	/** Returns the width of the layer in pixels */
+	public int getWidth()
+	{
+		return	this.width;
+	}
+	
+	/** Returns the height of the layer in pixels */
+	public int getHeight()
+	{
+		return	this.height;
+	}
+	
+}
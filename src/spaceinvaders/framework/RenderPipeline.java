@@ -0,0 +1,277 @@
+package spaceinvaders.framework;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+
+
+/**
+ * 	The Render Pipeline lets the Game draw its frames on the game Thread while a
+ * 	separate render Thread handles presenting them on the Game Window. Without
+ * 	it, any stall while the Window's buffer strategy shows a frame also stalls
+ * 	the next update of the game.
+ * 	
+ * 	Each frame is drawn in full into an offscreen image. Once finished the image
+ * 	is handed off and never touched again by the game Thread, so the render
+ * 	Thread can copy it to the screen while the game Thread is already updating
+ * 	and drawing the next frame. Three images are rotated between the two Threads:
+ * 	one being drawn, one finished and waiting, and one being presented.
+ * 	
+ * 	By default the pipeline is triple buffered, meaning the game Thread never
+ * 	waits and if it finishes a new frame before the last one was presented the
+ * 	older frame is simply skipped. When set to double buffered the game Thread
+ * 	instead waits for the render Thread to pick up the previous frame before it
+ * 	hands over the next one, so every frame is shown at the cost of the game
+ * 	Thread occasionally waiting.
+ * 	
+ */
+public class RenderPipeline {
+	
+	
+	/** Index of the image the game Thread is currently drawing to */
+	private int drawIndex;
+	/** Index of the most recently finished image waiting to be presented */
+	private int readyIndex;
+	/** Index of the image the render Thread is currently presenting */
+	private int showIndex;
+	
+	/** Images that the frames are drawn to and presented from */
+	private BufferedImage[] buffers;
+	
+	/** True if a finished frame is waiting to be presented */
+	private boolean frameReady;
+	/** True if the game Thread should wait for each frame to be picked up */
+	private boolean doubleBuffered;
+	
+	/** Lock that guards handing frames between the two Threads */
+	private final Object lock;
+	
+	/** Window the frames are presented on */
+	private GameWindow window;
+	
+	/** Thread that presents the finished frames */
+	private Thread renderThread;
+	/** True if the render Thread should be running */
+	private volatile boolean running;
+	
+	
+	
+	
+	/** Creates a new triple buffered Render Pipeline for the given Window */
+	public RenderPipeline( GameWindow window )
+	{
+		this.window = window;
+		this.lock = new Object();
+		this.buffers = new BufferedImage[ 3 ];
+		this.drawIndex = 0;
+		this.readyIndex = 1;
+		this.showIndex = 2;
+	}
+	
+	
+	
+//==============================================================================
+//							START/STOP
+//==============================================================================
+	
+	/** Starts the render Thread if it is not already running */
+	public void start()
+	{
+		if ( this.running )
+			return;
+		
+		this.running = true;
+		this.renderThread = new Thread( new Runnable() {
+			@Override public void run() {
+				RenderPipeline.this.presentLoop();
+			}
+		}, "Render Thread" );
+		this.renderThread.start();
+	}
+	
+	/**
+	 * 	Stops the render Thread and waits for it to finish presenting its
+	 * 	current frame.
+	 */
+	public void stop()
+	{
+		if ( !this.running )
+			return;
+		
+		synchronized ( this.lock )
+		{
+			this.running = false;
+			this.lock.notifyAll();
+		}
+		
+		try {
+			this.renderThread.join();
+		} catch ( InterruptedException e ) {
+			// Nothing to do...
+		}
+	}
+	
+//==============================================================================
+//							GAME THREAD
+//==============================================================================
+	
+	/**
+	 * 	Invoked by the game Thread at the start of rendering a frame, returns
+	 * 	the Graphics of the offscreen image that the frame should be drawn to.
+	 * 	The Graphics must be disposed of and endFrame() invoked once the frame
+	 * 	has been fully drawn.
+	 */
+	public Graphics2D beginFrame()
+	{
+		// Make sure the image matches the current size of the screen
+		int w = Math.max( 1, this.window.getScreenWidth() );
+		int h = Math.max( 1, this.window.getScreenHeight() );
+		BufferedImage img = this.buffers[ this.drawIndex ];
+		if ( img == null || img.getWidth() != w || img.getHeight() != h )
+		{
+			img = this.createBuffer( w, h );
+			this.buffers[ this.drawIndex ] = img;
+		}
+		
+		return	img.createGraphics();
+	}
+	
+	/**
+	 * 	Invoked by the game Thread once the current frame has been fully drawn,
+	 * 	this hands the frame over to the render Thread to be presented. When
+	 * 	double buffered this waits until the previous frame has been picked up.
+	 */
+	public void endFrame()
+	{
+		synchronized ( this.lock )
+		{
+			// Wait for the last frame to be taken, if we need to
+			while ( this.doubleBuffered && this.frameReady && this.running )
+			{
+				try {
+					this.lock.wait();
+				} catch ( InterruptedException e ) {
+					// Nothing to do...
+				}
+			}
+			
+			// Swap the finished frame in as the ready frame, any
+			//	older frame that was not presented yet is dropped
+			int swap = this.readyIndex;
+			this.readyIndex = this.drawIndex;
+			this.drawIndex = swap;
+			this.frameReady = true;
+			this.lock.notifyAll();
+		}
+	}
+	
+//==============================================================================
+//							RENDER THREAD
+//==============================================================================
+	
+	/**
+	 * 	Invoked from the render Thread, this waits for each finished frame
+	 * 	and presents it on the Window until the pipeline is stopped.
+	 */
+	private void presentLoop()
+	{
+		while ( true )
+		{
+			// Wait for the next finished frame and take it
+			synchronized ( this.lock )
+			{
+				while ( !this.frameReady && this.running )
+				{
+					try {
+						this.lock.wait();
+					} catch ( InterruptedException e ) {
+						// Nothing to do...
+					}
+				}
+				
+				if ( !this.running )
+					return;
+				
+				int swap = this.showIndex;
+				this.showIndex = this.readyIndex;
+				this.readyIndex = swap;
+				this.frameReady = false;
+				this.lock.notifyAll();
+			}
+			
+			// Present the frame outside of the lock so the game
+			//	Thread can keep going
+			this.present( this.buffers[ this.showIndex ] );
+		}
+	}
+	
+	/**
+	 * 	Copies the given frame to the Window's buffer and shows it, retrying
+	 * 	if the buffer's contents are lost along the way.
+	 */
+	private void present( BufferedImage frame )
+	{
+		do
+		{
+			do
+			{
+				Graphics2D g = null;
+				try {
+					g = this.window.getFrameGraphics();
+					g.drawImage( frame, 0, 0, null );
+				} finally {
+					if ( g != null )
+						g.dispose();
+				}
+			} while ( this.window.frameContentsRestored() );
+			
+			this.window.showNextFrame();
+		
+		} while ( this.window.frameContentsLost() );
+	}
+	
+//==============================================================================
+//							SETTINGS
+//==============================================================================
+	
+	/**
+	 * 	Returns true if the pipeline is double buffered, meaning the game
+	 * 	Thread waits for each frame to be picked up before handing over the
+	 * 	next one, rather than dropping frames that were never presented.
+	 */
+	public boolean isDoubleBuffered()
+	{
+		return	this.doubleBuffered;
+	}
+	
+	/**
+	 * 	Set to true to have the game Thread wait for each frame to be picked up
+	 * 	by the render Thread, or false to keep triple buffering where the game
+	 * 	Thread never waits and frames that were not presented in time are
+	 * 	dropped.
+	 */
+	public void setDoubleBuffered( boolean doubleBuffered )
+	{
+		synchronized ( this.lock )
+		{
+			this.doubleBuffered = doubleBuffered;
+			this.lock.notifyAll();
+		}
+	}
+	
+	/**
+	 * 	Creates a new offscreen image of the given size in the format that is
+	 * 	fastest to copy to the Window.
+	 */
+	private BufferedImage createBuffer( int w, int h )
+	{
+		GraphicsConfiguration gc = this.window.getGraphicsConfiguration();
+		if ( gc == null )
+			return	new BufferedImage( w, h, BufferedImage.TYPE_INT_RGB );
+		
+		return	gc.createCompatibleImage( w, h, Transparency.OPAQUE );
+	}
+	
+}
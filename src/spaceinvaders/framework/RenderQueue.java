@@ -0,0 +1,353 @@
+package spaceinvaders.framework;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+
+
+/**
+ * 	The Render Queue lets a Scene describe what to draw as a list of commands
+ * 	instead of drawing straight onto the Graphics. Sprites, filled rectangles
+ * 	and text are submitted with a layer and a z-order, and when the queue is
+ * 	flushed the commands are sorted and replayed onto the frame's Graphics in
+ * 	one go. Using the queue is optional, anything a Scene draws itself is drawn
+ * 	straight away as before.
+ * 	
+ * 	Commands are drawn in order of layer, then z-order, so higher ones end up on
+ * 	top. Commands with the same layer and z-order are grouped by what they draw
+ * 	(the Image, Color or Bitmap Font) so the Graphics' state only changes when
+ * 	the group changes, and are otherwise drawn in the order they were submitted.
+ * 	Commands entirely outside the Graphics' clip are skipped.
+ * 	
+ * 	The commands are pooled and reused from frame to frame, and each is sorted
+ * 	by a single packed key, so submitting and flushing them creates no objects
+ * 	once the queue has grown to fit a frame. The Game flushes the queue at the
+ * 	end of every frame, see Scene.getRenderQueue().
+ * 	
+ */
+public class RenderQueue {
+	
+	
+	/** Highest layer a command can be submitted on, the lowest is 0 */
+	public static final int MAX_LAYER = 127;
+	/** Lowest z-order a command can be submitted with */
+	public static final int MIN_Z = Short.MIN_VALUE;
+	/** Highest z-order a command can be submitted with */
+	public static final int MAX_Z = Short.MAX_VALUE;
+	
+	/** Most commands that can be queued between flushes */
+	public static final int MAX_COMMANDS = 1 << 20;
+	
+	/** Command that draws a Sprite of an Image */
+	private static final int SPRITE = 0;
+	/** Command that fills a rectangle with a Color */
+	private static final int RECT = 1;
+	/** Command that draws text in a Bitmap Font */
+	private static final int TEXT = 2;
+	
+	/** Most different Images, Colors and Fonts that can be told apart when sorting */
+	private static final int MAX_STATES = 1 << 18;
+	
+	
+	
+	/** Every command created so far, the first totalCommands are queued */
+	private ArrayList<RenderCommand> commands;
+	/** Number of commands queued since the last flush */
+	private int totalCommands;
+	/** Sort key of each queued command, with the command's index in the low bits */
+	private long[] keys;
+	
+	/** Number given to each Image, Color and Bitmap Font, so it fits in a sort key */
+	private IdentityHashMap<Object, Integer> stateIds;
+	/** Colors given a number so far, compared by RGB value since equal Colors are often separate objects */
+	private ArrayList<Color> colors;
+	
+	/** Number of commands drawn in the last flush */
+	private int lastDrawn;
+	/** Number of times the drawing state changed in the last flush */
+	private int lastStateChanges;
+	
+	
+	
+	
+	/** Creates a new, empty, Render Queue */
+	public RenderQueue()
+	{
+		this.commands = new ArrayList<RenderCommand>();
+		this.keys = new long[ 64 ];
+		this.stateIds = new IdentityHashMap<Object, Integer>();
+		this.colors = new ArrayList<Color>();
+	}
+	
+	
+	
+//==============================================================================
+//							SUBMIT
+//==============================================================================
+	
+	/**
+	 * 	Queues the given Image to be drawn at its own size with its top left
+	 * 	corner at the given position.
+	 */
+	public void submitSprite( int layer, int z, BufferedImage img, int x, int y )
+	{
+		if ( img != null )
+			this.submitSprite( layer, z, img, x, y, img.getWidth(), img.getHeight() );
+	}
+	
+	/**
+	 * 	Queues the given Image to be drawn over the given area, using its cached
+	 * 	Sprite for that size (see ImageLoader.drawSprite()).
+	 */
+	public void submitSprite( int layer, int z, BufferedImage img, int x, int y, int w, int h )
+	{
+		if ( img == null )
+			return;
+		
+		RenderCommand cmd = this.nextCommand( layer, z, SPRITE, this.getStateId( img ), x, y, w, h );
+		cmd.image = img;
+	}
+	
+	/** Queues the given area to be filled with the given Color */
+	public void submitRect( int layer, int z, int x, int y, int w, int h, Color color )
+	{
+		RenderCommand cmd = this.nextCommand( layer, z, RECT, this.getColorId( color ), x, y, w, h );
+		cmd.color = color;
+	}
+	
+	/**
+	 * 	Queues the given text to be drawn in the given Bitmap Font and Color
+	 * 	with the left of its baseline at the given position. The characters are
+	 * 	copied, so a reused buffer can be changed as soon as this returns.
+	 */
+	public void submitText( int layer, int z, BitmapFont font, CharSequence text, int x, int y, Color color )
+	{
+		// Group text by its Font first, then by Color
+		int state = (this.getStateId( font ) << 9 | this.getColorId( color ) & 0x1FF) % MAX_STATES;
+		int w = font.stringWidth( text );
+		int top = y - font.getAscent();
+		RenderCommand cmd = this.nextCommand( layer, z, TEXT, state, x, top, w, font.getHeight() );
+		cmd.font = font;
+		cmd.color = color;
+		cmd.baseline = y;
+		
+		if ( cmd.text == null || cmd.text.length < text.length() )
+			cmd.text = new char[ Math.max( 16, text.length() ) ];
+		for ( int i = 0; i < text.length(); i++ )
+			cmd.text[i] = text.charAt(i);
+		cmd.textLength = text.length();
+	}
+	
+	/**
+	 * 	Takes the next free command from the pool, sets it up and gives it a
+	 * 	sort key. Throws an IllegalArgumentException if the layer or z-order is
+	 * 	out of range, or the queue is full.
+	 */
+	private RenderCommand nextCommand( int layer, int z, int type, int state, int x, int y, int w, int h )
+	{
+		if ( layer < 0 || layer > MAX_LAYER )
+			throw new IllegalArgumentException( "Render Queue layer must be from 0 to " + MAX_LAYER + ": " + layer );
+		if ( z < MIN_Z || z > MAX_Z )
+			throw new IllegalArgumentException( "Render Queue z-order must be from " + MIN_Z + " to " + MAX_Z + ": " + z );
+		if ( this.totalCommands == MAX_COMMANDS )
+			throw new IllegalArgumentException( "Render Queue can not hold more than " + MAX_COMMANDS + " commands" );
+		
+		int index = this.totalCommands++;
+		if ( index == this.commands.size() )
+			this.commands.add( new RenderCommand() );
+		if ( index == this.keys.length )
+			this.keys = Arrays.copyOf( this.keys, this.keys.length * 2 );
+		
+		RenderCommand cmd = this.commands.get( index );
+		cmd.type = type;
+		cmd.x = x;
+		cmd.y = y;
+		cmd.w = w;
+		cmd.h = h;
+		cmd.image = null;
+		cmd.color = null;
+		cmd.font = null;
+		
+		// Layer, z-order, type and state from the highest bits down,
+		//	then the index so equal commands keep their order
+		long key = (long)layer << 56;
+		key |= (long)(z - MIN_Z) << 40;
+		key |= (long)type << 38;
+		key |= (long)state << 20;
+		key |= index;
+		this.keys[ index ] = key;
+		return	cmd;
+	}
+	
+	/** Returns the number the given Image or Bitmap Font is sorted by */
+	private int getStateId( Object state )
+	{
+		Integer id = this.stateIds.get( state );
+		if ( id == null )
+		{
+			id = this.stateIds.size() % MAX_STATES;
+			this.stateIds.put( state, id );
+		}
+		return	id;
+	}
+	
+	/** Returns the number the given Color is sorted by, the same for any equal Color */
+	private int getColorId( Color color )
+	{
+		int rgb = color.getRGB();
+		for ( int i = 0; i < this.colors.size(); i++ )
+			if ( this.colors.get(i).getRGB() == rgb )
+				return	i % MAX_STATES;
+		
+		this.colors.add( color );
+		return	(this.colors.size() - 1) % MAX_STATES;
+	}
+	
+//==============================================================================
+//							FLUSH
+//==============================================================================
+	
+	/**
+	 * 	Sorts and draws every queued command onto the given Graphics, then
+	 * 	empties the queue. The Graphics is left in the Color of the last
+	 * 	rectangle drawn.
+	 */
+	public void flush( Graphics2D g )
+	{
+		Arrays.sort( this.keys, 0, this.totalCommands );
+		
+		Rectangle clip = g.getClipBounds();
+		int left = clip == null ? Integer.MIN_VALUE : clip.x;
+		int top = clip == null ? Integer.MIN_VALUE : clip.y;
+		int right = clip == null ? Integer.MAX_VALUE : clip.x + clip.width;
+		int bottom = clip == null ? Integer.MAX_VALUE : clip.y + clip.height;
+		
+		int drawn = 0;
+		int stateChanges = 0;
+		long lastState = -1;
+		Color lastColor = null;
+		for ( int i = 0; i < this.totalCommands; i++ )
+		{
+			RenderCommand cmd = this.commands.get( (int)(this.keys[i] & (MAX_COMMANDS - 1)) );
+			
+			// Nothing to see, skip it...
+			if ( cmd.x >= right || cmd.y >= bottom || cmd.x + cmd.w <= left || cmd.y + cmd.h <= top )
+				continue;
+			
+			long state = this.keys[i] >>> 20 & 0xFFFFF;
+			if ( state != lastState )
+			{
+				lastState = state;
+				stateChanges ++;
+			}
+			
+			switch ( cmd.type )
+			{
+				case SPRITE:
+					ImageLoader.drawSprite( g, cmd.image, cmd.x, cmd.y, cmd.w, cmd.h );
+					break;
+				
+				case RECT:
+					if ( cmd.color != lastColor )
+					{
+						g.setColor( cmd.color );
+						lastColor = cmd.color;
+					}
+					g.fillRect( cmd.x, cmd.y, cmd.w, cmd.h );
+					break;
+				
+				case TEXT:
+					cmd.font.drawChars( g, cmd.text, 0, cmd.textLength, cmd.x, cmd.baseline, cmd.color );
+					break;
+			}
+			drawn ++;
+		}
+		
+		this.lastDrawn = drawn;
+		this.lastStateChanges = stateChanges;
+		this.clear();
+	}
+	
+	/** Empties the queue without drawing anything */
+	public void clear()
+	{
+		// Let go of anything the commands were drawing
+		for ( int i = 0; i < this.totalCommands; i++ )
+		{
+			RenderCommand cmd = this.commands.get(i);
+			cmd.image = null;
+			cmd.color = null;
+			cmd.font = null;
+		}
+		this.totalCommands = 0;
+	}
+	
+	/**
+	 * 	Forgets the numbers given to every Image, Color and Bitmap Font so they
+	 * 	can be let go of, for example when a Scene unloads its Images.
+	 */
+	public void clearStates()
+	{
+		this.stateIds.clear();
+		this.colors.clear();
+	}
+	
+//==============================================================================
+//							STATS
+//==============================================================================
+	
+	/** Returns the number of commands queued since the last flush */
+	public int getTotalCommands()
+	{
+		return	this.totalCommands;
+	}
+	
+	/** Returns the number of commands drawn in the last flush, after culling */
+	public int getLastDrawn()
+	{
+		return	this.lastDrawn;
+	}
+	
+	/**
+	 * 	Returns the number of times the Image, Color or Font being drawn
+	 * 	changed in the last flush.
+	 */
+	public int getLastStateChanges()
+	{
+		return	this.lastStateChanges;
+	}
+	
+//==============================================================================
+//							COMMAND
+//==============================================================================
+	
+	/** A single queued drawing command, reused from frame to frame */
+	private static class RenderCommand {
+		
+		/** What the command draws: SPRITE, RECT or TEXT */
+		private int type;
+		/** Area the command draws over */
+		private int x;
+		private int y;
+		private int w;
+		private int h;
+		
+		/** Image of a SPRITE command */
+		private BufferedImage image;
+		/** Color of a RECT or TEXT command */
+		private Color color;
+		/** Font of a TEXT command */
+		private BitmapFont font;
+		/** Characters of a TEXT command, and where their baseline is */
+		private char[] text;
+		private int textLength;
+		private int baseline;
+	
+	}
+	
+}
@@ -32,6 +32,9 @@ public abstract class Scene {
 	/** Scene Controller that this Scene belongs too */
 	private SceneController controller;
 	
+	/** True if the Scene has been loaded by its Scene Controller */
+	private boolean loaded;
+	
 	
 	
 	
@@ -104,7 +107,10 @@ public abstract class Scene {
 	 * 	Handles loading any Scene specific objects and details before the Scene 
 	 * 	is ever entered. This should be used when a Scene has a bunch of data 
 	 * 	to load suchs and images or sounds that may delay the start of the Scene 
-	 * 	when its entered.
+	 * 	when its entered. Anything that depends on the Game Context, such as 
+	 * 	the size of the Screen, should be created here rather than in the 
+	 * 	constructor since the Scene only has a context once it is added to a 
+	 * 	Scene Controller.
 	 */
 	abstract public void load();
 	
@@ -116,6 +122,18 @@ public abstract class Scene {
 	 */
 	abstract public void unload();
 	
+	/** Returns true if the Scene has been loaded and not since unloaded */
+	public boolean isLoaded()
+	{
+		return	this.loaded;
+	}
+	
+	/** Used by the Scene Controller to mark whether this Scene is loaded */
+	protected void setLoaded( boolean loaded )
+	{
+		this.loaded = loaded;
+	}
+	
 //==============================================================================
 //							ENTER/EXIT
 //==============================================================================
@@ -162,6 +180,42 @@ public abstract class Scene {
 	 */
 	abstract public void render( Graphics2D g );
 	
+	/**
+	 * 	Invoked by the Scene Controller to render this Scene with the given 
+	 * 	interpolation alpha. When the Game runs with a fixed timestep the alpha 
+	 * 	is the fraction (0 to 1) of a tick that has elapsed since the last 
+	 * 	update, which Scenes can use to draw their Game Objects part way between 
+	 * 	their previous and current positions. By default the alpha is ignored 
+	 * 	and the Scene is rendered as is.
+	 */
+	public void render( Graphics2D g, double alpha )
+	{
+		this.render( g );
+	}
+	
+	/**
+	 * 	Returns true if this Scene draws over every pixel of the screen each 
+	 * 	frame, for example with an opaque background. The Game then skips 
+	 * 	clearing the screen before rendering the Scene, since it would only be 
+	 * 	drawn over again. By default a Scene does not cover the screen.
+	 */
+	public boolean coversScreen()
+	{
+		return	false;
+	}
+	
+	/**
+	 * 	Invoked by the Scene Controller before each frame is rendered when the 
+	 * 	Game only draws the changed parts of its frames. The Scene adds every 
+	 * 	area that has changed since the last frame to the given Dirty Region, 
+	 * 	and its render() is then only drawn inside those areas. By default the 
+	 * 	whole region is made dirty, so the Scene is drawn in full.
+	 */
+	public void invalidate( DirtyRegion region )
+	{
+		region.invalidateAll();
+	}
+	
 	/**
 	 * 	Invoked by the Scene Controller whenever the game has been shutdown. 
 	 * 	This method gives the Scene a chance to handle any final details that 
@@ -187,6 +241,64 @@ public abstract class Scene {
 		return this.controller.getKeyboard();
 	}
 	
+//==============================================================================
+//							CONTEXT
+//==============================================================================
+	
+	/**
+	 * 	Returns the Game Context from the Scene's State Controller, if it has 
+	 * 	one. The context holds the Game's Time, Screen, random number generator 
+	 * 	and any objects shared between Scenes. If this Scene does not have an 
+	 * 	attached Scene Controller this method will return null.
+	 */
+	public GameContext getContext()
+	{
+		if ( this.controller == null )
+			return null;
+		
+		return this.controller.getContext();
+	}
+	
+//==============================================================================
+//							PROFILER
+//==============================================================================
+	
+	/**
+	 * 	Returns the Profiler from the Scene's State Controller, if it has one. 
+	 * 	Wrap any part of the Scene between the Profiler's begin() and end() 
+	 * 	with a name such as "GameplayScene.checkCollisions" to see how long it 
+	 * 	takes each frame. If this Scene does not have an attached Scene 
+	 * 	Controller this method will return null.
+	 */
+	public Profiler getProfiler()
+	{
+		if ( this.controller == null )
+			return null;
+		
+		return this.controller.getProfiler();
+	}
+	
+//==============================================================================
+//							RENDER QUEUE
+//==============================================================================
+	
+	/**
+	 * 	Returns the Render Queue from the Scene's State Controller, if it has 
+	 * 	one. Instead of drawing onto the Graphics in render() a Scene can 
+	 * 	submit sprites, rectangles and text to the queue with a layer and 
+	 * 	z-order, and the Game sorts and draws them all on top of the Scene once 
+	 * 	it has rendered. A Scene can also flush the queue itself part way 
+	 * 	through render() to draw more on top. If this Scene does not have an 
+	 * 	attached Scene Controller this method will return null.
+	 */
+	public RenderQueue getRenderQueue()
+	{
+		if ( this.controller == null )
+			return null;
+		
+		return this.controller.getRenderQueue();
+	}
+	
 //==============================================================================
 //							NAME
 //==============================================================================
@@ -20,7 +20,12 @@ import java.util.ArrayList;
  * 	
  */
 public class SceneController {
-
+	
+	
+	/** Never committed, used only to check if a recording wants the events */
+	private static final SceneTransitionEvent TRANSITION_EVENTS = new SceneTransitionEvent();
+	private static final SceneLoadEvent LOAD_EVENTS = new SceneLoadEvent();
+	
 	
 	
 	/** All Scenes currently added to the Controller */
@@ -30,6 +35,12 @@ public class SceneController {
 	
 	/** Keyboard device for the Game */
 	private Keyboard keyboard;
+	/** Profiler that times the phases and sections of the Game */
+	private Profiler profiler;
+	/** Queue of commands the Scenes can draw through, flushed every frame */
+	private RenderQueue renderQueue;
+	/** Time, Screen, Random and shared objects of the Game */
+	private GameContext context;
 	
 	
 	
@@ -79,6 +90,31 @@ public class SceneController {
 			this.currentScene.render( g );
 	}
 	
+	/**
+	 * 	Renders the currently active Scene to the given Graphics, if there is 
+	 * 	one, passing along the interpolation alpha from the game loop. The 
+	 * 	alpha is the fraction of a fixed tick that has elapsed since the last 
+	 * 	update, or 1 when the Game is not using a fixed timestep.
+	 */
+	public void render( Graphics2D g, double alpha )
+	{
+		if ( this.currentScene != null )
+			this.currentScene.render( g, alpha );
+	}
+	
+	/**
+	 * 	Has the currently active Scene report what has changed since the last 
+	 * 	frame to the given Dirty Region. With no Scene the whole region is 
+	 * 	made dirty.
+	 */
+	public void invalidate( DirtyRegion region )
+	{
+		if ( this.currentScene != null )
+			this.currentScene.invalidate( region );
+		else
+			region.invalidateAll();
+	}
+	
 	/**
 	 * 	Invoked whenever the game has been shutdown either from within game by 
 	 * 	the player or by closing the Game Window itself. This method will give 
@@ -99,11 +135,17 @@ public class SceneController {
 	 * 	Sets the currently active Scene to the one with the given name, if it 
 	 * 	exists in this Controller. If the given Scene does not exist or the 
 	 * 	given name is null this method will effectively remove the current 
-	 * 	Scene.
+	 * 	Scene. The new Scene is loaded first if it has not been already.
 	 */
 	public void setCurrentScene( String name )
 	{
+		// Only time the switch if a recording wants it
+		SceneTransitionEvent event = TRANSITION_EVENTS.isEnabled() ? new SceneTransitionEvent() : null;
+		if ( event != null )
+			event.begin();
+		
 		// Exit the current Scene
+		String from = this.getCurrentSceneName();
 		if ( this.currentScene != null )
 			this.currentScene.exit();
 		
@@ -111,7 +153,22 @@ public class SceneController {
 		//	if it exists...
 		this.currentScene = this.getScene( name );
 		if ( this.currentScene != null )
+		{
+			this.loadScene( this.currentScene );
 			this.currentScene.enter();
+		}
+		
+		if ( event == null )
+			return;
+		
+		event.end();
+		if ( event.shouldCommit() )
+		{
+			event.fromScene = from;
+			event.toScene = name;
+			event.found = this.currentScene != null;
+			event.commit();
+		}
 	}
 	
 	/**
@@ -138,6 +195,63 @@ public class SceneController {
 		return this.currentScene.getName();
 	}
 	
+//==============================================================================
+//							LOAD
+//==============================================================================
+	
+	/**
+	 * 	Loads the given Scene if it is not already loaded. Scenes are loaded 
+	 * 	automatically the first time they are entered, but can be loaded 
+	 * 	ahead of time so that entering them does not cause a delay.
+	 */
+	public void loadScene( Scene scene )
+	{
+		if ( scene.isLoaded() )
+			return;
+		
+		SceneLoadEvent event = LOAD_EVENTS.isEnabled() ? new SceneLoadEvent() : null;
+		if ( event != null )
+			event.begin();
+		
+		scene.load();
+		scene.setLoaded( true );
+		
+		if ( event != null )
+			this.commitLoadEvent( event, scene, SceneLoadEvent.LOAD );
+	}
+	
+	/**
+	 * 	Unloads the given Scene if it is loaded, so that it releases any data 
+	 * 	it no longer needs. The Scene will be loaded again if it is entered.
+	 */
+	public void unloadScene( Scene scene )
+	{
+		if ( !scene.isLoaded() )
+			return;
+		
+		SceneLoadEvent event = LOAD_EVENTS.isEnabled() ? new SceneLoadEvent() : null;
+		if ( event != null )
+			event.begin();
+		
+		scene.unload();
+		scene.setLoaded( false );
+		
+		if ( event != null )
+			this.commitLoadEvent( event, scene, SceneLoadEvent.UNLOAD );
+	}
+	
+	/** Fills in and commits the given Scene Load Event, if a recording still wants it */
+	private void commitLoadEvent( SceneLoadEvent event, Scene scene, String action )
+	{
+		event.end();
+		if ( event.shouldCommit() )
+		{
+			event.scene = scene.getName();
+			event.action = action;
+			event.commit();
+		}
+	}
+	
 //==============================================================================
 //							SCENES		
 //==============================================================================
@@ -225,4 +339,61 @@ public class SceneController {
 		this.keyboard = keys;
 	}
 	
+//==============================================================================
+//							CONTEXT
+//==============================================================================
+	
+	/**
+	 * 	Returns the Game Context of the Game, which holds its Time, Screen, 
+	 * 	random number generator and any shared objects stored by key-name.
+	 */
+	public GameContext getContext()
+	{
+		return	this.context;
+	}
+	
+	/** Sets the Game Context of the Game */
+	public void setContext( GameContext context )
+	{
+		this.context = context;
+	}
+	
+//==============================================================================
+//							PROFILER
+//==============================================================================
+	
+	/**
+	 * 	Returns the Profiler that times each phase of the game loop. Scenes 
+	 * 	can use it to time their own named sections.
+	 */
+	public Profiler getProfiler()
+	{
+		return	this.profiler;
+	}
+	
+	/** Sets the Profiler that times each phase of the game loop */
+	public void setProfiler( Profiler profiler )
+	{
+		this.profiler = profiler;
+	}
+	
+//==============================================================================
+//							RENDER QUEUE
+//==============================================================================
+	
+	/**
+	 * 	Returns the Render Queue that Scenes can submit their drawing commands 
+	 * 	to. The Game flushes it onto the frame after the current Scene renders.
+	 */
+	public RenderQueue getRenderQueue()
+	{
+		return	this.renderQueue;
+	}
+	
+	/** Sets the Render Queue that Scenes submit their drawing commands to */
+	public void setRenderQueue( RenderQueue queue )
+	{
+		this.renderQueue = queue;
+	}
+	
 }
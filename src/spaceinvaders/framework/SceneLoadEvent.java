@@ -0,0 +1,38 @@
+package spaceinvaders.framework;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+
+/**
+ * 	Flight Recorder event for a Scene being loaded or unloaded by the Scene
+ * 	Controller, covering the full time of the Scene's load() or unload().
+ * 	
+ */
+@Name( "spaceinvaders.SceneLoad" )
+@Label( "Scene Load" )
+@Category( { "Space Invaders", "Scenes" } )
+@Description( "Loading or unloading of a Scene's resources" )
+public class SceneLoadEvent extends Event {
+	
+	
+	/** Action recorded when a Scene is loaded */
+	public static final String LOAD = "load";
+	/** Action recorded when a Scene is unloaded */
+	public static final String UNLOAD = "unload";
+	
+	
+	
+	/** Name of the Scene */
+	@Label( "Scene" )
+	public String scene;
+	
+	/** Either LOAD or UNLOAD */
+	@Label( "Action" )
+	public String action;
+	
+}
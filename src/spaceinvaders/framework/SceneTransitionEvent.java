@@ -0,0 +1,36 @@
+package spaceinvaders.framework;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+
+/**
+ * 	Flight Recorder event for the Scene Controller switching from one Scene
+ * 	to another. The duration covers exiting the old Scene, loading the new
+ * 	Scene if it was not loaded yet, and entering it.
+ * 	
+ */
+@Name( "spaceinvaders.SceneTransition" )
+@Label( "Scene Transition" )
+@Category( { "Space Invaders", "Scenes" } )
+@Description( "Switch of the current Scene, including exit, load and enter" )
+public class SceneTransitionEvent extends Event {
+	
+	
+	/** Name of the Scene that was exited, or null if there was none */
+	@Label( "From Scene" )
+	public String fromScene;
+	
+	/** Name of the Scene that was requested */
+	@Label( "To Scene" )
+	public String toScene;
+	
+	/** True if the requested Scene was found in the Controller */
+	@Label( "Found" )
+	public boolean found;
+	
+}
@@ -3,13 +3,14 @@ package spaceinvaders.framework;
 
 
 /**
- * 	The Screen class is a static class that stores details for the Game Window's 
- * 	size AND the Game's screen, or Canvas component, that the game is drawn on 
- * 	inside the Window. This gives all Scenes and Game Objects a place to access 
- * 	the current Screen size so that they can determine when they are, or are 
- * 	not on Screen, or how big the Game's screen is in general. This class also 
- * 	contains a method that will determine if a Game Obejct is still on screen or 
- * 	not based on that's Object's Bounds.
+ * 	The Screen class stores details for the Game Window's size AND the Game's 
+ * 	screen, or Canvas component, that the game is drawn on inside the Window. 
+ * 	Each Game has its own Screen in its Game Context, which gives all Scenes 
+ * 	and Game Objects a place to access the current Screen size so that they 
+ * 	can determine when they are, or are not on Screen, or how big the Game's 
+ * 	screen is in general. This class also contains a method that will 
+ * 	determine if a Game Obejct is still on screen or not based on that's 
+ * 	Object's Bounds.
  * 	
  */
 public class Screen {
@@ -23,27 +24,41 @@ public class Screen {
 	
 	
 	/** Current width of the Game Window */
-	private static int windowWidth = DEFAULT_WIDTH;
+	private int windowWidth;
 	/** Current height of the Game Window */
-	private static int windowHeight = DEFAULT_HEIGHT;
+	private int windowHeight;
 	
 	/** Current width of the screen the Game is drawn on */
-	private static int screenWidth;
+	private int screenWidth;
 	/** Current height of the screen the Game is drawn on */
-	private static int screenHeight;
+	private int screenHeight;
 	
 	/** Bounds for the Screen used to determine when Objects are screen */
-	private static Bounds screenBounds = new Bounds( 0, 0, DEFAULT_WIDTH, DEFAULT_HEIGHT );
+	private Bounds screenBounds;
 	
 	
 	
 	
+	/** 
+	 * 	Creates a new Screen for a Game Window of the default size. The screen 
+	 * 	itself has no size until the Window, or the Game when it is running 
+	 * 	headless, sets it.
+	 */
+	public Screen()
+	{
+		this.windowWidth = DEFAULT_WIDTH;
+		this.windowHeight = DEFAULT_HEIGHT;
+		this.screenBounds = new Bounds( 0, 0, DEFAULT_WIDTH, DEFAULT_HEIGHT );
+	}
+	
+	
+	
 //==============================================================================
 //							SCREEN				
 //==============================================================================
 	
-	public static boolean isOffScreen(GameObject obj) {
-		return !screenBounds.contains(obj.getBounds());
+	public boolean isOffScreen(GameObject obj) {
+		return !this.screenBounds.contains(obj.getBounds());
 	}
 	
 	/**
@@ -52,29 +67,29 @@ public class Screen {
 	 * 	If the Bounds do not intersect then the Game Object is not shown on the 
 	 * 	game's Screen and can be dealt with accordingly.
 	 */
-	public static boolean isOnScreen( GameObject obj )
+	public boolean isOnScreen( GameObject obj )
 	{
-		return	screenBounds.intersects( obj.getBounds() );
+		return	this.screenBounds.intersects( obj.getBounds() );
 	}
 	
 	/**
 	 * 	Returns true if the given Vector coordinate would be visible on Screen. 
 	 * 	A point is on screen if it is within the Screen's Bounds.
 	 */
-	public static boolean isOnScreen( Vector point )
+	public boolean isOnScreen( Vector point )
 	{
-		return	screenBounds.contains( point );
+		return	this.screenBounds.contains( point );
 	}
 	
 	/** 
 	 * 	Used by the Game and/or Game Window to update the current size of the 
 	 * 	Screen Width so that the rest of the game can use it if necessary.
 	 */
-	protected static void setScreenSize( int w, int h )
+	protected void setScreenSize( int w, int h )
 	{
-		screenWidth = w;
-		screenHeight = h;
-		screenBounds = new Bounds( 0, 0, w, h );
+		this.screenWidth = w;
+		this.screenHeight = h;
+		this.screenBounds = new Bounds( 0, 0, w, h );
 	}
 	
 	/**
@@ -82,9 +97,9 @@ public class Screen {
 	 * 	drawn on. This can be used for Game Objects or anything controlling them 
 	 *	to figure out if an Object is currently "on screen" or not.
 	 */
-	public static int getScreenWidth()
+	public int getScreenWidth()
 	{
-		return	screenWidth;
+		return	this.screenWidth;
 	}
 	
 	/**
@@ -92,9 +107,18 @@ public class Screen {
 	 * 	drawn on. This can be used for Game Objects or anything controlling them 
 	 *	to figure out if an Object is currently "on screen" or not.
 	 */
-	public static int getScreenHeight()
+	public int getScreenHeight()
+	{
+		return	this.screenHeight;
+	}
+	
+	/**
+	 * 	Returns a copy of the Bounds of the screen the Game is drawn on, with 
+	 * 	its top-left corner at the origin.
+	 */
+	public Bounds getScreenBounds()
 	{
-		return	screenHeight;
+		return	new Bounds( 0, 0, this.screenWidth, this.screenHeight );
 	}
 	
 //==============================================================================
@@ -106,9 +130,9 @@ public class Screen {
 	 * 	game screen, the menu bar along the top of the Window, and the Window's 
 	 * 	boreder.
 	 */
-	public static int getWindowWidth()
+	public int getWindowWidth()
 	{
-		return	windowWidth;
+		return	this.windowWidth;
 	}
 	
 	/**
@@ -116,9 +140,9 @@ public class Screen {
 	 * 	game screen, the menu bar along the top of the Window, and the Window's 
 	 * 	boreder.
 	 */
-	public static int getWindowHeight()
+	public int getWindowHeight()
 	{
-		return	windowHeight;
+		return	this.windowHeight;
 	}
 	
 }
\ No newline at end of file
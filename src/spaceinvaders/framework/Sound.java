@@ -40,6 +40,15 @@ public class Sound {
 	 */
 	private static final double MAX_DECIBELS = 0;
 	
+	/** 
+	 * 	True if Sounds should be opened on the Audio System. Turned off when 
+	 * 	games are simulated without anyone to listen to them.
+	 */
+	private static volatile boolean audioEnabled = true;
+	
+	/** Never committed, used only to check if a recording wants the events */
+	private static final SoundOpenEvent OPEN_EVENTS = new SoundOpenEvent();
+	
 	
 	
 	/** Name of the Sound */
@@ -103,10 +112,36 @@ public class Sound {
 	 */
 	public void open() 
 	{
-		// Already open?
-		if ( this.isOpen() ) 
+		// Already open, or there's no audio?
+		if ( this.isOpen() || !audioEnabled ) 
 			return;
 		
+		SoundOpenEvent event = OPEN_EVENTS.isEnabled() ? new SoundOpenEvent() : null;
+		if ( event == null )
+		{
+			this.openFile();
+			return;
+		}
+		
+		event.begin();
+		this.openFile();
+		event.end();
+		if ( event.shouldCommit() )
+		{
+			event.name = this.name;
+			event.path = this.filepath;
+			event.success = this.open;
+			event.commit();
+		}
+	}
+	
+	/**
+	 * 	Handles reading the Sound's file and opening a Clip for it on the 
+	 * 	Audio System. If anything fails the error is reported and the Sound 
+	 * 	is left closed.
+	 */
+	private void openFile()
+	{
 		// Open the file
 		File file = null;
 		AudioInputStream stream = null;
@@ -127,6 +162,16 @@ public class Sound {
 			ex.printStackTrace();
 			return;
 			
+		} catch ( IllegalArgumentException ex ) {
+			
+			// No Mixer supports this Sound, such as when the system has 
+			//	no audio device at all
+			this.open = false;
+			System.out.println( 
+					"\n\t| Audio System has no Mixer that can play: " + this.name + " (" + this.filepath + ") |\n"
+				);
+			return;
+			
 		} catch( UnsupportedAudioFileException ex ) {
 			
 			// File type is not supported
@@ -593,4 +638,25 @@ public class Sound {
 		this.name = name;
 	}
 	
+//==============================================================================
+//							AUDIO
+//==============================================================================
+	
+	/**
+	 * 	Set to false to stop any Sound from being opened, so every Sound stays 
+	 * 	silent and never touches the Audio System, or true to allow Sounds to 
+	 * 	be opened again. This is meant for running games headless where there 
+	 * 	is nobody to hear them. Sounds that are already open are not affected.
+	 */
+	public static void setAudioEnabled( boolean enabled )
+	{
+		audioEnabled = enabled;
+	}
+	
+	/** Returns true if Sounds are allowed to be opened */
+	public static boolean isAudioEnabled()
+	{
+		return	audioEnabled;
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package spaceinvaders.framework;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+
+/**
+ * 	Flight Recorder event for a Sound being opened, covering reading the
+ * 	file and opening a Clip for it on the Audio System.
+ * 	
+ */
+@Name( "spaceinvaders.SoundOpen" )
+@Label( "Sound Open" )
+@Category( { "Space Invaders", "Resources" } )
+@Description( "Reading of a sound file and opening of its Clip" )
+public class SoundOpenEvent extends Event {
+	
+	
+	/** Name of the Sound, may be null */
+	@Label( "Name" )
+	public String name;
+	
+	/** Path of the sound file */
+	@Label( "Path" )
+	public String path;
+	
+	/** True if the Sound was opened */
+	@Label( "Success" )
+	public boolean success;
+	
+}
@@ -0,0 +1,271 @@
+package spaceinvaders.framework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+
+
+/**
+ * 	A Spatial Grid splits the game world into square cells so that Game
+ * 	Objects only need to be tested for collisions against the others near
+ * 	them, instead of against every other Game Object. Each frame the grid is
+ * 	cleared and every Game Object that can collide is inserted into it, along
+ * 	with a group number such as "alien" or "player laser". Then the pairs of
+ * 	Game Objects from two groups whose Bounds overlap are found with
+ * 	findPairs(), and handed to a Collision Listener one pair at a time.
+ * 	
+ * 	The grid has no edges, the cells are hashed into a fixed table of buckets
+ * 	so Game Objects anywhere in the world can be inserted. Cells that share a
+ * 	bucket only cost a few extra tests. The pairs for each Game Object of the
+ * 	first group are found in the order the Game Objects of the second group
+ * 	were inserted, so the results are always the same.
+ * 	
+ * 	Everything is kept in plain arrays that are reused from frame to frame,
+ * 	so once the grid has grown to fit a frame it never creates a single
+ * 	object.
+ * 	
+ */
+public class SpatialGrid {
+	
+	
+	/** Default size of each cell, a little larger than most Game Objects */
+	public static final double DEFAULT_CELL_SIZE = 64;
+	
+	/** Number of buckets the cells are hashed into, must be a power of two */
+	private static final int TABLE_SIZE = 256;
+	
+	
+	
+	/** Width and height of each cell */
+	private double cellSize;
+	
+	/** Every Game Object inserted since the grid was last cleared */
+	private ArrayList<GameObject> objects;
+	/** Group each inserted Game Object belongs to */
+	private int[] groups;
+	/** Cells each inserted Game Object covers, left, top, right and bottom */
+	private int[] cells;
+	
+	/** First node of each bucket, or -1 if the bucket is empty */
+	private int[] buckets;
+	/** Inserted Game Object each node refers to */
+	private int[] nodeObjects;
+	/** Next node in the same bucket, or -1 */
+	private int[] nodeNext;
+	/** Number of nodes used */
+	private int totalNodes;
+	
+	/** Last search each Game Object was found in, so it is only tested once */
+	private int[] searched;
+	/** Number of the current search */
+	private int search;
+	/** Game Objects found overlapping in the current search */
+	private int[] found;
+	
+	/** Number of pairs of Bounds tested in the last call to findPairs() */
+	private int lastTests;
+	/** Number of pairs found overlapping in the last call to findPairs() */
+	private int lastPairs;
+	
+	
+	
+	
+	/** Creates a new, empty, Spatial Grid with the default cell size */
+	public SpatialGrid()
+	{
+		this( DEFAULT_CELL_SIZE );
+	}
+	
+	/** Creates a new, empty, Spatial Grid with cells of the given size */
+	public SpatialGrid( double cellSize )
+	{
+		this.objects = new ArrayList<GameObject>();
+		this.groups = new int[ 64 ];
+		this.cells = new int[ 4 * 64 ];
+		this.buckets = new int[ TABLE_SIZE ];
+		this.nodeObjects = new int[ 128 ];
+		this.nodeNext = new int[ 128 ];
+		this.searched = new int[ 64 ];
+		this.found = new int[ 64 ];
+		this.setCellSize( cellSize );
+	}
+	
+	
+	
+//==============================================================================
+//							INSERT
+//==============================================================================
+	
+	/** Removes every Game Object from the grid, ready for the next frame */
+	public void clear()
+	{
+		this.objects.clear();
+		this.totalNodes = 0;
+		Arrays.fill( this.buckets, -1 );
+	}
+	
+	/**
+	 * 	Inserts the given Game Object into the grid as part of the given
+	 * 	group, into every cell its Bounds cover. The Game Object should not be
+	 * 	moved until the grid is cleared again.
+	 */
+	public void insert( GameObject obj, int group )
+	{
+		int index = this.objects.size();
+		if ( index == this.groups.length )
+		{
+			this.groups = Arrays.copyOf( this.groups, index * 2 );
+			this.cells = Arrays.copyOf( this.cells, index * 8 );
+			this.searched = Arrays.copyOf( this.searched, index * 2 );
+			this.found = Arrays.copyOf( this.found, index * 2 );
+		}
+		this.objects.add( obj );
+		this.groups[ index ] = group;
+		this.searched[ index ] = 0;
+		
+		Bounds bounds = obj.getBounds();
+		int left = this.toCell( bounds.getX() );
+		int top = this.toCell( bounds.getY() );
+		int right = this.toCell( bounds.getX() + bounds.getWidth() );
+		int bottom = this.toCell( bounds.getY() + bounds.getHeight() );
+		int c = index * 4;
+		this.cells[c] = left;
+		this.cells[c + 1] = top;
+		this.cells[c + 2] = right;
+		this.cells[c + 3] = bottom;
+		
+		for ( int cy = top; cy <= bottom; cy++ )
+			for ( int cx = left; cx <= right; cx++ )
+				this.addNode( bucket( cx, cy ), index );
+	}
+	
+	/** Adds a node for the given Game Object to the front of the given bucket */
+	private void addNode( int bucket, int index )
+	{
+		if ( this.totalNodes == this.nodeObjects.length )
+		{
+			this.nodeObjects = Arrays.copyOf( this.nodeObjects, this.totalNodes * 2 );
+			this.nodeNext = Arrays.copyOf( this.nodeNext, this.totalNodes * 2 );
+		}
+		
+		int node = this.totalNodes++;
+		this.nodeObjects[ node ] = index;
+		this.nodeNext[ node ] = this.buckets[ bucket ];
+		this.buckets[ bucket ] = node;
+	}
+	
+	/** Returns the cell the given coordinate falls in */
+	private int toCell( double coord )
+	{
+		return	(int)Math.floor( coord / this.cellSize );
+	}
+	
+	/** Returns the bucket the cell at the given column and row is hashed into */
+	private static int bucket( int cx, int cy )
+	{
+		return	(cx * 73856093 ^ cy * 19349663) & (TABLE_SIZE - 1);
+	}
+	
+//==============================================================================
+//							PAIRS
+//==============================================================================
+	
+	/**
+	 * 	Finds every pair of a Game Object in the first group and a Game Object
+	 * 	in the second group whose Bounds overlap, and hands each pair to the
+	 * 	given Collision Listener. Pairs are found for each Game Object of the
+	 * 	first group in the order they were inserted, and for each of those in
+	 * 	the order the Game Objects of the second group were inserted. The two
+	 * 	groups can be the same, in which case each pair is only found once.
+	 */
+	public void findPairs( int groupA, int groupB, CollisionListener listener )
+	{
+		int tests = 0;
+		int pairs = 0;
+		for ( int a = 0; a < this.objects.size(); a++ )
+		{
+			if ( this.groups[a] != groupA )
+				continue;
+			
+			// Each Game Object near this one is only tested once, even
+			//	if they share more than one cell
+			this.search ++;
+			this.searched[a] = this.search;
+			Bounds bounds = this.objects.get(a).getBounds();
+			int totalFound = 0;
+			int c = a * 4;
+			for ( int cy = this.cells[c + 1]; cy <= this.cells[c + 3]; cy++ )
+				for ( int cx = this.cells[c]; cx <= this.cells[c + 2]; cx++ )
+					for ( int node = this.buckets[ bucket( cx, cy ) ]; node != -1; node = this.nodeNext[ node ] )
+					{
+						int b = this.nodeObjects[ node ];
+						if ( this.groups[b] != groupB || this.searched[b] == this.search )
+							continue;
+						if ( groupA == groupB && b < a )
+							continue;
+						
+						this.searched[b] = this.search;
+						tests ++;
+						if ( bounds.intersects( this.objects.get(b).getBounds() ) )
+							this.found[ totalFound++ ] = b;
+					}
+			
+			// Hand over the pairs in the order they were inserted
+			Arrays.sort( this.found, 0, totalFound );
+			GameObject obj = this.objects.get(a);
+			for ( int i = 0; i < totalFound; i++ )
+				listener.collided( obj, this.objects.get( this.found[i] ) );
+			pairs += totalFound;
+		}
+		
+		this.lastTests = tests;
+		this.lastPairs = pairs;
+	}
+	
+//==============================================================================
+//							STATS
+//==============================================================================
+	
+	/** Returns the number of Game Objects inserted since the grid was last cleared */
+	public int getTotalObjects()
+	{
+		return	this.objects.size();
+	}
+	
+	/** Returns the number of pairs of Bounds tested in the last call to findPairs() */
+	public int getLastTests()
+	{
+		return	this.lastTests;
+	}
+	
+	/** Returns the number of overlapping pairs found in the last call to findPairs() */
+	public int getLastPairs()
+	{
+		return	this.lastPairs;
+	}
+	
+//==============================================================================
+//							CELL SIZE
+//==============================================================================
+	
+	/**
+	 * 	Sets the width and height of each cell and empties the grid. Cells a
+	 * 	little larger than most of the Game Objects work best. If the size is
+	 * 	not greater than 0 this throws an IllegalArgumentException.
+	 */
+	public void setCellSize( double cellSize )
+	{
+		if ( !(cellSize > 0) )
+			throw new IllegalArgumentException( "Spatial Grid cell size must be greater than 0: " + cellSize );
+		
+		this.cellSize = cellSize;
+		this.clear();
+	}
+	
+	/** Returns the width and height of each cell */
+	public double getCellSize()
+	{
+		return	this.cellSize;
+	}
+	
+}
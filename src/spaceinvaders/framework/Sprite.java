@@ -0,0 +1,142 @@
+package spaceinvaders.framework;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+
+
+/**
+ * 	A Sprite is an Image that has already been converted into the format of the
+ * 	screen and scaled to the exact size it is drawn at, so drawing it is a plain
+ * 	copy with no conversion or scaling. Sprites are created and cached by the
+ * 	Image Loader (see ImageLoader.getSprite()).
+ * 	
+ * 	When the surface a Sprite is drawn onto is accelerated, the Sprite also
+ * 	keeps a copy of itself as a Volatile Image in video memory and draws that
+ * 	instead. If the video memory copy is ever lost it is simply drawn again from
+ * 	the original Image.
+ * 	
+ */
+public class Sprite {
+	
+	
+	/** True if Sprites may keep a copy of themselves in video memory */
+	private static volatile boolean accelerationEnabled = true;
+	
+	
+	
+	/** Converted and scaled Image of the Sprite */
+	private BufferedImage image;
+	/** Copy of the Image in video memory, if the Sprite has been accelerated */
+	private VolatileImage accelerated;
+	
+	
+	
+	
+	/**
+	 * 	Creates a new Sprite for the given Image, which must already be in a
+	 * 	compatible format and the size the Sprite is drawn at.
+	 */
+	Sprite( BufferedImage image )
+	{
+		this.image = image;
+	}
+	
+	
+	
+//==============================================================================
+//							RENDER
+//==============================================================================
+	
+	/** Draws the Sprite with its top left corner at the given position */
+	public void draw( Graphics2D g, int x, int y )
+	{
+		VolatileImage vram = this.getAcceleratedImage( g.getDeviceConfiguration() );
+		if ( vram != null )
+			g.drawImage( vram, x, y, null );
+		
+		// Lost the video memory copy while drawing, or never
+		//	had one, so draw the Image itself
+		if ( vram == null || vram.contentsLost() )
+			g.drawImage( this.image, x, y, null );
+	}
+	
+	/**
+	 * 	Returns the video memory copy of the Sprite that can be drawn onto the
+	 * 	given Graphics Configuration, creating or restoring it if needed, or
+	 * 	null if the configuration is not accelerated.
+	 */
+	private VolatileImage getAcceleratedImage( GraphicsConfiguration gc )
+	{
+		if ( !accelerationEnabled || gc == null || !gc.getImageCapabilities().isAccelerated() )
+			return null;
+		
+		// Make sure there is a copy that suits the configuration
+		int status = VolatileImage.IMAGE_INCOMPATIBLE;
+		if ( this.accelerated != null )
+			status = this.accelerated.validate( gc );
+		if ( status == VolatileImage.IMAGE_INCOMPATIBLE )
+		{
+			if ( this.accelerated != null )
+				this.accelerated.flush();
+			this.accelerated = gc.createCompatibleVolatileImage( this.getWidth(), this.getHeight(), this.image.getTransparency() );
+			status = VolatileImage.IMAGE_RESTORED;
+		}
+		
+		// Copy is new or its contents were lost, draw it again
+		if ( status == VolatileImage.IMAGE_RESTORED )
+		{
+			Graphics2D vg = this.accelerated.createGraphics();
+			vg.setComposite( AlphaComposite.Src );
+			vg.drawImage( this.image, 0, 0, null );
+			vg.dispose();
+		}
+		return	this.accelerated;
+	}
+	
+//==============================================================================
+//							IMAGE
+//==============================================================================
+	
+	/** Returns the converted and scaled Image of the Sprite */
+	public BufferedImage getImage()
+	{
+		return	this.image;
+	}
+	
+	/** Returns the width of the Sprite in pixels */
+	public int getWidth()
+	{
+		return	this.image.getWidth();
+	}
+	
+	/** Returns the height of the Sprite in pixels */
+	public int getHeight()
+	{
+		return	this.image.getHeight();
+	}
+	
+//==============================================================================
+//							ACCELERATION
+//==============================================================================
+	
+	/** Returns true if Sprites may keep a copy of themselves in video memory */
+	public static boolean isAccelerationEnabled()
+	{
+		return	accelerationEnabled;
+	}
+	
+	/**
+	 * 	Set to true to let Sprites keep a copy of themselves in video memory
+	 * 	when drawn onto an accelerated surface, or false to always draw the
+	 * 	Sprite's Image.
+	 */
+	public static void setAccelerationEnabled( boolean enabled )
+	{
+		accelerationEnabled = enabled;
+	}
+	
+}
@@ -0,0 +1,105 @@
+package spaceinvaders.framework;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+
+
+/**
+ * 	A small reusable buffer of characters used by the debug overlays to build
+ * 	up lines of text each frame without creating new Strings. Text, whole
+ * 	numbers and times are appended to the buffer, which is then drawn straight
+ * 	from its characters.
+ * 	
+ */
+class TextBuffer {
+	
+	
+	/** Characters in the buffer */
+	private char[] text;
+	/** Number of characters currently in the buffer */
+	private int length;
+	
+	
+	
+	
+	/** Creates a new Text Buffer that can hold the given number of characters */
+	TextBuffer( int capacity )
+	{
+		this.text = new char[ capacity ];
+	}
+	
+	
+	
+//==============================================================================
+//							APPEND
+//==============================================================================
+	
+	/** Empties the buffer */
+	TextBuffer clear()
+	{
+		this.length = 0;
+		return	this;
+	}
+	
+	/** Appends the given text, or as much of it as fits, to the buffer */
+	TextBuffer append( String s )
+	{
+		int n = Math.min( s.length(), this.text.length - this.length );
+		s.getChars( 0, n, this.text, this.length );
+		this.length += n;
+		return	this;
+	}
+	
+	/** Appends the given whole number to the buffer, negatives are shown as zero */
+	TextBuffer append( int value )
+	{
+		if ( value < 0 )
+			value = 0;
+		
+		// Count the digits, then write them backwards
+		int digits = 1;
+		for ( int v = value / 10; v > 0; v /= 10 )
+			digits ++;
+		if ( this.length + digits > this.text.length )
+			return this;
+		
+		for ( int i = this.length + digits - 1; i >= this.length; i-- )
+		{
+			this.text[i] = (char)( '0' + value % 10 );
+			value /= 10;
+		}
+		this.length += digits;
+		return	this;
+	}
+	
+	/**
+	 * 	Appends the given time in seconds to the buffer as milliseconds with
+	 * 	two decimal places.
+	 */
+	TextBuffer appendMillis( double secs )
+	{
+		int hundredths = (int)Math.round( secs * 100000 );
+		this.append( hundredths / 100 ).append( "." );
+		if ( hundredths % 100 < 10 )
+			this.append( "0" );
+		return	this.append( hundredths % 100 ).append( "ms" );
+	}
+	
+//==============================================================================
+//							RENDER
+//==============================================================================
+	
+	/** Draws the text in the buffer with its baseline at the given position */
+	void render( Graphics2D g, int x, int y )
+	{
+		g.drawChars( this.text, 0, this.length, x, y );
+	}
+	
+	/** Draws the text in the buffer in the given Bitmap Font with its baseline at the given position */
+	void render( Graphics2D g, BitmapFont font, int x, int y, Color color )
+	{
+		font.drawChars( g, this.text, 0, this.length, x, y, color );
+	}
+	
+}
@@ -6,13 +6,9 @@ package spaceinvaders.framework;
  * 	The Time class manages the game's clock timing and frame rate calculations 
  * 	and allows Game Obejcts that need to know how long the game has been running.
  * 	
- * 	SINGLETON PATTERN:
- * 	- This class is what is called a SINGLETON object. Meaning... 
- * 		(1) only one instance of the class is allowed to be created at a time, and 
- * 		(2) the only way to get access to this instance is to call the static 
- * 			method getInstance() which ensures no matter what Game Object or Scene 
- * 			accesses the Time instance they will always be using the exact same 
- * 			one.
+ * 	Each Game owns its own Time in its Game Context, and every Scene and Game 
+ * 	Object in that Game reaches it through the context, so several Games can 
+ * 	keep their own clocks side by side in the same JVM.
  * 	
  */
 public class Time {
@@ -36,42 +32,38 @@ public class Time {
 	/** Total number of frames that have completed in the game */
 	private long totalFrames;
 	
+	/** Amount of time in seconds the game loop overslept at the end of the last frame */
+	private double oversleep;
+	/** Total oversleep in seconds during the current second of time */
+	private double oversleepSum;
+	/** Largest oversleep in seconds during the current second of time */
+	private double oversleepPeak;
+	/** Average oversleep in seconds over the most recent second of time */
+	private double averageOversleep;
+	/** Largest oversleep in seconds over the most recent second of time */
+	private double maxOversleep;
+	
+	/** Frame times of the most recent frames */
+	private FrameTimeHistogram frameTimes;
+	
 	/** True if the Time has been initialized */
 	private boolean initialized;
 	
 	
-	/** Current instance of the Time */
-	private static Time instance;
-	
 	
 	
 	/** 
-	 * 	Private constructor to setup a singleton, which prevents new instances 
-	 * 	of the Time to be created.
+	 * 	Creates a new Time for a Game. The Time does not start tracking the 
+	 * 	game's clock until the Game initializes it at the start of the game 
+	 * 	loop.
 	 */
-	private Time()
+	public Time()
 	{
-		
+		this.frameTimes = new FrameTimeHistogram();
 	}
 	
 	
 	
-//==============================================================================
-//							SINGLETON
-//==============================================================================
-	
-	/**
-	 * 	Returns the current instance of the Time system for the game. This 
-	 * 	ensures that all areas of the game engine have access to the same Time 
-	 * 	object to pull accurate time and frame data about the game.
-	 */
-	public static Time getInstance()
-	{
-		if ( instance == null )
-			instance = new Time();
-		return instance;
-	}
-	
 //==============================================================================
 //							INITIALIZE
 //==============================================================================
@@ -89,6 +81,12 @@ public class Time {
 		this.frameCount = 0;
 		this.frameRate = 0;
 		this.fpsTimer = 0L;
+		this.oversleep = 0;
+		this.oversleepSum = 0;
+		this.oversleepPeak = 0;
+		this.averageOversleep = 0;
+		this.maxOversleep = 0;
+		this.frameTimes.clear();
 		this.initialized = true;
 	}
 	
@@ -123,7 +121,33 @@ public class Time {
 		double frameTimeNS = currentFrameNS - lastFrameNS;
 		double frameTimeSecs = (double)( frameTimeNS / 1.0e9 );
 		this.lastFrameNS = currentFrameNS;
+		this.advance( frameTimeSecs );
+	}
+	
+	/**
+	 * 	Advances the Time by the given number of seconds instead of measuring 
+	 * 	the system clock. This is used when the game is simulated without a 
+	 * 	Game Window where each frame represents a fixed amount of game time no 
+	 * 	matter how quickly it was actually computed. The Time must first be 
+	 * 	initialized before this method will update anything.
+	 */
+	public void step( double frameTimeSecs )
+	{
+		// Not initialized then bail
+		if ( !this.isInitialzed() )
+			return;
+		
+		this.advance( frameTimeSecs );
+	}
+	
+	/**
+	 * 	Updates the frame and time data for the Time system of the game with 
+	 * 	the given elapsed time of the current frame.
+	 */
+	private void advance( double frameTimeSecs )
+	{
 		this.frameTime = frameTimeSecs;
+		this.frameTimes.record( frameTimeSecs );
 		
 		// Update the total and frame times
 		this.totalTime += frameTimeSecs;
@@ -135,12 +159,35 @@ public class Time {
 		if ( this.fpsTimer >= 1 )
 		{
 			// Second has elapsed, update the current frame rate
+			//	and the oversleep statistics
 			this.fpsTimer -= 1;
 			this.frameRate = this.frameCount;
+			this.averageOversleep = this.oversleepSum / this.frameCount;
+			this.maxOversleep = this.oversleepPeak;
 			this.frameCount = 0;
+			this.oversleepSum = 0;
+			this.oversleepPeak = 0;
 		}
 	}
 	
+	/**
+	 * 	Records the amount of time in nano-seconds that the game loop overslept 
+	 * 	past its deadline while waiting for the next frame. This is used by the 
+	 * 	Game after pacing each frame so that the accuracy of the frame pacing 
+	 * 	can be monitored.
+	 */
+	protected void recordOversleep( long oversleepNS )
+	{
+		// Not initialized then bail
+		if ( !this.isInitialzed() )
+			return;
+		
+		this.oversleep = oversleepNS / 1.0e9;
+		this.oversleepSum += this.oversleep;
+		if ( this.oversleep > this.oversleepPeak )
+			this.oversleepPeak = this.oversleep;
+	}
+	
 //==============================================================================
 //							FRAME RATE
 //==============================================================================
@@ -171,6 +218,59 @@ public class Time {
 		return this.frameRate;
 	}
 	
+	/**
+	 * 	Returns the histogram of the frame times of the most recent frames. 
+	 * 	This can be used to find the median, 95th and 99th percentile and 
+	 * 	longest frame times, which show hitches that the frame rate hides.
+	 */
+	public FrameTimeHistogram getFrameTimeHistogram()
+	{
+		return	this.frameTimes;
+	}
+	
+//==============================================================================
+//							OVERSLEEP
+//==============================================================================
+	
+	/**
+	 * 	Returns the time in seconds that the game loop overslept past the start 
+	 * 	of the current frame while waiting for it. If the Time has not yet been 
+	 * 	initialized this method returns -1.
+	 */
+	public double getOversleep()
+	{
+		if ( !this.isInitialzed() )
+			return -1;
+		
+		return	this.oversleep;
+	}
+	
+	/**
+	 * 	Returns the average time in seconds that the game loop overslept each 
+	 * 	frame during the most recent second of time. If the Time has not yet 
+	 * 	been initialized this method returns -1.
+	 */
+	public double getAverageOversleep()
+	{
+		if ( !this.isInitialzed() )
+			return -1;
+		
+		return	this.averageOversleep;
+	}
+	
+	/**
+	 * 	Returns the largest time in seconds that the game loop overslept on a 
+	 * 	single frame during the most recent second of time. If the Time has not 
+	 * 	yet been initialized this method returns -1.
+	 */
+	public double getMaxOversleep()
+	{
+		if ( !this.isInitialzed() )
+			return -1;
+		
+		return	this.maxOversleep;
+	}
+	
 //==============================================================================
 //							TIME
 //==============================================================================
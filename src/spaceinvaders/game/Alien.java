@@ -2,10 +2,15 @@ package spaceinvaders.game;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
-import spaceinvaders.framework.Animation;
+import spaceinvaders.framework.AnimationClock;
+import spaceinvaders.framework.AnimationPlayer;
+import spaceinvaders.framework.CollisionMask;
+import spaceinvaders.framework.DirtyRegion;
 import spaceinvaders.framework.GameObject;
+import spaceinvaders.framework.ImageLoader;
 import spaceinvaders.framework.Screen;
 
 
@@ -17,8 +22,10 @@ import spaceinvaders.framework.Screen;
 public class Alien extends GameObject {
 
 	
-	/** Animation for the Alien */
-	private Animation animation;
+	/** Animation Player for the Alien */
+	private AnimationPlayer animation;
+	/** Animation Clock the Alien shares with the rest of its Wave */
+	private AnimationClock clock;
 	
 	/** All active Lasers shot by this Alien */
 	private ArrayList<Laser> lasers = new ArrayList<Laser>();
@@ -28,13 +35,20 @@ public class Alien extends GameObject {
 	/** True if this Alien is still alive */
 	private boolean alive;
 	
+	/** Screen the Alien's Lasers are removed after leaving */
+	private Screen screen;
 	
 	
-	/** Creates a new Alien with the given name */
-	public Alien( String name )
+	
+	/** 
+	 * 	Creates a new Alien with the given name, whose Lasers are removed once 
+	 * 	they leave the given Screen. 
+	 */
+	public Alien( String name, Screen screen )
 	{
 		super( name );
 		
+		this.screen = screen;
 		this.laserColor = new Color(255, 255, 255);
 		this.lasers = new ArrayList<Laser>();
 		this.alive = true;
@@ -46,12 +60,23 @@ public class Alien extends GameObject {
 //							ANIMATIONS		
 //==============================================================================
 	
-	/** Sets the Animation used to animate this Alien on screen */
-	public void setAnimation( Animation anim )
+	/** Sets the Animation Player used to animate this Alien on screen */
+	public void setAnimation( AnimationPlayer anim )
 	{
 		this.animation = anim;
 	}
 	
+	/**
+	 * 	Sets the Animation Clock this Alien shares with the other Aliens of 
+	 * 	its type. The Alien only reads its current frame from the clock, it is 
+	 * 	up to the Alien's Wave to update the clock each frame. A clock takes 
+	 * 	the place of the Alien's own Animation Player.
+	 */
+	public void setAnimationClock( AnimationClock clock )
+	{
+		this.clock = clock;
+	}
+	
 //==============================================================================
 //							LASERS		
 //==============================================================================
@@ -99,6 +124,48 @@ public class Alien extends GameObject {
 		this.alive = alive;
 	}
 	
+//==============================================================================
+//							COLLISION		
+//==============================================================================
+	
+	/** 
+	 * 	Returns the Collision Mask of the Alien's current Animation frame at 
+	 * 	the size it is drawn, or null if the Alien has no Animation. 
+	 */
+	public CollisionMask getCollisionMask()
+	{
+		BufferedImage frame = null;
+		if ( this.clock != null )
+			frame = this.clock.getCurrentFrame();
+		else if ( this.animation != null )
+			frame = this.animation.getCurrentFrame();
+		
+		return	ImageLoader.getCollisionMask( frame, (int)this.getWidth(), (int)this.getHeight() );
+	}
+	
+	/**
+	 * 	Returns true if the given Laser touched a solid pixel of the Alien's 
+	 * 	current Animation frame anywhere along the way it moved in its last 
+	 * 	update. The transparent corners of the frame don't count. This should 
+	 * 	only be asked once the Laser's path is known to cross the Alien's 
+	 * 	Bounds, and without an Animation that is all there is to test.
+	 */
+	public boolean isHitBy( Laser laser )
+	{
+		CollisionMask mask = this.getCollisionMask();
+		if ( mask == null )
+			return true;
+		
+		// Area the Laser covered from where it was to where it is
+		double fromX = laser.getPreviousX();
+		double fromY = laser.getPreviousY();
+		int left = (int)Math.floor( Math.min( fromX, laser.getX() ) );
+		int top = (int)Math.floor( Math.min( fromY, laser.getY() ) );
+		int right = (int)Math.ceil( Math.max( fromX, laser.getX() ) + laser.getWidth() );
+		int bottom = (int)Math.ceil( Math.max( fromY, laser.getY() ) + laser.getHeight() );
+		return	mask.overlaps( (int)this.getX(), (int)this.getY(), left, top, right, bottom );
+	}
+	
 //==============================================================================
 //							UPDATE		
 //==============================================================================
@@ -106,8 +173,9 @@ public class Alien extends GameObject {
 	/** Updates this Alien's Animations and any active Lasers it may have fired */
 	@Override public void update( double secsPerFrame )
 	{
-		// Update Animations if the Alien is alive...
-		if ( this.isAlive() && this.animation != null )
+		// Update Animations if the Alien is alive and not 
+		//	sharing its Wave's Animation Clock...
+		if ( this.isAlive() && this.clock == null && this.animation != null )
 			this.animation.update( secsPerFrame );
 		
 		
@@ -129,7 +197,7 @@ public class Alien extends GameObject {
 			Laser laser = this.lasers.get(i);
 			laser.update( secsPerFrame );
 			
-			if ( Screen.isOffScreen( laser ) || !laser.isActive() )
+			if ( this.screen.isOffScreen( laser ) || !laser.isActive() )
 				this.lasers.remove(i);
 			else
 				i ++;
@@ -141,15 +209,21 @@ public class Alien extends GameObject {
 //==============================================================================
 	
 	/**
-	 *	Renders the Alien's Animations and Lasers. If the Alien is dead then 
-	 *	only the Alien's remaining lasers it fired prior will be rendered.
+	 *	Renders the Alien's Animations if it is still alive. The Lasers the 
+	 *	Alien fired are not drawn here, they are all drawn together by the 
+	 *	Laser Renderer (see AlienWave.addLasers()).
 	 */
 	@Override public void render( Graphics2D g )
 	{
-		if ( this.isAlive() && this.animation != null )
+		if ( this.isAlive() && ( this.clock != null || this.animation != null ) )
 			this.renderAnimation( g );
-		
-		this.renderLasers( g );
+	}
+	
+	/** Reports the area of the Alien's Animation, if it is still drawn */
+	@Override public void invalidate( DirtyRegion region )
+	{
+		if ( this.isAlive() && ( this.clock != null || this.animation != null ) )
+			super.invalidate( region );
 	}
 	
 	/** Renders the current image frame of the Alien's Animation to the screen */
@@ -162,14 +236,10 @@ public class Alien extends GameObject {
 		int h = (int)this.getHeight();
 		
 		// Draw the current animation frame
-		g.drawImage( this.animation.getCurrentFrame(), x, y, w, h, null );
-	}
-	
-	/** Renders all remaining active Lasers the Alien fired */
-	private void renderLasers( Graphics2D g )
-	{
-		for ( Laser laser : this.lasers )
-			laser.render( g );
+		if ( this.clock != null )
+			ImageLoader.drawSprite( g, this.clock.getCurrentFrame(), x, y, w, h );
+		else
+			ImageLoader.drawSprite( g, this.animation.getCurrentFrame(), x, y, w, h );
 	}
 	
 }
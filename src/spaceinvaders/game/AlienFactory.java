@@ -3,7 +3,9 @@ package spaceinvaders.game;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
-import spaceinvaders.framework.Animation;
+import spaceinvaders.framework.AnimationClip;
+import spaceinvaders.framework.AnimationClock;
+import spaceinvaders.framework.GameContext;
 import spaceinvaders.framework.ImageLoader;
 
 
@@ -39,6 +41,9 @@ public class AlienFactory {
 	/** Directory of which all Alien Images are stored */
 	private static final String DIRECTORY = "res/images/aliens/";
 	
+	/** Amount of time in seconds each frame of an Alien's Animation is shown */
+	private static final double FRAME_DURATION = 0.7;
+	
 	
 	
 	/** First Image for the Crab Alien */
@@ -59,15 +64,35 @@ public class AlienFactory {
 	/** Image for the Alien UFO */
 	private BufferedImage ufoImg;
 	
+	/** Animation Clip shared by every Crab Alien */
+	private AnimationClip crabClip;
+	/** Animation Clip shared by every Octopus Alien */
+	private AnimationClip octopusClip;
+	/** Animation Clip shared by every Squid Alien */
+	private AnimationClip squidClip;
+	
+	/** Game Context the Aliens and Waves are created for */
+	private GameContext context;
+	
+	/** Shortest time in seconds between attacks for the Waves created */
+	private double minAttackDelay;
+	/** Longest time in seconds between attacks for the Waves created */
+	private double maxAttackDelay;
+	
 	
 	
 	
 	/**
 	 * 	Creates the Alien Factory which will load all necessary files for 
-	 * 	creating different Aliens in the game.
+	 * 	creating different Aliens in the game. The Aliens and Waves it creates 
+	 * 	use the Screen and random number generator of the given Game Context.
 	 */
-	public AlienFactory()
+	public AlienFactory( GameContext context )
 	{
+		this.context = context;
+		this.minAttackDelay = BasicAlienAttackStrategy.DEFAULT_MIN_ATTACK_DELAY;
+		this.maxAttackDelay = BasicAlienAttackStrategy.DEFAULT_MAX_ATTACK_DELAY;
+		
 		this.crabImg1 = ImageLoader.loadImage( DIRECTORY, CRAB1 );
 		this.crabImg2 = ImageLoader.loadImage( DIRECTORY, CRAB2 );
 		
@@ -78,6 +103,10 @@ public class AlienFactory {
 		this.squidImg2 = ImageLoader.loadImage( DIRECTORY, SQUID2 );
 		
 		this.ufoImg = ImageLoader.loadImage( DIRECTORY, UFO );
+		
+		this.crabClip = new AnimationClip( AnimationClip.LOOP_MODE, FRAME_DURATION, this.crabImg1, this.crabImg2 );
+		this.octopusClip = new AnimationClip( AnimationClip.LOOP_MODE, FRAME_DURATION, this.octopusImg1, this.octopusImg2 );
+		this.squidClip = new AnimationClip( AnimationClip.LOOP_MODE, FRAME_DURATION, this.squidImg1, this.squidImg2 );
 	}
 	
 	
@@ -86,6 +115,21 @@ public class AlienFactory {
 //								WAVES		
 //==============================================================================
 	
+	/**
+	 * 	Sets the shortest and longest amount of time in seconds between Alien 
+	 * 	attacks for all Waves created after this. If either delay is negative, 
+	 * 	or the minimum is greater than the maximum, this throws an 
+	 * 	IllegalArgumentException.
+	 */
+	public void setAttackDelay( double min, double max )
+	{
+		if ( min < 0 || max < min )
+			throw new IllegalArgumentException( "Attack delays must be positive and the minimum no greater than the maximum: " + min + ", " + max );
+		
+		this.minAttackDelay = min;
+		this.maxAttackDelay = max;
+	}
+	
 	/**
 	 * 	Creates and returns ALL of the Alien Waves for each level of the game. 
 	 * 	This method will load all Aliens into each Wave and set the Deployment 
@@ -108,24 +152,34 @@ public class AlienFactory {
 		int aliensPerRow = 11;
 		AlienWave wave = this.createWave( aliensPerRow * 2, aliensPerRow * 2, aliensPerRow );
 		wave.setDeploymentStrategy( new BasicAlienDeploymentStrategy( aliensPerRow ) );
-		wave.setAttackStrategy( new BasicAlienAttackStrategy() );
+		BasicAlienAttackStrategy attack = new BasicAlienAttackStrategy( this.context.getRandom() );
+		attack.setAttackDelay( this.minAttackDelay, this.maxAttackDelay );
+		wave.setAttackStrategy( attack );
 		return wave;
 	}
 	
 	/**
 	 * 	Creates a new Alien Wave and loads the given number of Octupus, Crab 
-	 * 	and Squid Aliens to the Wave, in that order.
+	 * 	and Squid Aliens to the Wave, in that order. All Aliens of the same type 
+	 * 	share one Animation Clock that the Wave updates.
 	 */
 	private AlienWave createWave( int octopuses, int crabs, int squids )
 	{
-		AlienWave wave = new AlienWave();
+		AlienWave wave = new AlienWave( this.context.getScreen().getScreenBounds() );
+		
+		AnimationClock octopusClock = new AnimationClock( this.octopusClip );
+		AnimationClock crabClock = new AnimationClock( this.crabClip );
+		AnimationClock squidClock = new AnimationClock( this.squidClip );
+		wave.addAnimationClock( octopusClock );
+		wave.addAnimationClock( crabClock );
+		wave.addAnimationClock( squidClock );
 		
 		for ( int i = 0; i < octopuses; i++ )
-			wave.addAlien( this.createOctopus() );
+			wave.addAlien( this.createOctopus( octopusClock ) );
 		for ( int i = 0; i < octopuses; i++ )
-			wave.addAlien( this.createCrab() );
+			wave.addAlien( this.createCrab( crabClock ) );
 		for ( int i = 0; i < octopuses; i++ )
-			wave.addAlien( this.createSquid() );
+			wave.addAlien( this.createSquid( squidClock ) );
 		
 		return wave;
 	}
@@ -134,39 +188,27 @@ public class AlienFactory {
 //								ALIENS		
 //==============================================================================
 	
-	/** Handles creating a new Alien Crab and setting up its Animation */
-	private Alien createCrab()
+	/** Handles creating a new Alien Crab animated by the given shared clock */
+	private Alien createCrab( AnimationClock clock )
 	{
-		Animation crabAnimation = new Animation( 0.7 );
-		crabAnimation.addFrame( this.crabImg1 );
-		crabAnimation.addFrame( this.crabImg2 );
-		
-		Alien crab = new Alien( "Crab" );
-		crab.setAnimation( crabAnimation );
+		Alien crab = new Alien( "Crab", this.context.getScreen() );
+		crab.setAnimationClock( clock );
 		return crab;
 	}
 	
-	/** Handles creating a new Alien Octopus and setting up its Animation */
-	private Alien createOctopus()
+	/** Handles creating a new Alien Octopus animated by the given shared clock */
+	private Alien createOctopus( AnimationClock clock )
 	{
-		Animation octoAnimation = new Animation( 0.7 );
-		octoAnimation.addFrame( this.octopusImg1 );
-		octoAnimation.addFrame( this.octopusImg2 );
-		
-		Alien octopus = new Alien( "Octopus" );
-		octopus.setAnimation( octoAnimation );
+		Alien octopus = new Alien( "Octopus", this.context.getScreen() );
+		octopus.setAnimationClock( clock );
 		return octopus;
 	}
 	
-	/** Handles creating a new Alien Squid and setting up its Animation */
-	private Alien createSquid()
+	/** Handles creating a new Alien Squid animated by the given shared clock */
+	private Alien createSquid( AnimationClock clock )
 	{
-		Animation squidAnimation = new Animation( 0.7 );
-		squidAnimation.addFrame( this.squidImg1 );
-		squidAnimation.addFrame( this.squidImg2 );
-		
-		Alien squid = new Alien( "Squid" );
-		squid.setAnimation( squidAnimation );
+		Alien squid = new Alien( "Squid", this.context.getScreen() );
+		squid.setAnimationClock( clock );
 		return squid;
 	}
 	
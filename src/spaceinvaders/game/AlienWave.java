@@ -3,8 +3,12 @@ package spaceinvaders.game;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 
+import spaceinvaders.framework.AnimationClock;
 import spaceinvaders.framework.Bounds;
-import spaceinvaders.framework.Screen;
+import spaceinvaders.framework.CollisionListener;
+import spaceinvaders.framework.DirtyRegion;
+import spaceinvaders.framework.GameObject;
+import spaceinvaders.framework.Vector;
 
 
 
@@ -45,22 +49,43 @@ public class AlienWave {
 	private ArrayList<Alien> aliens;
 	/** All Aliens in the Wave in their attack formation */
 	private Alien[][] formation;
+	/** Animation Clocks shared by the Aliens of each type in the Wave */
+	private ArrayList<AnimationClock> clocks;
 	
 	/** Strategy that determines how Aliens are deployed and in what positions */
 	private AlienDeploymentStrategy deploymentStrat;
 	/** Strategy that determines how Aliens move and attack */
 	private AlienAttackStrategy attackStrat;
 	
+	/** Position of the first Alien in each row of the formation, as of the last update */
+	private double[] rowX;
+	private double[] rowY;
+	/** Distance between the Aliens in each row of the formation */
+	private double[] rowSpacing;
+	/** Size of the Aliens in each row of the formation */
+	private double[] rowWidth;
+	private double[] rowHeight;
+	/** Living Aliens that are not where their row of the formation puts them */
+	private ArrayList<Alien> strays;
+	/** True for each place in the formation whose Alien is one of the strays */
+	private boolean[][] strayPlaces;
+	/** Living Aliens found by the last hit query, reused each query */
+	private ArrayList<Alien> hits;
+	
 	
 	
 	
 	/**
-	 *	Creates a new, empty, Alien Wave.
+	 *	Creates a new, empty, Alien Wave restricted to the given area, usually 
+	 *	the Bounds of the whole Screen.
 	 */
-	public AlienWave()
+	public AlienWave( Bounds area )
 	{
 		this.aliens = new ArrayList<Alien>();
-		this.area = new Bounds( 0, 0, Screen.getScreenWidth(), Screen.getScreenHeight() );
+		this.clocks = new ArrayList<AnimationClock>();
+		this.strays = new ArrayList<Alien>();
+		this.hits = new ArrayList<Alien>();
+		this.setAreaBounds( area );
 		this.phase = INVALID_PHASE;
 	}
 	
@@ -164,6 +189,10 @@ public class AlienWave {
 		// Start the deployment and store the formation it creates
 		this.formation = this.deploymentStrat.startDeployment( this );
 		this.phase = DEPLOY_PHASE;
+		this.indexFormation();
+		
+		for ( int i = 0; i < this.clocks.size(); i++ )
+			this.clocks.get(i).reset();
 	}
 	
 //==============================================================================
@@ -182,6 +211,10 @@ public class AlienWave {
 			return;	
 		}
 		
+		// Remember where every Alien was before the strategies
+		//	move them, so they can be drawn part way between
+		this.saveAlienPositions();
+		
 		// Update the current strategy
 		if ( this.phase == DEPLOY_PHASE )
 			this.updateDeployment( secsPerFrame );
@@ -190,6 +223,7 @@ public class AlienWave {
 		
 		// Update all active Aliens
 		this.updateAliens( secsPerFrame );
+		this.indexFormation();
 	}
 	
 	/**
@@ -221,13 +255,32 @@ public class AlienWave {
 		this.attackStrat.update( secsPerFrame );
 	}
 	
-	/** Updates all Aliens that are still alive in the Wave */
+	/** Saves the position of every Alien in formation before they are moved this tick */
+	private void saveAlienPositions()
+	{
+		if ( this.formation == null )
+			return;
+		
+		for ( int r = 0; r < this.formation.length; r++ )
+			for ( int c = 0; c < this.formation[r].length; c++ )
+				if ( this.formation[r][c] != null )
+					this.formation[r][c].savePosition();
+	}
+	
+	/** 
+	 * 	Updates all Aliens that are still alive in the Wave. The shared 
+	 * 	Animation Clocks are updated first, once each, so every Alien of a 
+	 * 	type shows the same frame without updating its own Animation.
+	 */
 	private void updateAliens( double secsPerFrame )
 	{
 		// No formation of Aliens yet, then nothing to update
 		if ( this.formation == null )
 			return;
 		
+		for ( int i = 0; i < this.clocks.size(); i++ )
+			this.clocks.get(i).update( secsPerFrame );
+		
 		// Update all Aliens that are still in formation
 		for ( int r = 0; r < this.formation.length; r++ )
 			for ( int c = 0; c < this.formation[r].length; c++ )
@@ -244,6 +297,15 @@ public class AlienWave {
 	
 	/** Render all active Aliens in the Wave */
 	public void render( Graphics2D g )
+	{
+		this.render( g, 1 );
+	}
+	
+	/**
+	 * 	Render all active Aliens in the Wave, each the given fraction (0 to 1) 
+	 * 	of the way from where it was before the last tick to where it is now.
+	 */
+	public void render( Graphics2D g, double alpha )
 	{
 		// No foramtion yet, then nothing to render
 		if ( (this.formation == null) || this.isDefeated() ) {
@@ -256,10 +318,292 @@ public class AlienWave {
 			{
 				Alien alien = this.formation[r][c];
 				if ( alien != null )
-					alien.render( g );
+					alien.render( g, alpha );
+			}
+	}
+	
+	/**
+	 * 	Reports the area of every Alien in formation and every Laser they 
+	 * 	fired to the given Dirty Region, the same ones that render() and 
+	 * 	addLasers() draw.
+	 */
+	public void invalidate( DirtyRegion region )
+	{
+		if ( (this.formation == null) || this.isDefeated() )
+			return;
+		
+		for ( int r = 0; r < this.formation.length; r++ )
+			for ( int c = 0; c < this.formation[r].length; c++ )
+			{
+				Alien alien = this.formation[r][c];
+				if ( alien == null )
+					continue;
+				
+				alien.invalidate( region );
+				ArrayList<Laser> lasers = alien.getAllActiveLasers();
+				for ( int i = 0; i < lasers.size(); i++ )
+					lasers.get(i).invalidate( region );
+			}
+	}
+	
+	/**
+	 * 	Adds the remaining active Lasers fired by every Alien in formation, 
+	 * 	alive or dead, to the given Laser Renderer to be drawn this frame.
+	 */
+	public void addLasers( LaserRenderer renderer )
+	{
+		// No foramtion yet, then nothing to render
+		if ( (this.formation == null) || this.isDefeated() )
+			return;
+		
+		for ( int r = 0; r < this.formation.length; r++ )
+			for ( int c = 0; c < this.formation[r].length; c++ )
+			{
+				Alien alien = this.formation[r][c];
+				if ( alien != null )
+					renderer.addAll( alien.getAllActiveLasers() );
 			}
 	}
 	
+//==============================================================================
+//							HIT TESTING	
+//==============================================================================
+	
+	/**
+	 * 	Works out where each row of the formation is from its first Alien, so 
+	 * 	the hit queries can go straight to the Aliens at a position instead of 
+	 * 	looking through all of them. Every row moves as one, so the rest of the 
+	 * 	row is evenly spaced out from its first Alien. Any living Alien that is 
+	 * 	not where its row puts it has left the formation and is kept aside to 
+	 * 	be checked on its own.
+	 */
+	private void indexFormation()
+	{
+		this.strays.clear();
+		if ( this.formation == null )
+			return;
+		
+		int rows = this.formation.length;
+		if ( this.rowX == null || this.rowX.length != rows )
+		{
+			this.rowX = new double[ rows ];
+			this.rowY = new double[ rows ];
+			this.rowSpacing = new double[ rows ];
+			this.rowWidth = new double[ rows ];
+			this.rowHeight = new double[ rows ];
+			this.strayPlaces = new boolean[ rows ][];
+		}
+		
+		for ( int r = 0; r < rows; r++ )
+		{
+			Alien[] row = this.formation[r];
+			Alien first = row.length > 0 ? row[0] : null;
+			Alien second = row.length > 1 ? row[1] : null;
+			if ( first == null || (row.length > 1 && second == null) )
+			{
+				// No way of telling where the row is
+				this.rowWidth[r] = -1;
+				this.addStrays( row );
+				continue;
+			}
+			
+			this.rowX[r] = first.getX();
+			this.rowY[r] = first.getY();
+			this.rowSpacing[r] = second == null ? 0 : second.getX() - first.getX();
+			this.rowWidth[r] = first.getWidth();
+			this.rowHeight[r] = first.getHeight();
+			if ( row.length > 1 && this.rowSpacing[r] < Vector.EPSILON )
+			{
+				this.rowWidth[r] = -1;
+				this.addStrays( row );
+				continue;
+			}
+			
+			if ( this.strayPlaces[r] == null || this.strayPlaces[r].length != row.length )
+				this.strayPlaces[r] = new boolean[ row.length ];
+			
+			for ( int c = 0; c < row.length; c++ )
+			{
+				Alien alien = row[c];
+				boolean stray = alien != null && alien.isAlive() && !this.isInFormation( alien, r, c );
+				this.strayPlaces[r][c] = stray;
+				if ( stray )
+					this.strays.add( alien );
+			}
+		}
+	}
+	
+	/** Keeps aside every living Alien of a row of the formation that can't be indexed */
+	private void addStrays( Alien[] row )
+	{
+		for ( int c = 0; c < row.length; c++ )
+			if ( row[c] != null && row[c].isAlive() )
+				this.strays.add( row[c] );
+	}
+	
+	/** Returns true if the given Alien is exactly where the given row and column of the formation puts it */
+	private boolean isInFormation( Alien alien, int r, int c )
+	{
+		double x = this.rowX[r] + this.rowSpacing[r] * c;
+		return	Math.abs( alien.getX() - x ) < Vector.EPSILON 						&&
+				Math.abs( alien.getY() - this.rowY[r] ) < Vector.EPSILON 			&&
+				Math.abs( alien.getWidth() - this.rowWidth[r] ) < Vector.EPSILON 	&&
+				Math.abs( alien.getHeight() - this.rowHeight[r] ) < Vector.EPSILON;
+	}
+	
+	/**
+	 * 	Finds every living Alien whose Bounds overlap the area with the given 
+	 * 	corners and puts them in hits, in formation order with any that have 
+	 * 	left the formation last. Only the one or two columns under the area 
+	 * 	are checked in each row it crosses.
+	 */
+	private ArrayList<Alien> findHits( double left, double top, double right, double bottom )
+	{
+		this.hits.clear();
+		if ( this.formation == null )
+			return	this.hits;
+		
+		for ( int r = 0; r < this.formation.length; r++ )
+		{
+			// Row can't be indexed, its Aliens are all strays, or the
+			//	area doesn't reach the row at all
+			if ( this.rowWidth[r] < 0 )
+				continue;
+			if ( bottom < this.rowY[r] || top > this.rowY[r] + this.rowHeight[r] )
+				continue;
+			
+			// Columns whose Aliens reach across the area
+			Alien[] row = this.formation[r];
+			int first = 0;
+			int last = 0;
+			if ( row.length > 1 )
+			{
+				double spacing = this.rowSpacing[r];
+				first = (int)Math.ceil( (left - this.rowWidth[r] - this.rowX[r]) / spacing );
+				last = (int)Math.floor( (right - this.rowX[r]) / spacing );
+				first = Math.max( first, 0 );
+				last = Math.min( last, row.length - 1 );
+			}
+			
+			for ( int c = first; c <= last; c++ )
+			{
+				Alien alien = row[c];
+				if ( alien != null && alien.isAlive() && !this.strayPlaces[r][c] && overlaps( alien, left, top, right, bottom ) )
+					this.hits.add( alien );
+			}
+		}
+		
+		for ( int i = 0; i < this.strays.size(); i++ )
+		{
+			Alien alien = this.strays.get(i);
+			if ( alien.isAlive() && overlaps( alien, left, top, right, bottom ) )
+				this.hits.add( alien );
+		}
+		return	this.hits;
+	}
+	
+	/** Returns true if the given Alien's Bounds overlap the area with the given corners, edges included */
+	private static boolean overlaps( Alien alien, double left, double top, double right, double bottom )
+	{
+		return	alien.getX() <= right && alien.getX() + alien.getWidth() >= left &&
+				alien.getY() <= bottom && alien.getY() + alien.getHeight() >= top;
+	}
+	
+	/**
+	 * 	Returns the living Alien whose Bounds contain the given point, edges 
+	 * 	included, or null if there isn't one. Positions are as of the Wave's 
+	 * 	last update.
+	 */
+	public Alien findAlienAt( double x, double y )
+	{
+		ArrayList<Alien> found = this.findHits( x, y, x, y );
+		return	found.isEmpty() ? null : found.get(0);
+	}
+	
+	/**
+	 * 	Returns the first living Alien the line segment from (x1, y1) to 
+	 * 	(x2, y2) passes through, the one closest to (x1, y1), or null if it 
+	 * 	doesn't pass through any. Positions are as of the Wave's last update.
+	 */
+	public Alien findAlienHit( double x1, double y1, double x2, double y2 )
+	{
+		ArrayList<Alien> found = this.findHits( Math.min( x1, x2 ), Math.min( y1, y2 ), Math.max( x1, x2 ), Math.max( y1, y2 ) );
+		
+		Alien closest = null;
+		double closestT = Double.MAX_VALUE;
+		for ( int i = 0; i < found.size(); i++ )
+		{
+			Alien alien = found.get(i);
+			double t = alien.getBounds().segmentEntry( x1, y1, x2, y2 );
+			if ( t >= 0 && t < closestT )
+			{
+				closest = alien;
+				closestT = t;
+			}
+		}
+		return	closest;
+	}
+	
+	/**
+	 * 	Hands every living Alien whose Bounds overlap the given Game Object's 
+	 * 	to the given Collision Listener, along with the Game Object, in 
+	 * 	formation order. Positions are as of the Wave's last update. The 
+	 * 	listener must not make another hit query on this Wave.
+	 */
+	public void findAliensHit( GameObject obj, CollisionListener listener )
+	{
+		Bounds b = obj.getBounds();
+		ArrayList<Alien> found = this.findHits( b.getX(), b.getY(), b.getX() + b.getWidth(), b.getY() + b.getHeight() );
+		for ( int i = 0; i < found.size(); i++ )
+			listener.collided( found.get(i), obj );
+	}
+	
+	/**
+	 * 	Hands the living Aliens the given Laser passed through since its last 
+	 * 	update to the given Collision Listener, along with the Laser, in the 
+	 * 	order the Laser reached them. This stops as soon as the Laser is no 
+	 * 	longer active, so a Laser the listener uses up only hits the first. 
+	 * 	Unlike findAliensHit(), a Laser moving so fast that it jumped right 
+	 * 	over an Alien in one update still hits it. The listener must not make 
+	 * 	another hit query on this Wave.
+	 */
+	public void findAliensSwept( Laser laser, CollisionListener listener )
+	{
+		// Everything the Laser covered from where it was to where it is
+		double fromX = laser.getPreviousX();
+		double fromY = laser.getPreviousY();
+		double left = Math.min( fromX, laser.getX() );
+		double top = Math.min( fromY, laser.getY() );
+		double right = Math.max( fromX, laser.getX() ) + laser.getWidth();
+		double bottom = Math.max( fromY, laser.getY() ) + laser.getHeight();
+		ArrayList<Alien> found = this.findHits( left, top, right, bottom );
+		
+		// Hand them over closest first, there is hardly ever more than one
+		Bounds bounds = laser.getBounds();
+		while ( laser.isActive() )
+		{
+			Alien closest = null;
+			int closestIndex = -1;
+			double closestT = Double.MAX_VALUE;
+			for ( int i = 0; i < found.size(); i++ )
+			{
+				Alien alien = found.get(i);
+				double t = bounds.sweepEntry( fromX, fromY, alien.getBounds() );
+				if ( t >= 0 && t < closestT )
+				{
+					closest = alien;
+					closestIndex = i;
+					closestT = t;
+				}
+			}
+			if ( closest == null )
+				return;
+			
+			found.remove( closestIndex );
+			listener.collided( closest, laser );
+		}
+	}
+	
 //==============================================================================
 //							ALIENS	
 //==============================================================================
@@ -270,6 +614,16 @@ public class AlienWave {
 		this.aliens.add( alien );
 	}
 	
+	/**
+	 * 	Adds the given Animation Clock to this Wave. The Wave updates each of 
+	 * 	its clocks once per frame while its Aliens are in formation, so any 
+	 * 	Aliens in the Wave sharing the clock animate together.
+	 */
+	public void addAnimationClock( AnimationClock clock )
+	{
+		this.clocks.add( clock );
+	}
+	
 	/** 
 	 * 	Returns the Alien in this Wave at the given index number, or null if the 
 	 * 	given index does not exist. 
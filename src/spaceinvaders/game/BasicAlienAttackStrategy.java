@@ -1,6 +1,7 @@
 package spaceinvaders.game;
 
 import java.util.ArrayList;
+import java.util.Random;
 
 import spaceinvaders.framework.Sound;
 
@@ -14,7 +15,13 @@ import spaceinvaders.framework.Sound;
  * 	
  */
 public class BasicAlienAttackStrategy extends AlienAttackStrategy {
-
+	
+	
+	/** Default shortest time in seconds between two Alien attacks */
+	public static final double DEFAULT_MIN_ATTACK_DELAY = 0.4;
+	/** Default longest time in seconds between two Alien attacks */
+	public static final double DEFAULT_MAX_ATTACK_DELAY = 1.1;
+	
 	
 	
 	/** Current Wave attacking */
@@ -40,19 +47,22 @@ public class BasicAlienAttackStrategy extends AlienAttackStrategy {
 	private boolean moveForward;
 	
 	
-	/** */
+	/** Shortest time in seconds between two attacks */
 	private double minAttackDelay;
-	/** */
+	/** Longest time in seconds between two attacks */
 	private double maxAttackDelay;
-	/** */
+	/** Time in seconds until the next attack, picked between the two */
 	private double currentAttackDelay;
-	/** */
+	/** Timer for the attacks */
 	private double attackTimer;
 	
 	
 	/** True if the Strategy is currently active */
 	private boolean attacking;
 	
+	/** Random number generator that picks the attackers and attack delays */
+	private Random random;
+	
 	/** Sound effect for the Aliens' lasers */
 	private Sound laserSFX;
 	/** Sound effects for the Aliens' movements */
@@ -70,8 +80,19 @@ public class BasicAlienAttackStrategy extends AlienAttackStrategy {
 	 */
 	public BasicAlienAttackStrategy()
 	{
-		this.minAttackDelay = 0.4;
-		this.maxAttackDelay = 1.1;
+		this( new Random() );
+	}
+	
+	/** 
+	 * 	Creates a new Basic Attack Strategy that mimics the original Space 
+	 * 	Invaders game, picking its attackers and attack delays with the given 
+	 * 	random number generator.
+	 */
+	public BasicAlienAttackStrategy( Random random )
+	{
+		this.random = random;
+		this.minAttackDelay = DEFAULT_MIN_ATTACK_DELAY;
+		this.maxAttackDelay = DEFAULT_MAX_ATTACK_DELAY;
 		
 		this.laserSFX = new Sound( "res/sounds/alien_shoot.wav" );
 		
@@ -264,7 +285,7 @@ public class BasicAlienAttackStrategy extends AlienAttackStrategy {
 		Alien attacker = null;
 		while ( attacker == null )
 		{
-			int col = (int)(Math.random() * this.wave.getTotalAlienColumns());
+			int col = this.random.nextInt( this.wave.getTotalAlienColumns() );
 			int row = this.wave.getTotalAlienRows() - 1;
 			
 			while ( attacker == null && row >= 0 )
@@ -280,6 +301,33 @@ public class BasicAlienAttackStrategy extends AlienAttackStrategy {
 		this.laserSFX.start();
 	}
 	
+	/**
+	 * 	Sets the shortest and longest amount of time in seconds between two 
+	 * 	attacks by the Aliens. Each delay is picked at random between the two. 
+	 * 	If either delay is negative, or the minimum is greater than the maximum, 
+	 * 	this throws an IllegalArgumentException.
+	 */
+	public void setAttackDelay( double min, double max )
+	{
+		if ( min < 0 || max < min )
+			throw new IllegalArgumentException( "Attack delays must be positive and the minimum no greater than the maximum: " + min + ", " + max );
+		
+		this.minAttackDelay = min;
+		this.maxAttackDelay = max;
+	}
+	
+	/** Returns the shortest time in seconds between two attacks */
+	public double getMinAttackDelay()
+	{
+		return	this.minAttackDelay;
+	}
+	
+	/** Returns the longest time in seconds between two attacks */
+	public double getMaxAttackDelay()
+	{
+		return	this.maxAttackDelay;
+	}
+	
 	/**
 	 * 	Resets the attack delay value to a new randomly selected amount of 
 	 * 	time between the set minimum and maximum attack delay values.
@@ -287,7 +335,7 @@ public class BasicAlienAttackStrategy extends AlienAttackStrategy {
 	private void resetAttackDelay()
 	{
 		double range = this.maxAttackDelay - this.minAttackDelay;
-		this.currentAttackDelay = Math.random() * range + this.minAttackDelay;
+		this.currentAttackDelay = this.random.nextDouble() * range + this.minAttackDelay;
 		this.attackTimer = 0;
 	}
 	
@@ -1,6 +1,6 @@
 package spaceinvaders.game;
 
-import spaceinvaders.framework.Screen;
+
 
 /**
  * 	A Basic Alien Deployment Strategy represents the base Deployment Startegy 
@@ -88,13 +88,13 @@ public class BasicAlienDeploymentStrategy extends AlienDeploymentStrategy {
 		int totalAliens = this.wave.getTotalAliens();
 		int rows = totalAliens / this.aliensPerRow;
 		int cols = totalAliens / rows;
-		int screenW = Screen.getScreenWidth();
+		int areaW = this.wave.getAreaWidth();
 		int rowSpacing = 10;
 		int colSpacing = 5;
 		int size = 30;
 		int waveW = cols * size + (cols - 1) * colSpacing;
 		int waveH = rows * size + (rows - 1) * rowSpacing;
-		int waveX = (screenW - waveW) / 2;
+		int waveX = this.wave.getLeftBoundary() + (areaW - waveW) / 2;
 		int waveY = -waveH;
 		int rowH = size + rowSpacing;
 		
@@ -1,7 +1,7 @@
 package spaceinvaders.game;
 
-import spaceinvaders.framework.Animation;
+import spaceinvaders.framework.AnimationPlayer;
 
-public class BombExplosion extends Animation {
+public class BombExplosion extends AnimationPlayer {
 
 }
@@ -0,0 +1,146 @@
+package spaceinvaders.game;
+
+import java.util.ArrayList;
+
+import spaceinvaders.framework.InputSource;
+import spaceinvaders.framework.Keyboard;
+
+
+
+/**
+ * 	The Bot Input Source plays the Gameplay Scene by itself so that the game
+ * 	can be simulated without a player. Each tick the bot first checks for any
+ * 	Alien Laser about to hit the ship and moves out of its way. Otherwise it
+ * 	moves under the living Alien closest to the ship and fires once it is
+ * 	lined up.
+ * 	
+ * 	The bot only ever presses the same keys the player would, so it is held to
+ * 	the same ship speed and Laser cooldown as a real player.
+ * 	
+ */
+public class BotInputSource extends InputSource {
+	
+	
+	/** Distance above the ship in pixels that Alien Lasers are dodged from */
+	private static final double DODGE_DISTANCE = 150;
+	/** Extra space in pixels either side of the ship a Laser is dodged by */
+	private static final double DODGE_MARGIN = 10;
+	/** Distance in pixels from the target the ship stops moving at */
+	private static final double AIM_TOLERANCE = 5;
+	
+	
+	
+	/** Scene the bot is playing */
+	private GameplayScene scene;
+	
+	/** True if the bot pressed fire last tick and has to let go of it */
+	private boolean fireHeld;
+	
+	
+	
+	
+	/** Creates a new Bot Input Source that plays the given Gameplay Scene */
+	public BotInputSource( GameplayScene scene )
+	{
+		this.scene = scene;
+	}
+	
+	
+	
+//==============================================================================
+//							UPDATE
+//==============================================================================
+	
+	/**
+	 * 	Decides which way to move and whether to fire this tick, and presses
+	 * 	the matching keys on the given Keyboard.
+	 */
+	@Override public void update( double secsPerFrame, Keyboard keys )
+	{
+		// Let go of everything from last tick, fire has to be
+		//	released for a tick before it counts as pressed again
+		keys.release( Keyboard.LEFT );
+		keys.release( Keyboard.RIGHT );
+		if ( this.fireHeld )
+		{
+			keys.release( Keyboard.SPACE );
+			this.fireHeld = false;
+			return;
+		}
+		
+		PlayerShip ship = this.scene.getShip();
+		AlienWave wave = this.scene.getCurrentAlienWave();
+		if ( ship == null || ship.isDead() || wave == null || wave.isDeploying() )
+			return;
+		
+		// Get out of the way of anything about to hit us
+		Laser threat = this.findThreat( ship, wave );
+		if ( threat != null )
+		{
+			keys.press( threat.getCenterX() < ship.getCenterX() ? Keyboard.RIGHT : Keyboard.LEFT );
+			return;
+		}
+		
+		// Otherwise line up under the closest Alien and fire
+		Alien target = this.findTarget( ship, wave );
+		if ( target == null )
+			return;
+		
+		double dx = target.getCenterX() - ship.getCenterX();
+		if ( dx > AIM_TOLERANCE )
+			keys.press( Keyboard.RIGHT );
+		else if ( dx < -AIM_TOLERANCE )
+			keys.press( Keyboard.LEFT );
+		
+		if ( Math.abs( dx ) < target.getWidth() / 2 )
+		{
+			keys.press( Keyboard.SPACE );
+			this.fireHeld = true;
+		}
+	}
+	
+	/**
+	 * 	Returns the Alien Laser closest to hitting the given ship, or null if
+	 * 	there is no Laser over the ship within the dodge distance.
+	 */
+	private Laser findThreat( PlayerShip ship, AlienWave wave )
+	{
+		double left = ship.getX() - DODGE_MARGIN;
+		double right = ship.getX() + ship.getWidth() + DODGE_MARGIN;
+		double top = ship.getY() - DODGE_DISTANCE;
+		
+		Laser closest = null;
+		ArrayList<Laser> lasers = wave.getAllActiveLasers();
+		for ( int i = 0; i < lasers.size(); i++ )
+		{
+			Laser laser = lasers.get(i);
+			boolean over = laser.getCenterX() >= left && laser.getCenterX() <= right;
+			boolean near = laser.getY() + laser.getHeight() >= top && laser.getY() <= ship.getY() + ship.getHeight();
+			if ( over && near && ( closest == null || laser.getY() > closest.getY() ) )
+				closest = laser;
+		}
+		return	closest;
+	}
+	
+	/**
+	 * 	Returns the living Alien horizontally closest to the given ship, or
+	 * 	null if every Alien in the Wave is dead.
+	 */
+	private Alien findTarget( PlayerShip ship, AlienWave wave )
+	{
+		Alien closest = null;
+		double closestDist = Double.MAX_VALUE;
+		for ( int i = 0; i < wave.getTotalAliens(); i++ )
+		{
+			Alien alien = wave.getAlien( i );
+			double dist = Math.abs( alien.getCenterX() - ship.getCenterX() );
+			if ( alien.isAlive() && dist < closestDist )
+			{
+				closest = alien;
+				closestDist = dist;
+			}
+		}
+		return	closest;
+	}
+	
+}
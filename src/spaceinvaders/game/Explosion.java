@@ -2,8 +2,9 @@ package spaceinvaders.game;
 
 import java.awt.Graphics2D;
 
-import spaceinvaders.framework.Animation;
+import spaceinvaders.framework.AnimationClip;
 import spaceinvaders.framework.GameObject;
+import spaceinvaders.framework.ImageLoader;
 
 
 
@@ -14,20 +15,24 @@ import spaceinvaders.framework.GameObject;
  * 	cycles the set Animation is played for can be independently adjusted in this 
  * 	class to give different effects without having to draw different Animations.
  * 	
+ * 	The Animation Clip of an Explosion is shared with every other Explosion made 
+ * 	by the same Explosion Factory, each Explosion only keeps track of how long it 
+ * 	has been playing and works out its current frame from that.
+ * 	
  */
 public class Explosion extends GameObject {
 
 	
 	
-	/** Animation for the Explosion */
-	private Animation animation;
+	/** Shared Animation Clip for the Explosion */
+	private AnimationClip clip;
 	/** Total number of times the Explosion's Animation plays */
 	private int totalAnimationCycles;
-	/** Total number of animation cycles completed */
-	private int animationCyclesCompleted;
 	
 	/** Total time the Explosion persists */
 	private double totalDuration;
+	/** Amount of time the Explosion has been playing */
+	private double elapsedTime;
 	
 	
 	
@@ -39,9 +44,7 @@ public class Explosion extends GameObject {
 	/** Starts the Explosion. This resets the Animation back to the start */
 	public void start()
 	{
-		this.animationCyclesCompleted = 0;
-		if ( this.animation != null )
-			this.animation.reset();
+		this.elapsedTime = 0;
 	}
 	
 	/** 
@@ -50,7 +53,7 @@ public class Explosion extends GameObject {
 	 */
 	public boolean isFinished()
 	{
-		return	this.animationCyclesCompleted >= this.totalAnimationCycles;
+		return	this.totalAnimationCycles <= 0 || this.elapsedTime >= this.totalDuration;
 	}
 	
 //==============================================================================
@@ -58,9 +61,9 @@ public class Explosion extends GameObject {
 //==============================================================================
 	
 	/**
-	 *	Updates the Explosion if it has not finished yet. This will update the 
-	 *	Animation if it exists and counts the number of cycles of the Animation 
-	 *	that has completed thus far.
+	 *	Updates the Explosion if it has not finished yet. This only moves the 
+	 *	Explosion's playhead forward, the current frame is worked out from it 
+	 *	when the Explosion is rendered.
 	 */
 	@Override public void update( double secsPerFrame )
 	{
@@ -68,20 +71,7 @@ public class Explosion extends GameObject {
 		if ( this.isFinished() )
 			return;
 		
-		// No Animation, nothing to update ...
-		if ( this.animation == null )
-			return;
-		
-		// Animation has finished one play through last frame, 
-		//	update our count and reset the Animation
-		if ( this.animation.isFinished() )
-		{
-			this.animationCyclesCompleted ++;
-			this.animation.reset();
-		}
-		
-		// Update the Animation
-		this.animation.update( secsPerFrame );
+		this.elapsedTime += secsPerFrame;
 	}
 	
 //==============================================================================
@@ -99,7 +89,7 @@ public class Explosion extends GameObject {
 			return;
 		
 		// No Animation, nothing to render ...
-		if ( this.animation == null || this.animation.isEmpty() )
+		if ( this.clip == null || this.clip.isEmpty() )
 			return;
 		
 		// Otherwise, render the Explosion's Animation over 
@@ -108,7 +98,7 @@ public class Explosion extends GameObject {
 		int y = (int)this.getY();
 		int w = (int)this.getWidth();
 		int h = (int)this.getHeight();
-		g.drawImage( this.animation.getCurrentFrame(), x, y, w, h, null );
+		ImageLoader.drawSprite( g, this.clip.getFrameAt( this.getClipTime() ), x, y, w, h );
 	}
 	
 //==============================================================================
@@ -116,15 +106,15 @@ public class Explosion extends GameObject {
 //==============================================================================
 	
 	/** 
-	 * 	Sets the Animation that this Explosion will play while it persists. The 
-	 * 	length of time the given Animation will play for is determined by the 
-	 * 	Explosion's total duration and number of animation cycles it is set to. 
+	 * 	Sets the Animation Clip that this Explosion will play while it persists. 
+	 * 	The clip should be a LOOP clip if it is played for more than one cycle. 
+	 * 	The length of time the clip will play for is determined by the 
+	 * 	Explosion's total duration and number of animation cycles it is set to, 
+	 * 	not the clip's own frame durations. 
 	 */
-	public void setAnimation( Animation anim )
+	public void setClip( AnimationClip clip )
 	{
-		this.animation = anim;
-		this.animation.setMode( Animation.SINGLE_MODE );
-		this.updateAnimationDuration();
+		this.clip = clip;
 	}
 	
 	/**
@@ -135,7 +125,6 @@ public class Explosion extends GameObject {
 	public void setAnimationCycles( int cycles )
 	{
 		this.totalAnimationCycles = cycles;
-		this.updateAnimationDuration();
 	}
 	
 	/** 
@@ -146,27 +135,17 @@ public class Explosion extends GameObject {
 	public void setTotalDuration( double duration )
 	{
 		this.totalDuration = duration;
-		this.updateAnimationDuration();
 	}
 	
 	/**
-	 * 	Handles updating the Explosion's Animation's length of time of a single 
-	 * 	frame based on the current duration of the Explosion and the number of 
-	 * 	cycles the Explosion should persist for.
+	 * 	Returns how far into its Animation Clip the Explosion currently is, 
+	 * 	scaling how long it has been playing so that each cycle of the clip 
+	 * 	takes an equal share of the Explosion's total duration.
 	 */
-	private void updateAnimationDuration()
+	private double getClipTime()
 	{
-		// No Animation, nothing to update
-		if ( this.animation == null )
-			return;
-		
-		// Calculate the time of a single frame 
-		//	of the Animation
-		double cycleDuration = 0;
-		if ( this.totalAnimationCycles > 0 )
-			cycleDuration = this.totalDuration / this.totalAnimationCycles;
-		double frameDuration = cycleDuration / this.animation.getTotalFrames();
-		this.animation.setFrameDuration( frameDuration );
+		double cycleDuration = this.totalDuration / this.totalAnimationCycles;
+		return	this.elapsedTime / cycleDuration * this.clip.getTotalDuration();
 	}
 }
 
@@ -0,0 +1,103 @@
+package spaceinvaders.game;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+import spaceinvaders.framework.AnimationClip;
+import spaceinvaders.framework.GameObject;
+import spaceinvaders.framework.ImageLoader;
+
+
+
+/**
+ * 	The Explosion Factory will handle the creation of all of the Explosions in
+ * 	the Game. The explosion frames are loaded from disk once, when the Factory
+ * 	is created, and every Explosion it makes shares the same Animation Clip.
+ * 	Finished Explosions can be handed back to the Factory to be reused, so
+ * 	blowing up a whole row of Aliens costs no file reads and next to no new
+ * 	objects.
+ * 	
+ */
+public class ExplosionFactory {
+	
+	
+	/** Prefix of the filename of each frame of an Explosion */
+	private static final String EXPLOSION = "explosion";
+	/** Number of frames in an Explosion, numbered from 1 */
+	private static final int TOTAL_FRAMES = 5;
+	
+	/** Directory of which all Explosion Images are stored */
+	private static final String DIRECTORY = "res/images/sfx/";
+	
+	/** Total time in seconds an Explosion persists */
+	private static final double DURATION = 0.5;
+	
+	
+	
+	/** Animation Clip shared by every Explosion */
+	private AnimationClip clip;
+	
+	/** Finished Explosions waiting to be reused */
+	private ArrayList<Explosion> freeExplosions;
+	
+	
+	
+	
+	/**
+	 * 	Creates the Explosion Factory which will load all of the frames
+	 * 	needed for the Explosions in the game.
+	 */
+	public ExplosionFactory()
+	{
+		ArrayList<BufferedImage> loaded = new ArrayList<BufferedImage>();
+		for ( int i = 1; i <= TOTAL_FRAMES; i++ )
+		{
+			BufferedImage frame = ImageLoader.loadImage( DIRECTORY, EXPLOSION + i + ".png" );
+			if ( frame != null )
+				loaded.add( frame );
+		}
+		
+		BufferedImage[] frames = loaded.toArray( new BufferedImage[ loaded.size() ] );
+		this.clip = new AnimationClip( AnimationClip.LOOP_MODE, DURATION / TOTAL_FRAMES, frames );
+		this.freeExplosions = new ArrayList<Explosion>();
+	}
+	
+	
+	
+//==============================================================================
+//							EXPLOSIONS
+//==============================================================================
+	
+	/**
+	 * 	Returns a started Explosion covering the area of the given Game Object,
+	 * 	reusing a finished Explosion if there is one.
+	 */
+	public Explosion createExplosion( GameObject target )
+	{
+		Explosion explosion;
+		if ( this.freeExplosions.isEmpty() )
+		{
+			explosion = new Explosion();
+			explosion.setClip( this.clip );
+			explosion.setTotalDuration( DURATION );
+			explosion.setAnimationCycles( 1 );
+		}
+		else
+			explosion = this.freeExplosions.remove( this.freeExplosions.size() - 1 );
+		
+		explosion.setBounds( target.getX(), target.getY(), target.getWidth(), target.getHeight() );
+		explosion.start();
+		return	explosion;
+	}
+	
+	/**
+	 * 	Hands the given finished Explosion back to the Factory so it can be
+	 * 	reused by a later call to createExplosion(). The Explosion must not be
+	 * 	used again after it has been recycled.
+	 */
+	public void recycle( Explosion explosion )
+	{
+		this.freeExplosions.add( explosion );
+	}
+	
+}
@@ -3,16 +3,24 @@ package spaceinvaders.game;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 
-import spaceinvaders.framework.Animation;
 import spaceinvaders.framework.Bounds;
+import spaceinvaders.framework.CollisionListener;
+import spaceinvaders.framework.DirtyRegion;
+import spaceinvaders.framework.GameObject;
 import spaceinvaders.framework.ImageLoader;
 import spaceinvaders.framework.Keyboard;
+import spaceinvaders.framework.Profiler;
 import spaceinvaders.framework.Scene;
 import spaceinvaders.framework.Screen;
 import spaceinvaders.framework.Sound;
+import spaceinvaders.framework.SpatialGrid;
 
 public class GameplayScene extends Scene {
 	
+	/** Groups each Game Object is inserted into the collision grid as */
+	private static final int SHIP = 0;
+	private static final int ALIEN_LASER = 1;
+	
 	private PlayerShip ship;
 	private Bounds playingArea;
 	
@@ -25,25 +33,46 @@ public class GameplayScene extends Scene {
 	private AlienWave currentAlienWave;
 	
 	private ArrayList<Explosion> activeExplosions;
-
+	private ExplosionFactory explosionFactory;
+	private LaserRenderer laserRenderer;
+	
+	private ArrayList<Shield> shields;
+	
+	private SpatialGrid collisionGrid;
+	private CollisionListener alienHitListener;
+	private CollisionListener shipHitListener;
+	
+	private double minAttackDelay;
+	private double maxAttackDelay;
+	
+	private ArrayList<WaveStats> waveStats;
+	private WaveStats currentWaveStats;
+	
 	public GameplayScene() {
 		super("Gamescreen");
-		this.createPlayerShip();
-		this.createPlayerArea();
-		this.createAlienWaves();
-		this.space = Space.get();
-		this.backgroundSound = new Sound("res/sounds/corneria.wav");
-		this.laserSound = new Sound("res/sounds/shoot.wav");
-		this.activeExplosions = new ArrayList<Explosion>();
-		
-		// TODO Auto-generated constructor stub
+		this.minAttackDelay = BasicAlienAttackStrategy.DEFAULT_MIN_ATTACK_DELAY;
+		this.maxAttackDelay = BasicAlienAttackStrategy.DEFAULT_MAX_ATTACK_DELAY;
+		this.waveStats = new ArrayList<WaveStats>();
+	}
+	
+	/**
+	 * 	Sets the shortest and longest time in seconds between Alien attacks. 
+	 * 	This must be set before the Scene is loaded, as that is when the 
+	 * 	Alien Waves are created.
+	 */
+	public void setAttackDelay(double min, double max) {
+		if (min < 0 || max < min) {
+			throw new IllegalArgumentException("Attack delays must be positive and the minimum no greater than the maximum: " + min + ", " + max);
+		}
+		this.minAttackDelay = min;
+		this.maxAttackDelay = max;
 	}
 	
 	
 	public void createPlayerArea() {
-		
-		double screenWidth = Screen.getScreenWidth();
-		double screenHeight = Screen.getScreenHeight();
+		Screen screen = this.getContext().getScreen();
+		double screenWidth = screen.getScreenWidth();
+		double screenHeight = screen.getScreenHeight();
 		
 		this.playingArea = new Bounds(screenWidth, screenHeight);
 	}
@@ -52,12 +81,13 @@ public class GameplayScene extends Scene {
 		int shipW = 50;
 		int shipH = 50;
 		
-		this.ship = new PlayerShip();
+		Screen screen = this.getContext().getScreen();
+		this.ship = new PlayerShip(screen);
 		this.ship.setHP(3);
 		
-		double screenW = Screen.getScreenWidth();
+		double screenW = screen.getScreenWidth();
 		double shipX = (screenW - shipW) / 2;
-		double screenH = Screen.getScreenHeight();
+		double screenH = screen.getScreenHeight();
 		double shipY = screenH - shipH;
 		
 		this.ship.setBounds(shipX, shipY, shipW, shipH);
@@ -66,14 +96,59 @@ public class GameplayScene extends Scene {
 	}
 	
 	public void createAlienWaves() {
-		AlienFactory af = new AlienFactory();
+		AlienFactory af = new AlienFactory(this.getContext());
+		af.setAttackDelay(this.minAttackDelay, this.maxAttackDelay);
 		this.alienWaves = af.createAllWaves();
 	}
 
 	@Override
 	public void load() {
-		// TODO Auto-generated method stub
-		
+		this.createPlayerShip();
+		this.createPlayerArea();
+		this.createAlienWaves();
+		this.space = Space.get(this.getContext());
+		this.backgroundSound = new Sound("res/sounds/corneria.wav");
+		this.laserSound = new Sound("res/sounds/shoot.wav");
+		this.activeExplosions = new ArrayList<Explosion>();
+		this.explosionFactory = new ExplosionFactory();
+		this.laserRenderer = new LaserRenderer();
+		this.createShields();
+		this.createCollisionGrid();
+	}
+	
+	/** Creates the shields, spread evenly across the screen just above the ship */
+	public void createShields() {
+		final int totalShields = 4;
+		ShieldFactory sf = new ShieldFactory();
+		double screenW = this.getContext().getScreen().getScreenWidth();
+		double gap = (screenW - totalShields * sf.getShieldWidth()) / (totalShields + 1);
+		double y = this.ship.getY() - 30 - sf.getShieldHeight();
+		
+		this.shields = new ArrayList<Shield>();
+		for (int i = 0; i < totalShields; i++) {
+			double x = gap + i * (gap + sf.getShieldWidth());
+			this.shields.add(sf.createShield(x, y));
+		}
+	}
+	
+	/** Creates the grid collisions are found with, and what to do when they are */
+	public void createCollisionGrid() {
+		this.collisionGrid = new SpatialGrid();
+		this.alienHitListener = new CollisionListener() {
+			@Override public void collided(GameObject a, GameObject b) {
+				// Only a hit if the laser reaches the alien's solid pixels
+				Alien alien = (Alien) a;
+				Laser laser = (Laser) b;
+				if (alien.isAlive() && alien.isHitBy(laser)) {
+					GameplayScene.this.handleAlienLaserCollision(alien, laser);
+				}
+			}
+		};
+		this.shipHitListener = new CollisionListener() {
+			@Override public void collided(GameObject a, GameObject b) {
+				GameplayScene.this.handlePlayerLaserCollision((PlayerShip) a, (Laser) b);
+			}
+		};
 	}
 
 	@Override
@@ -84,7 +159,6 @@ public class GameplayScene extends Scene {
 
 	@Override
 	public void enter() {
-		System.out.println("Gamescreen ENTERED");
 		this.laserSound.open();
 		this.backgroundSound.open();
 		this.backgroundSound.loop();
@@ -104,6 +178,9 @@ public class GameplayScene extends Scene {
 		this.currentAlienWave.setAreaBounds(this.playingArea);
 		this.currentAlienWave.start();
 		
+		this.currentWaveStats = new WaveStats(this.waveStats.size() + 1, this.currentAlienWave.getTotalAliens());
+		this.waveStats.add(this.currentWaveStats);
+	
 	}
 
 	@Override
@@ -122,7 +199,9 @@ public class GameplayScene extends Scene {
 		if (keys.keyDownOnce(Keyboard.SPACE)) {
 
 			this.laserSound.stop();
-			this.ship.fireLaser();
+			if (this.ship.fireLaser()) {
+				this.currentWaveStats.addShotFired();
+			}
 			this.laserSound.start();
 			
 		}
@@ -152,14 +231,28 @@ public class GameplayScene extends Scene {
 
 	@Override
 	public void update(double secsPerFrame) {
+		Profiler profiler = this.getProfiler();
+		
 		if (this.ship.getHP() > 0) {
 			this.updatePlayer(secsPerFrame);
-			this.updateAlienWave(secsPerFrame);
 			
+			if (this.currentWaveStats != null && !this.currentAlienWave.isDefeated()) {
+				this.currentWaveStats.addSurvivalTime(secsPerFrame);
+			}
+			
+			profiler.begin("GameplayScene.updateAlienWave");
+			this.updateAlienWave(secsPerFrame);
+			profiler.end("GameplayScene.updateAlienWave");
 		}
 		
+		profiler.begin("Space.update");
 		this.space.update(secsPerFrame);
+		profiler.end("Space.update");
+		
+		profiler.begin("GameplayScene.checkCollisions");
 		this.checkCollisions();
+		profiler.end("GameplayScene.checkCollisions");
+		
 		this.updateExplosions(secsPerFrame);
 		
 	}
@@ -196,14 +289,15 @@ public class GameplayScene extends Scene {
 	}
 	
 	public void updateExplosions(double secsPerFrame) {
-		for (int i = 0; i < this.activeExplosions.size(); i++) {
+		for (int i = this.activeExplosions.size() - 1; i >= 0; i--) {
 			Explosion activeExplosion = this.activeExplosions.get(i);
 			if (!activeExplosion.isFinished()) {
 				activeExplosion.update(secsPerFrame);
 			}
 			
 			if (activeExplosion.isFinished()) {
-				this.activeExplosions.remove(activeExplosion);
+				this.activeExplosions.remove(i);
+				this.explosionFactory.recycle(activeExplosion);
 			}
 		}
 	}
@@ -213,85 +307,74 @@ public class GameplayScene extends Scene {
 			return;
 		}
 		
-		
-		
-		//handles if ship laser hits alien in wave
-		for (int i = 0; i < this.currentAlienWave.getAllAliens().size(); i++) {
-			Alien currentAlien = this.currentAlienWave.getAlien(i);
-			for (int j = 0; j < this.ship.getAllActiveLasers().size(); j++) {
-				Laser currentLaser = this.ship.getAllActiveLasers().get(j);
-				if (currentAlien.isAlive()) {
-					if (currentLaser.intersects(currentAlien)) {
-						this.handleAlienLaserCollision(currentAlien, currentLaser);
-					}
-				}
-			}
-			
+		// Only things near each other are tested against each other
+		this.fillCollisionGrid();
+		
+		//handles if ship laser hits alien in wave, the wave only
+		//	checks the aliens in formation along the path each laser
+		//	took this update, so even a slow frame can't skip one.
+		//	Lasers stopped by a shield never reach the wave
+		ArrayList<Laser> shipLasers = this.ship.getAllActiveLasers();
+		for (int i = 0; i < shipLasers.size(); i++) {
+			Laser laser = shipLasers.get(i);
+			this.hitShields(laser);
+			this.currentAlienWave.findAliensSwept(laser, this.alienHitListener);
 		}
 		
-			
 		//handles if alien laser hits ship
-		for (int i = 0; i < this.currentAlienWave.getAllActiveLasers().size(); i++) {
-			Laser currentLaser = this.currentAlienWave.getAllActiveLasers().get(i);
-				if (currentLaser.intersects(this.ship)) {
-					this.handlePlayerLaserCollision(this.ship, currentLaser);
+		this.collisionGrid.findPairs(SHIP, ALIEN_LASER, this.shipHitListener);
+	}
+	
+	/**
+	 * 	Stops the given laser at the first shield it hit this update, which
+	 * 	has a crater carved out of it.
+	 */
+	private void hitShields(Laser laser) {
+		for (int i = 0; i < this.shields.size(); i++) {
+			Shield shield = this.shields.get(i);
+			if (!shield.isDestroyed() && laser.intersectsSwept(shield) && shield.hit(laser)) {
+				laser.setActive(false);
+				return;
+			}
+		}
+	}
+	
+	/** Inserts the ship and every alien laser that gets past the shields into the collision grid */
+	private void fillCollisionGrid() {
+		SpatialGrid grid = this.collisionGrid;
+		grid.clear();
+		grid.insert(this.ship, SHIP);
+		
+		// Lasers of dead aliens can still hit the ship
+		ArrayList<Alien> aliens = this.currentAlienWave.getAllAliens();
+		for (int i = 0; i < aliens.size(); i++) {
+			Alien alien = aliens.get(i);
+			ArrayList<Laser> alienLasers = alien.getAllActiveLasers();
+			for (int j = 0; j < alienLasers.size(); j++) {
+				Laser laser = alienLasers.get(j);
+				this.hitShields(laser);
+				if (laser.isActive()) {
+					grid.insert(laser, ALIEN_LASER);
 				}
-			
-		
-		}	
-		
+			}
+		}
 	}
 	
 	public void handleAlienLaserCollision(Alien alien, Laser laser) {
-		System.out.println("ALIEN KILLED");
 		alien.setAlive(false);
 		laser.setActive(false);
-		Animation a = new Animation();
-		Explosion e = new Explosion();
-		
-		e.setHeight(alien.getHeight());
-		e.setWidth(alien.getWidth());
-		e.setX(alien.getX());
-		e.setY(alien.getY());
-		
-		e.setTotalDuration(0.5);
-		e.setAnimationCycles(1);
-		
-		for (int i = 1; i <= 5; i++) {
-			a.addFrame("res/images/sfx/", "explosion" + i + ".png");
-		}
-		
-		e.setAnimation(a);
-		
-		this.activeExplosions.add(e);
+		this.currentWaveStats.addAlienKilled();
+		this.activeExplosions.add(this.explosionFactory.createExplosion(alien));
 	}
 		
 	public void handlePlayerLaserCollision(PlayerShip ship, Laser laser) {
-		System.out.println("PLAYER KILLED");
 		laser.setActive(false);
 		ship.reduceHP(1);
 		
 		if (ship.getHP() == 0) {
-			
-			Animation a = new Animation();
-			Explosion e = new Explosion();
-			
-			e.setHeight(ship.getHeight());
-			e.setWidth(ship.getWidth());
-			e.setX(ship.getX());
-			e.setY(ship.getY());
-			
-			e.setTotalDuration(0.5);
-			e.setAnimationCycles(1);
+			this.currentWaveStats.setPlayerKilled();
+			this.activeExplosions.add(this.explosionFactory.createExplosion(ship));
 
-			for (int i = 1; i <= 5; i++) {
-				a.addFrame("res/images/sfx/", "explosion" + i + ".png");
-			}
-			
-			e.setAnimation(a);
-			
-			this.activeExplosions.add(e);
-			
 		}
 		
 		
@@ -301,18 +384,84 @@ public class GameplayScene extends Scene {
 
 	@Override
 	public void render(Graphics2D g) {
+		this.render(g, 1);
+	}
+	
+	/**
+	 * 	Draws the ship, aliens and lasers the given fraction of the way from 
+	 * 	where they were before the last tick to where they are now, so their 
+	 * 	movement stays smooth when frames and ticks don't line up.
+	 */
+	@Override
+	public void render(Graphics2D g, double alpha) {
+		Profiler profiler = this.getProfiler();
+		profiler.begin("Space.render");
+		this.space.render(g);
+		profiler.end("Space.render");
+		
+		for (int i = 0; i < this.shields.size(); i++) {
+			this.shields.get(i).render(g);
+		}
 		
 		if (this.ship.getHP() > 0) {
-			this.ship.render(g);
+			this.ship.render(g, alpha);
 		}
 		
-		this.space.render(g);
 		this.renderExplosions(g);
 		
 		if (this.currentAlienWave != null) {
-			this.currentAlienWave.render(g);
+			profiler.begin("AlienWave.render");
+			this.currentAlienWave.render(g, alpha);
+			profiler.end("AlienWave.render");
+		}
+		
+		this.renderLasers(g, alpha);
+	
+	}
+	
+	/** Draws every Laser from the ship and the Aliens together in one pass */
+	public void renderLasers(Graphics2D g, double alpha) {
+		this.laserRenderer.begin(alpha);
+		if (this.ship.getHP() > 0) {
+			this.laserRenderer.addAll(this.ship.getAllActiveLasers());
+		}
+		if (this.currentAlienWave != null) {
+			this.currentAlienWave.addLasers(this.laserRenderer);
 		}
+		this.laserRenderer.render(g);
+	}
+	
+	/** Space covers the whole screen, so the Game doesn't need to clear it */
+	@Override
+	public boolean coversScreen() {
+		return true;
+	}
+	
+	/** Reports everything drawn over the starfield, which only changes when the stars are repainted */
+	@Override
+	public void invalidate(DirtyRegion region) {
+		this.space.invalidate(region);
 		
+		// Shields only report the parts worn away
+		for (int i = 0; i < this.shields.size(); i++) {
+			this.shields.get(i).invalidate(region);
+		}
+		
+		if (this.ship.getHP() > 0) {
+			this.ship.invalidate(region);
+			ArrayList<Laser> lasers = this.ship.getAllActiveLasers();
+			for (int i = 0; i < lasers.size(); i++) {
+				lasers.get(i).invalidate(region);
+			}
+		}
+		
+		for (int i = 0; i < this.activeExplosions.size(); i++) {
+			this.activeExplosions.get(i).invalidate(region);
+		}
+		
+		if (this.currentAlienWave != null) {
+			this.currentAlienWave.invalidate(region);
+		}
 	}
 	
 	public void renderExplosions(Graphics2D g) {
@@ -324,6 +473,32 @@ public class GameplayScene extends Scene {
 	
 	
 
+	public PlayerShip getShip() {
+		return this.ship;
+	}
+	
+	public AlienWave getCurrentAlienWave() {
+		return this.currentAlienWave;
+	}
+	
+	/** Returns the stats of every Alien Wave started so far, in order */
+	public ArrayList<WaveStats> getWaveStats() {
+		return new ArrayList<WaveStats>(this.waveStats);
+	}
+	
+	/** 
+	 * 	Returns true once the game can not go any further, because either the 
+	 * 	player has been killed or every Alien Wave has been defeated.
+	 */
+	public boolean isGameOver() {
+		if (this.ship == null) {
+			return false;
+		}
+		
+		boolean wavesDefeated = this.alienWaves.isEmpty() && (this.currentAlienWave == null || this.currentAlienWave.isDefeated());
+		return this.ship.isDead() || wavesDefeated;
+	}
+	
 	@Override
 	public void onShutDown() {
 		// TODO Auto-generated method stub
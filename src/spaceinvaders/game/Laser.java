@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
 
+import spaceinvaders.framework.DirtyRegion;
 import spaceinvaders.framework.GameObject;
 import spaceinvaders.framework.Vector;
 
@@ -49,6 +50,16 @@ public class Laser extends GameObject {
 		this.active = activity;
 	}
 	
+//==============================================================================
+//							COLOR		
+//==============================================================================
+	
+	/** Returns the Color of the Laser */
+	public Color getColor()
+	{
+		return	this.color;
+	}
+	
 //==============================================================================
 //							SPEED		
 //==============================================================================
@@ -79,15 +90,40 @@ public class Laser extends GameObject {
 		this.speed.setY( ySpeed );
 	}
 	
+	/** Returns the distance the Laser moves along the x-axis per second */
+	public double getSpeedX()
+	{
+		return	this.speed.getX();
+	}
+	
+	/** Returns the distance the Laser moves along the y-axis per second */
+	public double getSpeedY()
+	{
+		return	this.speed.getY();
+	}
+	
+	/**
+	 * 	Returns the angle in radians the Laser is turned by to face the 
+	 * 	direction it is traveling in, 0 being straight up.
+	 */
+	public double getDirection()
+	{
+		return	Math.atan2( this.speed.getY(), this.speed.getX() ) + Math.PI / 2;
+	}
+	
 //==============================================================================
 //							UPDATE
 //==============================================================================
 	
 	/**
-	 * 	Updates the Laser's position over time based on its current speed.
+	 * 	Updates the Laser's position over time based on its current speed. 
+	 * 	Where it was before is saved first, both to draw it part way between 
+	 * 	and to find what it passed through on the way (see intersectsSwept()).
 	 */
 	@Override public void update( double secsPerFrame )
 	{
+		this.savePosition();
+				
 		if ( this.speed.isZero() )
 			return;
 		
@@ -96,13 +132,27 @@ public class Laser extends GameObject {
 		this.setY( this.getY() + move.getY() );
 	}
 	
+	/**
+	 * 	Returns true if the Laser touched the given Game Object anywhere along 
+	 * 	the way it moved in its last update, not just where it ended up. Fast 
+	 * 	Lasers can move further than the size of what they hit in one update, 
+	 * 	especially when the frame rate drops, and would otherwise pass right 
+	 * 	through it.
+	 */
+	public boolean intersectsSwept( GameObject obj )
+	{
+		return	this.getBounds().intersectsSwept( this.getPreviousX(), this.getPreviousY(), obj.getBounds() );
+	}
+	
 //==============================================================================
 //							RENDER		
 //==============================================================================
 	
 	/**
 	 * 	Renders the Laser to the screen based on the direction the Laser is 
-	 * 	traveling in indicated by its current speed Vector.
+	 * 	traveling in indicated by its current speed Vector. When drawing many 
+	 * 	Lasers at once use a Laser Renderer instead, which draws them all 
+	 * 	without a transform for each one.
 	 */
 	@Override public void render( Graphics2D g )
 	{
@@ -117,10 +167,11 @@ public class Laser extends GameObject {
 		int h = (int)this.getHeight();
 		
 		// Calculate the rotation transform so that the 
-		//	laser is drawn in the direction its traveling
+		//	laser is drawn in the direction its traveling, on 
+		//	top of however the Graphics are already moved
 		AffineTransform original = g.getTransform();
-		double dir = Math.atan2( this.speed.getY(), this.speed.getX() ) + Math.PI / 2;
-		AffineTransform transform = new AffineTransform();
+		double dir = this.getDirection();
+		AffineTransform transform = new AffineTransform( original );
 		transform.translate( x + w/2, y + w/2 );
 		transform.rotate( dir );
 		transform.translate( -(x + w/2), -(y + w/2) );
@@ -134,5 +185,27 @@ public class Laser extends GameObject {
 		g.setTransform( original );
 	}
 	
+	/**
+	 * 	Reports the area the Laser is drawn over. The Laser is turned about a 
+	 * 	point near its top to face the way it is traveling, so it can reach 
+	 * 	its full length out from that point in any direction. It can also be 
+	 * 	drawn anywhere between where it was before its last update and where 
+	 * 	it is now.
+	 */
+	@Override public void invalidate( DirtyRegion region )
+	{
+		if ( this.speed.isZero() )
+			return;
+		
+		int left = (int)Math.min( this.getPreviousX(), this.getX() );
+		int top = (int)Math.min( this.getPreviousY(), this.getY() );
+		int right = (int)Math.max( this.getPreviousX(), this.getX() );
+		int bottom = (int)Math.max( this.getPreviousY(), this.getY() );
+		int w = (int)this.getWidth();
+		int h = (int)this.getHeight();
+		int reach = Math.max( w, h );
+		region.addDrawn( left - reach, top - reach, right - left + w + reach * 2, bottom - top + h + reach * 2 );
+	}
+	
 }
 
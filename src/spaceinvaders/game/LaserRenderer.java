@@ -0,0 +1,303 @@
+package spaceinvaders.game;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import spaceinvaders.framework.ImageLoader;
+import spaceinvaders.framework.Vector;
+
+
+
+/**
+ * 	The Laser Renderer draws every Laser in the game together in one pass
+ * 	instead of each Laser drawing itself. Lasers are grouped by Color, so the
+ * 	Color is only set once per group, and by the direction they travel in.
+ * 	
+ * 	Lasers that travel straight up, down, left or right are drawn as plain
+ * 	rectangles with no transform at all. Lasers at any other angle are drawn
+ * 	from Sprites of the Laser already rotated, one for each size, Color and
+ * 	angle (rounded to one of ROTATION_STEPS angles), made the first time they
+ * 	are needed.
+ * 	
+ * 	Each frame the renderer is cleared with begin(), every Laser to draw is
+ * 	added, and then they are all drawn with render(). After the first few
+ * 	frames this never creates a single object.
+ * 	
+ */
+public class LaserRenderer {
+	
+	
+	/** Number of angles a rotated Laser's direction is rounded to */
+	private static final int ROTATION_STEPS = 64;
+	
+	
+	
+	/** Lasers to draw this frame, grouped by Color */
+	private ArrayList<LaserBatch> batches;
+	/** Fraction of the way from where each Laser was before its last update to where it is now to draw it */
+	private double alpha;
+	
+	
+	
+	
+	/** Creates a new, empty, Laser Renderer */
+	public LaserRenderer()
+	{
+		this.batches = new ArrayList<LaserBatch>();
+		this.alpha = 1;
+	}
+	
+	
+	
+//==============================================================================
+//							LASERS
+//==============================================================================
+	
+	/** Removes every Laser added since the last frame, ready for the next */
+	public void begin()
+	{
+		this.begin( 1 );
+	}
+	
+	/**
+	 * 	Removes every Laser added since the last frame, ready for the next, 
+	 * 	where each Laser is drawn the given fraction (0 to 1) of the way from 
+	 * 	where it was before its last update to where it is now.
+	 */
+	public void begin( double alpha )
+	{
+		this.alpha = alpha;
+		for ( int i = 0; i < this.batches.size(); i++ )
+			this.batches.get(i).clear();
+	}
+	
+	/** Adds every Laser in the given List to be drawn this frame */
+	public void addAll( List<Laser> lasers )
+	{
+		for ( int i = 0; i < lasers.size(); i++ )
+			this.add( lasers.get(i) );
+	}
+	
+	/**
+	 * 	Adds the given Laser to be drawn this frame. Lasers that are not
+	 * 	moving have no direction and are not drawn, the same as Laser.render().
+	 */
+	public void add( Laser laser )
+	{
+		double speedX = laser.getSpeedX();
+		double speedY = laser.getSpeedY();
+		boolean stillX = Math.abs( speedX ) < Vector.EPSILON;
+		boolean stillY = Math.abs( speedY ) < Vector.EPSILON;
+		if ( stillX && stillY )
+			return;
+		
+		LaserBatch batch = this.getBatch( laser.getColor() );
+		int x = (int)laser.getDrawX( this.alpha );
+		int y = (int)laser.getDrawY( this.alpha );
+		int w = (int)laser.getWidth();
+		int h = (int)laser.getHeight();
+		
+		// Same as rotating the Laser about (x + w/2, y + w/2),
+		//	which Laser.render() does, by a quarter turn
+		int pivot = w / 2;
+		if ( stillX && speedY < 0 )
+			batch.addRect( x, y, w, h );
+		else if ( stillX )
+			batch.addRect( x + 2*pivot - w, y + 2*pivot - h, w, h );
+		else if ( stillY && speedX > 0 )
+			batch.addRect( x + 2*pivot - h, y, h, w );
+		else if ( stillY )
+			batch.addRect( x, y + 2*pivot - w, h, w );
+		else
+			batch.rotated.add( laser );
+	}
+	
+	/** Returns the batch of the given Color, creating it the first time */
+	private LaserBatch getBatch( Color color )
+	{
+		int rgb = color.getRGB();
+		for ( int i = 0; i < this.batches.size(); i++ )
+		{
+			LaserBatch batch = this.batches.get(i);
+			if ( batch.color.getRGB() == rgb )
+				return	batch;
+		}
+		
+		LaserBatch batch = new LaserBatch( color );
+		this.batches.add( batch );
+		return	batch;
+	}
+	
+//==============================================================================
+//							RENDER
+//==============================================================================
+	
+	/** Draws every Laser added since begin() was called */
+	public void render( Graphics2D g )
+	{
+		for ( int i = 0; i < this.batches.size(); i++ )
+		{
+			LaserBatch batch = this.batches.get(i);
+			
+			// Draw the straight Lasers in one go
+			g.setColor( batch.color );
+			int[] rects = batch.rects;
+			for ( int r = 0; r < batch.totalRects * 4; r += 4 )
+				g.fillRect( rects[r], rects[r + 1], rects[r + 2], rects[r + 3] );
+			
+			for ( int l = 0; l < batch.rotated.size(); l++ )
+				this.renderRotated( g, batch, batch.rotated.get(l) );
+		}
+	}
+	
+	/** Draws a Laser that is not straight from its pre-rotated Sprite */
+	private void renderRotated( Graphics2D g, LaserBatch batch, Laser laser )
+	{
+		int x = (int)laser.getDrawX( this.alpha );
+		int y = (int)laser.getDrawY( this.alpha );
+		int w = (int)laser.getWidth();
+		int h = (int)laser.getHeight();
+		if ( w <= 0 || h <= 0 )
+			return;
+		
+		// Round the direction to the nearest step
+		double turns = laser.getDirection() / (2 * Math.PI);
+		int step = (int)Math.round( turns * ROTATION_STEPS ) % ROTATION_STEPS;
+		if ( step < 0 )
+			step += ROTATION_STEPS;
+		
+		RotatedLaser sprite = batch.getRotated( w, h, step );
+		int pivot = w / 2;
+		g.drawImage( sprite.image, x + pivot + sprite.offsetX, y + pivot + sprite.offsetY, null );
+	}
+	
+//==============================================================================
+//							BATCH
+//==============================================================================
+	
+	/** All of the Lasers of one Color to draw this frame */
+	private static class LaserBatch {
+		
+		/** Color of the Lasers */
+		private Color color;
+		
+		/** Position and size of each straight Laser, four values each */
+		private int[] rects;
+		/** Number of straight Lasers in the batch */
+		private int totalRects;
+		
+		/** Lasers that are not straight */
+		private ArrayList<Laser> rotated;
+		/** Sprites of a rotated Laser made so far, for every size and angle */
+		private ArrayList<RotatedLaser> sprites;
+		
+		private LaserBatch( Color color )
+		{
+			this.color = color;
+			this.rects = new int[ 4 * 16 ];
+			this.rotated = new ArrayList<Laser>();
+			this.sprites = new ArrayList<RotatedLaser>();
+		}
+		
+		private void clear()
+		{
+			this.totalRects = 0;
+			this.rotated.clear();
+		}
+		
+		private void addRect( int x, int y, int w, int h )
+		{
+			int i = this.totalRects * 4;
+			if ( i == this.rects.length )
+			{
+				int[] grown = new int[ this.rects.length * 2 ];
+				System.arraycopy( this.rects, 0, grown, 0, i );
+				this.rects = grown;
+			}
+			
+			this.rects[i] = x;
+			this.rects[i + 1] = y;
+			this.rects[i + 2] = w;
+			this.rects[i + 3] = h;
+			this.totalRects ++;
+		}
+		
+		/** Returns the Sprite of a Laser of the given size and angle, creating it the first time */
+		private RotatedLaser getRotated( int w, int h, int step )
+		{
+			for ( int i = 0; i < this.sprites.size(); i++ )
+			{
+				RotatedLaser sprite = this.sprites.get(i);
+				if ( sprite.width == w && sprite.height == h && sprite.step == step )
+					return	sprite;
+			}
+			
+			RotatedLaser sprite = new RotatedLaser( w, h, step, this.color );
+			this.sprites.add( sprite );
+			return	sprite;
+		}
+	
+	}
+	
+	/** A Laser of one size and Color drawn already rotated to one angle */
+	private static class RotatedLaser {
+		
+		/** Size of the Laser before it was rotated */
+		private int width;
+		private int height;
+		/** Angle the Laser was rotated to, out of ROTATION_STEPS */
+		private int step;
+		
+		/** Image of the rotated Laser */
+		private BufferedImage image;
+		/** Distance from the point the Laser was rotated about to the Image's top left corner */
+		private int offsetX;
+		private int offsetY;
+		
+		private RotatedLaser( int width, int height, int step, Color color )
+		{
+			this.width = width;
+			this.height = height;
+			this.step = step;
+			
+			// Find the area the rotated Laser covers around the point it
+			//	turns about, which is half its width in from its top left
+			int pivot = width / 2;
+			AffineTransform rotate = AffineTransform.getRotateInstance( 2 * Math.PI * step / ROTATION_STEPS );
+			double[] corners = { -pivot, -pivot, width - pivot, -pivot, width - pivot, height - pivot, -pivot, height - pivot };
+			rotate.transform( corners, 0, corners, 0, 4 );
+			double minX = corners[0];
+			double minY = corners[1];
+			double maxX = corners[0];
+			double maxY = corners[1];
+			for ( int i = 2; i < corners.length; i += 2 )
+			{
+				minX = Math.min( minX, corners[i] );
+				minY = Math.min( minY, corners[i + 1] );
+				maxX = Math.max( maxX, corners[i] );
+				maxY = Math.max( maxY, corners[i + 1] );
+			}
+			this.offsetX = (int)Math.floor( minX );
+			this.offsetY = (int)Math.floor( minY );
+			int imageW = (int)Math.ceil( maxX ) - this.offsetX;
+			int imageH = (int)Math.ceil( maxY ) - this.offsetY;
+			
+			// Draw the Laser rotated into the Image
+			BufferedImage img = new BufferedImage( imageW, imageH, BufferedImage.TYPE_INT_ARGB );
+			Graphics2D g = img.createGraphics();
+			g.translate( -this.offsetX, -this.offsetY );
+			g.transform( rotate );
+			g.setColor( color );
+			g.fillRect( -pivot, -pivot, width, height );
+			g.dispose();
+			
+			this.image = ImageLoader.toCompatibleImage( img );
+		}
+	
+	}
+	
+}
@@ -30,9 +30,12 @@ public class PlayerShip extends GameObject {
 	
 	private int HP;
 	
+	private Screen screen;
 	
-	public PlayerShip() {
+	
+	public PlayerShip(Screen screen) {
 		super("Ship");
+		this.screen = screen;
 		this.moveDirection = 0;
 		this.speed = 500;
 		this.maxLasers = 5;
@@ -81,12 +84,12 @@ public class PlayerShip extends GameObject {
 	}
 	
 	
-	public void fireLaser() {
+	public boolean fireLaser() {
 		
 		boolean cooldownExpired = (this.cooldownTimer <= 0);
 		
 		if ((this.lasers.size() < this.maxLasers) && cooldownExpired) {
-
+			
 			
 			Laser laser = new Laser(Color.WHITE);
 			laser.setBounds(this.getCenterX(), this.getY(), 5, 10);
@@ -96,9 +99,10 @@ public class PlayerShip extends GameObject {
 			
 			
 			this.cooldownTimer = this.cooldown;
-			
-			
+			return true;
+		
 		}
+		return false;
 	}
 	
 	public ArrayList<Laser> getAllActiveLasers() {
@@ -108,7 +112,8 @@ public class PlayerShip extends GameObject {
 	
 	@Override
 	public void update(double secsPerFrame) {
-		
+		// Remember where the ship was so it can be drawn part way between
+		this.savePosition();
 		this.updateMovement(secsPerFrame);
 		this.updateLasers(secsPerFrame);
 		this.updateCooldown(secsPerFrame);
@@ -126,7 +131,7 @@ public class PlayerShip extends GameObject {
 			Laser laser = this.lasers.get(i);
 			
 			
-			if (Screen.isOffScreen(laser) || !laser.isActive()) {
+			if (this.screen.isOffScreen(laser) || !laser.isActive()) {
 				this.lasers.remove(i);
 			}
 			
@@ -148,23 +153,15 @@ public class PlayerShip extends GameObject {
 	@Override
 	public void render(Graphics2D g) {
 		this.renderMovement(g);
-		this.renderLasers(g);
 	}
 	
 	public void renderMovement(Graphics2D g) {
 		int currX = (int)this.getX();
 		int currY = (int)this.getY();
 		
-		g.drawImage(this.shipImg, currX, currY, shipW, shipH, null);
+		ImageLoader.drawSprite(g, this.shipImg, currX, currY, shipW, shipH);
 		
 	}
-	
-	
-	public void renderLasers(Graphics2D g) {
-		for (Laser laser : this.lasers) {
-			laser.render(g);
-		}
-	}
 
 	
 }
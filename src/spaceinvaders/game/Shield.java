@@ -0,0 +1,260 @@
+package spaceinvaders.game;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+import spaceinvaders.framework.CollisionMask;
+import spaceinvaders.framework.DirtyRegion;
+import spaceinvaders.framework.GameObject;
+
+
+
+/**
+ * 	Represents a Shield bunker the player can hide behind. Shields are worn
+ * 	away a bit at a time, every Laser or Bomb that hits one carves a crater
+ * 	out of it, until there is nothing left. Shields are made by the Shield
+ * 	Factory (see ShieldFactory.createShield()).
+ * 	
+ * 	What is left of the Shield is kept as a Collision Mask, one bit per pixel,
+ * 	which is what Lasers are tested against. Craters are precomputed stamps
+ * 	that are cleared out of the mask a whole word at a time. The Shield's
+ * 	Image is only brought up to date with the mask when it is next drawn, and
+ * 	only over the area that has been hit since, so heavy fire never makes the
+ * 	Shield rebuild its whole Image or create any objects.
+ */
+public class Shield extends GameObject {
+	
+	
+	/** Solid pixels of what is left of the Shield */
+	private CollisionMask mask;
+	
+	/** Pixels of the Shield as it should look, cleared as it is worn away */
+	private BufferedImage source;
+	private int[] pixels;
+	/** Image of the Shield that is drawn, brought up to date from the source when needed */
+	private BufferedImage image;
+	private Graphics2D imageGraphics;
+	
+	/** Craters carved by Lasers, used in turn */
+	private CollisionMask[] laserCraters;
+	/** Index of the next Laser crater to use */
+	private int nextCrater;
+	/** Crater carved by a Bomb */
+	private CollisionMask bombCrater;
+	
+	/** Area worn away since the Image was last brought up to date */
+	private int staleLeft;
+	private int staleTop;
+	private int staleRight;
+	private int staleBottom;
+	
+	/** Area worn away since it was last reported to a Dirty Region */
+	private int changedLeft;
+	private int changedTop;
+	private int changedRight;
+	private int changedBottom;
+	
+	
+	
+	
+	/**
+	 * 	Creates a new Shield that looks like the given Image, which must be
+	 * 	the size the Shield is drawn at, and is worn away by the given
+	 * 	craters.
+	 */
+	public Shield( BufferedImage look, CollisionMask[] laserCraters, CollisionMask bombCrater )
+	{
+		super( "Shield" );
+		
+		int w = look.getWidth();
+		int h = look.getHeight();
+		this.setSize( w, h );
+		this.mask = new CollisionMask( look );
+		this.laserCraters = laserCraters;
+		this.bombCrater = bombCrater;
+		
+		// Keep the pixels to clear as the Shield is worn away...
+		this.source = new BufferedImage( w, h, BufferedImage.TYPE_INT_ARGB );
+		Graphics2D sg = this.source.createGraphics();
+		sg.drawImage( look, 0, 0, null );
+		sg.dispose();
+		this.pixels = ((DataBufferInt)this.source.getRaster().getDataBuffer()).getData();
+		
+		// ... apart from the Image that is drawn, which the screen can
+		//	then keep a copy of until the Shield is hit again
+		this.image = new BufferedImage( w, h, BufferedImage.TYPE_INT_ARGB_PRE );
+		this.imageGraphics = this.image.createGraphics();
+		this.imageGraphics.setComposite( AlphaComposite.Src );
+		this.imageGraphics.drawImage( this.source, 0, 0, null );
+		
+		this.resetStale();
+		this.resetChanged();
+	}
+	
+	
+	
+//==============================================================================
+//							HITS
+//==============================================================================
+	
+	/**
+	 * 	Returns true if the given Laser hit what is left of the Shield anywhere
+	 * 	along the way it moved in its last update, and if so carves a crater
+	 * 	where it first reached the Shield. It is up to the caller to stop the
+	 * 	Laser.
+	 */
+	public boolean hit( Laser laser )
+	{
+		int x = (int)this.getX();
+		int y = (int)this.getY();
+		
+		// Area the Laser covered from where it was to where it is,
+		//	in the Shield's own pixels
+		double fromX = laser.getPreviousX();
+		double fromY = laser.getPreviousY();
+		int left = (int)Math.floor( Math.min( fromX, laser.getX() ) ) - x;
+		int top = (int)Math.floor( Math.min( fromY, laser.getY() ) ) - y;
+		int right = (int)Math.ceil( Math.max( fromX, laser.getX() ) + laser.getWidth() ) - x;
+		int bottom = (int)Math.ceil( Math.max( fromY, laser.getY() ) + laser.getHeight() ) - y;
+		if ( !this.mask.overlaps( 0, 0, left, top, right, bottom ) )
+			return false;
+		
+		// Find the first row the Laser reached, from the side it came in
+		left = Math.max( left, 0 );
+		right = Math.min( right, this.mask.getWidth() );
+		top = Math.max( top, 0 );
+		bottom = Math.min( bottom, this.mask.getHeight() );
+		boolean up = laser.getY() < fromY;
+		int row = up ? bottom - 1 : top;
+		while ( !this.mask.overlaps( 0, 0, left, row, right, row + 1 ) )
+			row += up ? -1 : 1;
+		
+		int col = left;
+		while ( !this.mask.isSolid( col, row ) )
+			col ++;
+		
+		CollisionMask crater = this.laserCraters[ this.nextCrater ];
+		this.nextCrater = (this.nextCrater + 1) % this.laserCraters.length;
+		this.erode( crater, x + col - crater.getWidth() / 2, y + row - crater.getHeight() / 2 );
+		return true;
+	}
+	
+	/** Carves a Bomb crater out of the Shield centered on the given position */
+	public void explode( double x, double y )
+	{
+		int craterX = (int)x - this.bombCrater.getWidth() / 2;
+		int craterY = (int)y - this.bombCrater.getHeight() / 2;
+		this.erode( this.bombCrater, craterX, craterY );
+	}
+	
+	/**
+	 * 	Clears every pixel of the Shield under a solid pixel of the given
+	 * 	crater, with the crater's top left at the given position.
+	 */
+	public void erode( CollisionMask crater, int x, int y )
+	{
+		x -= (int)this.getX();
+		y -= (int)this.getY();
+		this.mask.subtract( crater, x, y );
+		
+		int w = this.mask.getWidth();
+		int left = Math.max( 0, x );
+		int top = Math.max( 0, y );
+		int right = Math.min( w, x + crater.getWidth() );
+		int bottom = Math.min( this.mask.getHeight(), y + crater.getHeight() );
+		if ( left >= right || top >= bottom )
+			return;
+		
+		// Clear the pixels the mask has lost
+		for ( int row = top; row < bottom; row++ )
+			for ( int col = left; col < right; col++ )
+				if ( !this.mask.isSolid( col, row ) )
+					this.pixels[ row * w + col ] = 0;
+		
+		this.staleLeft = Math.min( this.staleLeft, left );
+		this.staleTop = Math.min( this.staleTop, top );
+		this.staleRight = Math.max( this.staleRight, right );
+		this.staleBottom = Math.max( this.staleBottom, bottom );
+		
+		this.changedLeft = Math.min( this.changedLeft, left );
+		this.changedTop = Math.min( this.changedTop, top );
+		this.changedRight = Math.max( this.changedRight, right );
+		this.changedBottom = Math.max( this.changedBottom, bottom );
+	}
+	
+	/** Returns true once there is nothing left of the Shield */
+	public boolean isDestroyed()
+	{
+		return	this.mask.getTotalSolid() == 0;
+	}
+	
+	/** Returns the Collision Mask of what is left of the Shield */
+	public CollisionMask getCollisionMask()
+	{
+		return	this.mask;
+	}
+	
+//==============================================================================
+//							UPDATE / RENDER
+//==============================================================================
+	
+	/** Shields don't move or change by themselves, so there is nothing to update */
+	@Override public void update( double secsPerFrame )
+	{
+	}
+	
+	/**
+	 * 	Renders the Shield, first bringing its Image up to date with the area
+	 * 	that has been worn away since it was last drawn.
+	 */
+	@Override public void render( Graphics2D g )
+	{
+		if ( this.staleLeft < this.staleRight )
+		{
+			int l = this.staleLeft;
+			int t = this.staleTop;
+			int r = this.staleRight;
+			int b = this.staleBottom;
+			this.imageGraphics.drawImage( this.source, l, t, r, b, l, t, r, b, null );
+			this.resetStale();
+		}
+		
+		g.drawImage( this.image, (int)this.getX(), (int)this.getY(), null );
+	}
+	
+	/**
+	 * 	Reports the area worn away since the last frame, the rest of the
+	 * 	Shield looks the same as it did.
+	 */
+	@Override public void invalidate( DirtyRegion region )
+	{
+		if ( this.changedLeft >= this.changedRight )
+			return;
+		
+		int x = (int)this.getX();
+		int y = (int)this.getY();
+		region.add( x + this.changedLeft, y + this.changedTop, this.changedRight - this.changedLeft, this.changedBottom - this.changedTop );
+		this.resetChanged();
+	}
+	
+	/** Marks the Image as up to date */
+	private void resetStale()
+	{
+		this.staleLeft = Integer.MAX_VALUE;
+		this.staleTop = Integer.MAX_VALUE;
+		this.staleRight = Integer.MIN_VALUE;
+		this.staleBottom = Integer.MIN_VALUE;
+	}
+	
+	/** Marks nothing as worn away since it was last reported */
+	private void resetChanged()
+	{
+		this.changedLeft = Integer.MAX_VALUE;
+		this.changedTop = Integer.MAX_VALUE;
+		this.changedRight = Integer.MIN_VALUE;
+		this.changedBottom = Integer.MIN_VALUE;
+	}
+	
+}
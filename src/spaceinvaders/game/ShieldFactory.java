@@ -1,19 +1,24 @@
 package spaceinvaders.game;
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.util.Random;
 
+import spaceinvaders.framework.CollisionMask;
 import spaceinvaders.framework.ImageLoader;
 
 
 
 /**
  * 	The Shield Factory will handle the creation of the Shields in the Game. A 
- * 	Shield is actually made up of several smaller Game Objects working together 
- * 	to form the full Shield, and as the different sections are individually hit 
- * 	they will be destroyed. Once all inidividual sections are destroyed the Shield 
- * 	itself is considered to be destroyed. Because each Shield is made of 6 smaller 
- * 	Game Objects, each with their own unique images, this class handles the complex 
- * 	creation of a Shield.
+ * 	Shield's Image is put together from 6 smaller section images, in 2 rows of 
+ * 	3, scaled up to the size the Shield is drawn at. The Shield is then worn 
+ * 	away pixel by pixel as it is hit, see Shield.
+ * 	
+ * 	The factory also makes the craters that Lasers and Bombs carve out of the 
+ * 	Shields, once up front, so hitting a Shield never has to work one out. The 
+ * 	craters are ragged, blocky, holes the same scale as the section images, so 
+ * 	the worn Shields keep the look of the original game.
  * 	 
  */
 public class ShieldFactory {
@@ -36,6 +41,19 @@ public class ShieldFactory {
 	/** Directory of which all Shield section images are stored */
 	private static final String DIRECTORY = "res/images/shields/";
 	
+	/** Number of screen pixels each pixel of the section images is drawn as */
+	private static final int SCALE = 4;
+	/** Size of a section image, if the images could not be loaded */
+	private static final int DEFAULT_SECTION_WIDTH = 8;
+	private static final int DEFAULT_SECTION_HEIGHT = 10;
+	
+	/** Number of different craters Lasers carve, used in turn */
+	private static final int TOTAL_LASER_CRATERS = 4;
+	/** Radius of a Laser crater, in section image pixels */
+	private static final int LASER_CRATER_RADIUS = 2;
+	/** Radius of a Bomb crater, in section image pixels */
+	private static final int BOMB_CRATER_RADIUS = 6;
+	
 	
 	
 	/** Image used for the top-left section of a Shield */
@@ -51,6 +69,15 @@ public class ShieldFactory {
 	/** Image used for the bottom-right section of a Shield */
 	private BufferedImage botRightImg;
 	
+	/** Size of each Shield, in screen pixels */
+	private int shieldWidth;
+	private int shieldHeight;
+	
+	/** Craters that Lasers carve, shared by every Shield */
+	private CollisionMask[] laserCraters;
+	/** Crater that a Bomb carves, shared by every Shield */
+	private CollisionMask bombCrater;
+	
 	
 	
 	/**
@@ -65,6 +92,18 @@ public class ShieldFactory {
 		this.botLeftImg 	= ImageLoader.loadImage( DIRECTORY, BOT_LEFT_IMAGE ); 
 		this.botMidImg 		= ImageLoader.loadImage( DIRECTORY, BOT_MID_IMAGE ); 
 		this.botRightImg 	= ImageLoader.loadImage( DIRECTORY, BOT_RIGHT_IMAGE ); 
+		
+		int sectionW = this.topLeftImg == null ? DEFAULT_SECTION_WIDTH : this.topLeftImg.getWidth();
+		int sectionH = this.topLeftImg == null ? DEFAULT_SECTION_HEIGHT : this.topLeftImg.getHeight();
+		this.shieldWidth = sectionW * 3 * SCALE;
+		this.shieldHeight = sectionH * 2 * SCALE;
+		
+		// Same craters every game
+		Random random = new Random( 1978 );
+		this.laserCraters = new CollisionMask[ TOTAL_LASER_CRATERS ];
+		for ( int i = 0; i < this.laserCraters.length; i++ )
+			this.laserCraters[i] = createCrater( LASER_CRATER_RADIUS, random );
+		this.bombCrater = createCrater( BOMB_CRATER_RADIUS, random );
 	}
 	
 	
@@ -73,4 +112,77 @@ public class ShieldFactory {
 //								SHIELDS		
 //==============================================================================
 	
+	/**
+	 * 	Creates a new, whole, Shield with its top left corner at the given 
+	 * 	position. 
+	 */
+	public Shield createShield( double x, double y )
+	{
+		int w = this.shieldWidth;
+		int h = this.shieldHeight;
+		BufferedImage look = new BufferedImage( w, h, BufferedImage.TYPE_INT_ARGB );
+		Graphics2D g = look.createGraphics();
+		this.drawSection( g, this.topLeftImg, 0, 0 );
+		this.drawSection( g, this.topMidImg, 1, 0 );
+		this.drawSection( g, this.topRightImg, 2, 0 );
+		this.drawSection( g, this.botLeftImg, 0, 1 );
+		this.drawSection( g, this.botMidImg, 1, 1 );
+		this.drawSection( g, this.botRightImg, 2, 1 );
+		g.dispose();
+		
+		Shield shield = new Shield( look, this.laserCraters, this.bombCrater );
+		shield.setPosition( x, y );
+		return	shield;
+	}
+	
+	/** Draws the given section image scaled up into the given column and row of a Shield */
+	private void drawSection( Graphics2D g, BufferedImage img, int col, int row )
+	{
+		if ( img == null )
+			return;
+		
+		int w = this.shieldWidth / 3;
+		int h = this.shieldHeight / 2;
+		g.drawImage( img, col * w, row * h, w, h, null );
+	}
+	
+	/** Returns the width of each Shield this factory creates */
+	public int getShieldWidth()
+	{
+		return	this.shieldWidth;
+	}
+	
+	/** Returns the height of each Shield this factory creates */
+	public int getShieldHeight()
+	{
+		return	this.shieldHeight;
+	}
+	
+//==============================================================================
+//								CRATERS		
+//==============================================================================
+	
+	/**
+	 * 	Creates a ragged, roughly round, crater with the given radius in 
+	 * 	section image pixels, each one blown up to a block of SCALE screen 
+	 * 	pixels. The middle is always cleared, the edge is eaten away at random.
+	 */
+	private static CollisionMask createCrater( int radius, Random random )
+	{
+		int size = radius * 2 + 1;
+		CollisionMask crater = new CollisionMask( size * SCALE, size * SCALE );
+		for ( int y = 0; y < size; y++ )
+			for ( int x = 0; x < size; x++ )
+			{
+				double dist = Math.hypot( x - radius, y - radius );
+				if ( dist > radius + 0.5 - random.nextDouble() * radius * 0.6 )
+					continue;
+				
+				for ( int by = 0; by < SCALE; by++ )
+					for ( int bx = 0; bx < SCALE; bx++ )
+						crater.setSolid( x * SCALE + bx, y * SCALE + by, true );
+			}
+		return	crater;
+	}
+	
 }
@@ -2,70 +2,303 @@ package spaceinvaders.game;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.util.ArrayList;
+import java.awt.Rectangle;
+import java.util.Random;
 
+import spaceinvaders.framework.DirtyRegion;
+import spaceinvaders.framework.GameContext;
+import spaceinvaders.framework.RenderLayer;
 import spaceinvaders.framework.Screen;
+import spaceinvaders.framework.Time;
 
+/**
+ * 	Space is the starfield behind every Scene. The stars are drawn into an
+ * 	opaque Render Layer that covers the whole screen, and the layer is only
+ * 	painted again a few times a second as the stars flicker, so each frame
+ * 	the whole background costs a single copy.
+ * 	
+ * 	Each star flickers from its own shade of grey down to black and back over
+ * 	its own flicker time. The stars are kept in plain arrays, one entry per
+ * 	star, and every shade of grey comes from a palette made once up front, so
+ * 	updating the starfield never creates a single object.
+ * 	
+ * 	By default the flicker is ANALYTIC: a star's shade is worked out straight
+ * 	from the Game's total time, its phase and its flicker time whenever the
+ * 	star is drawn, so update() has nothing to do and only stars inside the
+ * 	area being drawn are ever looked at. This lets the starfield hold far more
+ * 	stars (see setTotalStars()). The older step-by-step flicker, where each
+ * 	star's timer is moved along every update, can still be switched on with
+ * 	setAnalyticFlicker(false).
+ */
 public class Space {
-	private static Space space;
-	private ArrayList<Star> stars;
+	private static final String CONTEXT_KEY = "Space";
 	
-	private Space() {
-		this.stars = new ArrayList<Star>();
+	/** Default seconds between repaints of the star layer, the flicker is slow enough not to need every frame */
+	private static final double STAR_REFRESH_INTERVAL = 1.0 / 20;
+	
+	private static final int DEFAULT_TOTAL_STARS = 1000;
+	
+	/** Every shade of grey a star can be, indexed by its brightness from 0 to 255 */
+	private static final Color[] GREYS = createGreys();
+	
+	private int totalStars;
+	private int[] starX;
+	private int[] starY;
+	private int[] starSize;
+	/** Brightness of each star at the start of its flicker */
+	private int[] starBrightness;
+	/** Brightness of each star right now, an index into GREYS, when not analytic */
+	private int[] starShade;
+	private double[] flickerTimer;
+	private double[] totalFlickerTime;
+	/** +1 while a star is fading to black, -1 while it is coming back */
+	private int[] flickerDirection;
+	/** Seconds added to the total time to get how far along its flicker each star is, when analytic */
+	private double[] flickerPhase;
+	
+	private boolean analyticFlicker;
+	private double lastStarPaint;
+	private double starRefreshInterval;
+	
+	private Random random;
+	private Screen screen;
+	private Time time;
+	private RenderLayer starLayer;
+	
+	private Space(GameContext context) {
+		this.random = context.getRandom();
+		this.screen = context.getScreen();
+		this.time = context.getTime();
+		this.analyticFlicker = true;
+		this.totalStars = DEFAULT_TOTAL_STARS;
+		this.starRefreshInterval = STAR_REFRESH_INTERVAL;
 		createStars();
+		createStarLayer();
+	}
+	
+	private void createStarLayer() {
+		this.starLayer = new RenderLayer(this.screen.getScreenWidth(), this.screen.getScreenHeight()) {
+			@Override protected void paint(Graphics2D g) {
+				g.setColor(Color.BLACK);
+				g.fillRect(0, 0, this.getWidth(), this.getHeight());
+				Space.this.renderStars(g);
+			}
+		};
+	}
+	
+	private static Color[] createGreys() {
+		Color[] greys = new Color[256];
+		for (int i = 0; i < greys.length; i++) {
+			greys[i] = new Color(i, i, i);
+		}
+		return greys;
 	}
 	
 	public void createStars() {
-		for (int i = 0; i < 1000; i++) {
-			
-			int colorVal = (int) (Math.random() * 255);
-			Star s = new Star(new Color(colorVal, colorVal, colorVal));
-			
-			int x = (int) (Math.random() * Screen.getScreenWidth());
-			int y = (int) (Math.random() * Screen.getScreenHeight());
-			
-			int size = (int) (Math.random() * 6 + 1);
+		this.starX = new int[this.totalStars];
+		this.starY = new int[this.totalStars];
+		this.starSize = new int[this.totalStars];
+		this.starBrightness = new int[this.totalStars];
+		this.starShade = new int[this.totalStars];
+		this.flickerTimer = new double[this.totalStars];
+		this.totalFlickerTime = new double[this.totalStars];
+		this.flickerDirection = new int[this.totalStars];
+		this.flickerPhase = new double[this.totalStars];
+		
+		for (int i = 0; i < this.totalStars; i++) {
 			
-			s.setBounds(x, y, size, size);
+			int colorVal = (int) (this.random.nextDouble() * 255);
+			this.starBrightness[i] = colorVal;
+			this.starShade[i] = colorVal;
 			
-			double flickerTime = (Math.random() * 0.6) + 0.6;
-			s.setTotalFlickerTime(flickerTime);
-			this.stars.add(s);
+			this.starX[i] = (int) (this.random.nextDouble() * this.screen.getScreenWidth());
+			this.starY[i] = (int) (this.random.nextDouble() * this.screen.getScreenHeight());
 			
+			this.starSize[i] = (int) (this.random.nextDouble() * 6 + 1);
 			
+			this.totalFlickerTime[i] = (this.random.nextDouble() * 0.6) + 0.6;
+			this.flickerDirection[i] = 1;
 			
+			// Every star starts its flicker at the current time
+			this.flickerPhase[i] = -this.time.getTotalTime();
 		}
 	}
 	
-	public static Space get() {
+	public static Space get(GameContext context) {
+		Space space = (Space) context.getAttribute(CONTEXT_KEY);
 		if (space == null) {
-			space = new Space();
+			space = new Space(context);
+			context.setAttribute(CONTEXT_KEY, space);
 		}
 		return space;
 	}
 	
+	/**
+	 * 	Sets the number of stars in the starfield and creates them all again
+	 * 	in new random places. If the number is negative this throws an
+	 * 	IllegalArgumentException.
+	 */
+	public void setTotalStars(int totalStars) {
+		if (totalStars < 0) {
+			throw new IllegalArgumentException("Total stars must be a non-negative value: " + totalStars);
+		}
+		this.totalStars = totalStars;
+		this.createStars();
+		this.starLayer.invalidate();
+	}
+	
+	public int getTotalStars() {
+		return this.totalStars;
+	}
+	
+	/**
+	 * 	Set to true to work out each star's shade from the total time when it
+	 * 	is drawn, or false to move each star's flicker along every update.
+	 * 	The stars carry on from the shade they are at when switched.
+	 */
+	public void setAnalyticFlicker(boolean analytic) {
+		if (analytic == this.analyticFlicker) {
+			return;
+		}
+		
+		double now = this.time.getTotalTime();
+		for (int i = 0; i < this.totalStars; i++) {
+			double period = this.totalFlickerTime[i];
+			if (analytic) {
+				// Find how far along a full fade out and back in the star is
+				double timer = Math.max(0, Math.min(period, this.flickerTimer[i]));
+				double cycleTime = this.flickerDirection[i] > 0 ? timer : 2 * period - timer;
+				this.flickerPhase[i] = cycleTime - now;
+			}
+			else {
+				double cycleTime = this.getCycleTime(i, now);
+				this.flickerTimer[i] = cycleTime <= period ? cycleTime : 2 * period - cycleTime;
+				this.flickerDirection[i] = cycleTime <= period ? +1 : -1;
+				this.starShade[i] = this.getAnalyticShade(i, now);
+			}
+		}
+		this.analyticFlicker = analytic;
+	}
+	
+	public boolean isAnalyticFlicker() {
+		return this.analyticFlicker;
+	}
+	
+	/**
+	 * 	Sets the number of seconds between repaints of the stars as they 
+	 * 	flicker. Every repaint covers the whole screen, so a longer interval 
+	 * 	saves a lot of drawing when the Game only draws what has changed, at 
+	 * 	the cost of a choppier flicker. If the interval is negative this throws 
+	 * 	an IllegalArgumentException.
+	 */
+	public void setStarRefreshInterval(double secs) {
+		if (secs < 0) {
+			throw new IllegalArgumentException("Star refresh interval must be a non-negative value: " + secs);
+		}
+		this.starRefreshInterval = secs;
+	}
+	
+	public double getStarRefreshInterval() {
+		return this.starRefreshInterval;
+	}
+	
+	/** Moves the stars' flicker along, unless the flicker is analytic */
 	public void update(double secsPerFrame) {
-		this.updateStars(secsPerFrame);
+		if (!this.analyticFlicker) {
+			this.updateStars(secsPerFrame);
+		}
 	}
 	
+	/** Moves every star along its flicker, from its own brightness to black and back */
 	private void updateStars(double secsPerFrame) {
-		for (int i = 0; i < this.stars.size(); i++) {
-			this.stars.get(i).update(secsPerFrame);
+		for (int i = 0; i < this.totalStars; i++) {
+			double timer = this.flickerTimer[i] + secsPerFrame * this.flickerDirection[i];
+			double percent = timer / this.totalFlickerTime[i];
+			if (percent > 1) {
+				percent = 1;
+			}
+			if (percent < 0) {
+				percent = 0;
+			}
+			
+			this.flickerTimer[i] = timer;
+			this.starShade[i] = this.starBrightness[i] - (int) (this.starBrightness[i] * percent);
+			
+			// Change direction of the flicker when reached on end
+			if (percent == 1) {
+				this.flickerDirection[i] = -1;
+			}
+			else if (percent == 0) {
+				this.flickerDirection[i] = +1;
+			}
 		}
-		
 	}
 	
+	/**
+	 * 	Returns how far the given star is through one full fade out and back
+	 * 	in at the given total time, from 0 up to twice its flicker time.
+	 */
+	private double getCycleTime(int star, double now) {
+		double cycle = 2 * this.totalFlickerTime[star];
+		double cycleTime = (now + this.flickerPhase[star]) % cycle;
+		return cycleTime < 0 ? cycleTime + cycle : cycleTime;
+	}
+	
+	/** Returns the shade of the given star at the given total time, as a triangle wave */
+	private int getAnalyticShade(int star, double now) {
+		double period = this.totalFlickerTime[star];
+		double percent = this.getCycleTime(star, now) / period;
+		if (percent > 1) {
+			percent = 2 - percent;
+		}
+		return this.starBrightness[star] - (int) (this.starBrightness[star] * percent);
+	}
+	
+	/** Draws the whole starfield, covering every pixel of the screen */
 	public void render(Graphics2D g) {
-		this.renderStars(g);
+		// Repaint the stars a few times a second as they flicker
+		if (this.isStarRepaintDue()) {
+			this.lastStarPaint = this.time.getTotalTime();
+			this.starLayer.invalidate();
+		}
+		
+		this.starLayer.render(g, 0, 0);
+	}
+	
+	/** Returns true if the stars have flickered enough to be repainted this frame */
+	private boolean isStarRepaintDue() {
+		double now = this.time.getTotalTime();
+		return now < this.lastStarPaint || now - this.lastStarPaint >= this.starRefreshInterval;
 	}
 	
+	/** Makes the whole screen dirty if the stars are repainted this frame */
+	public void invalidate(DirtyRegion region) {
+		if (this.isStarRepaintDue() || this.starLayer.isDirty()) {
+			region.invalidateAll();
+		}
+	}
+	
+	/** Draws every star inside the Graphics' clip, skipping the rest */
 	private void renderStars(Graphics2D g) {
+		Rectangle clip = g.getClipBounds();
+		int left = clip == null ? Integer.MIN_VALUE : clip.x;
+		int top = clip == null ? Integer.MIN_VALUE : clip.y;
+		int right = clip == null ? Integer.MAX_VALUE : clip.x + clip.width;
+		int bottom = clip == null ? Integer.MAX_VALUE : clip.y + clip.height;
 		
-		for (int i = 0; i < this.stars.size(); i++) {
-			this.stars.get(i).render(g);
+		double now = this.time.getTotalTime();
+		for (int i = 0; i < this.totalStars; i++) {
+			int x = this.starX[i];
+			int y = this.starY[i];
+			int size = this.starSize[i];
+			if (x >= right || y >= bottom || x + size <= left || y + size <= top) {
+				continue;
+			}
 			
+			int shade = this.analyticFlicker ? this.getAnalyticShade(i, now) : this.starShade[i];
+			g.setColor(GREYS[shade]);
+			g.fillOval(x, y, size, size);
 		}
-		
 	}
-
+	
 }
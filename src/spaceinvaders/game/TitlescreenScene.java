@@ -1,32 +1,45 @@
 package spaceinvaders.game;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Composite;
 import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 import java.util.List;
 
+import spaceinvaders.framework.BitmapFont;
 import spaceinvaders.framework.ImageLoader;
 import spaceinvaders.framework.Keyboard;
+import spaceinvaders.framework.RenderQueue;
 import spaceinvaders.framework.Scene;
 import spaceinvaders.framework.SceneController;
 import spaceinvaders.framework.Screen;
 import spaceinvaders.framework.Sound;
 
 public class TitlescreenScene extends Scene {
+	private static final String TITLE = "Space Invaders!";
+	private static final String START_BUTTON = "Press Space";
+	
+	/** Number of steps the title fades between its two colors in */
+	private static final int FADE_STEPS = 64;
 	
 	private Color firstTitleColor;
 	private Color secondTitleColor;
 	private Color shadowColor;
-	private Color currentTitleColor;
 	
 	private double totalFadeTime;
 	private double fadeTimer;
 	private int fadeDirection;
+	/** How far the title is faded from its first color to its second, from 0 to 1 */
+	private double fadePercent;
+	/** The second color is drawn over the first at each step of the fade */
+	private AlphaComposite[] fadeComposites;
 	
-	private ArrayList<Star> stars;
+	private BitmapFont titleFont;
+	private BitmapFont startButtonFont;
+	private int titleX;
+	private int startButtonX;
 	
 	private boolean startButtonVisible;
 	private double startButtonDelay;
@@ -35,6 +48,7 @@ public class TitlescreenScene extends Scene {
 	private Color startButtonShadowColor;
 	
 	private Space space;
+	private Screen screen;
 	
 	private Sound backgroundSound;
 	private BufferedImage background;
@@ -43,17 +57,16 @@ public class TitlescreenScene extends Scene {
 	public TitlescreenScene() {
 		super("Titlescreen");
 		
-		this.stars = new ArrayList<Star>();
-		
 		this.firstTitleColor = new Color(255, 132, 0);
 		this.secondTitleColor = new Color(255, 200, 0);
 		this.shadowColor = new Color(255, 0, 0);
-		this.currentTitleColor = this.firstTitleColor;
 		
 		this.totalFadeTime = 2;
 		this.fadeDirection = +1;
-		
-		this.space = Space.get();
+		this.fadeComposites = new AlphaComposite[FADE_STEPS + 1];
+		for (int i = 0; i <= FADE_STEPS; i++) {
+			this.fadeComposites[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) i / FADE_STEPS);
+		}
 		
 		this.startButtonVisible = false;
 		this.startButtonDelay = 0;
@@ -61,18 +74,24 @@ public class TitlescreenScene extends Scene {
 		this.startButtonColor = new Color(255, 0, 0);
 		this.startButtonShadowColor = new Color(0, 255, 0);
 		
-		this.backgroundSound = new Sound("res/sounds/observatory.wav");
-		this.background = ImageLoader.loadImage("res/backgrounds/", "observatory.jpg");
-		
-		
-		
 	}
 	
-
+	
 	@Override
 	public void load() {
-		// TODO Auto-generated method stub
+		this.space = Space.get(this.getContext());
+		this.screen = this.getContext().getScreen();
 		
+		this.backgroundSound = new Sound("res/sounds/observatory.wav");
+		this.background = ImageLoader.loadImage("res/backgrounds/", "observatory.jpg");
+		
+		// The text never changes, so lay it out once and draw it
+		//	from prerendered images every frame
+		this.titleFont = BitmapFont.get("SpaceInvaders", Font.PLAIN, 80);
+		this.startButtonFont = BitmapFont.get("SpaceInvaders", Font.PLAIN, 40);
+		int screenW = this.screen.getScreenWidth();
+		this.titleX = (screenW - this.titleFont.stringWidth(TITLE)) / 2;
+		this.startButtonX = (screenW - this.startButtonFont.stringWidth(START_BUTTON)) / 2;
 	}
 
 	@Override
@@ -132,18 +151,7 @@ public class TitlescreenScene extends Scene {
 			percent = 0;
 		}
 		
-		//calculate difference between the colors
-		int distRed = this.secondTitleColor.getRed() - this.firstTitleColor.getRed();
-		int distGreen = this.secondTitleColor.getGreen() - this.firstTitleColor.getGreen();
-		int distBlue = this.secondTitleColor.getBlue() - this.firstTitleColor.getBlue();
-		
-		//calculate new color
-		
-		int red = this.firstTitleColor.getRed() + (int)(distRed * percent);
-		int green = this.firstTitleColor.getGreen() + (int)(distGreen * percent);
-		int blue = this.firstTitleColor.getBlue() + (int)(distBlue * percent);
-		
-		this.currentTitleColor = new Color(red, green, blue);
+		this.fadePercent = percent;
 		
 		if (percent == 1) {
 			this.fadeDirection = -1;
@@ -171,7 +179,7 @@ public class TitlescreenScene extends Scene {
 	@Override
 	public void render(Graphics2D g) {
 		
-		//g.drawImage(this.background, 0, 0, Screen.getScreenWidth(), Screen.getScreenHeight(), null);
+		//g.drawImage(this.background, 0, 0, this.screen.getScreenWidth(), this.screen.getScreenHeight(), null);
 		
 		this.space.render(g);
 		this.renderTitle(g);
@@ -184,43 +192,44 @@ public class TitlescreenScene extends Scene {
 	
 
 	
+	/** Space covers the whole screen, so the Game doesn't need to clear it */
+	@Override
+	public boolean coversScreen() {
+		return true;
+	}
+	
 	private void renderTitle(Graphics2D g) {
-		Font titleFont = new Font("SpaceInvaders", Font.PLAIN, 80);
-		g.setFont(titleFont);
-		FontMetrics fm = g.getFontMetrics();
-		
-		String title = "Space Invaders!";
-		int titleW = fm.stringWidth(title);
-		int screenW = Screen.getScreenWidth();
-		int titleX = (screenW - titleW) / 2;
-		
 		//draw shadow
-		g.setColor(this.shadowColor);
-		g.drawString(title, titleX - 3, 100 - 3);
-		
-		//draw text
-		g.setColor(this.currentTitleColor);
-		g.drawString(title, titleX, 100);
-		
+		this.titleFont.drawStaticString(g, TITLE, this.titleX - 3, 100 - 3, this.shadowColor);
+		
+		//draw text, fading from the first color to the second by
+		//	drawing the second over the first partly see-through
+		this.titleFont.drawStaticString(g, TITLE, this.titleX, 100, this.firstTitleColor);
+		
+		int step = (int) (this.fadePercent * FADE_STEPS);
+		if (step > 0) {
+			Composite composite = g.getComposite();
+			g.setComposite(this.fadeComposites[step]);
+			this.titleFont.drawStaticString(g, TITLE, this.titleX, 100, this.secondTitleColor);
+			g.setComposite(composite);
+		}
+	
 	}
 	
+	/** Queues the start button on top of everything else, the shadow underneath the text */
 	private void renderStartButton(Graphics2D g) {
-		Font startFont = new Font("SpaceInvaders", Font.PLAIN, 40);
-		g.setFont(startFont);
-		FontMetrics fm = g.getFontMetrics();
-		
-		String buttonText = "Press Space";
-		int titleW = fm.stringWidth(buttonText);
-		int screenW = Screen.getScreenWidth();
-		int titleX = (screenW - titleW) / 2;
+		RenderQueue queue = this.getRenderQueue();
+		if (queue == null) {
+			this.startButtonFont.drawStaticString(g, START_BUTTON, this.startButtonX - 3, 500 - 3, this.startButtonShadowColor);
+			this.startButtonFont.drawStaticString(g, START_BUTTON, this.startButtonX, 500, this.startButtonColor);
+			return;
+		}
 		
 		//draw shadow
-		g.setColor(this.startButtonShadowColor);
-		g.drawString(buttonText, titleX-3, 500-3);
+		queue.submitText(0, 0, this.startButtonFont, START_BUTTON, this.startButtonX - 3, 500 - 3, this.startButtonShadowColor);
 		
 		//draw text
-		g.setColor(this.startButtonColor);
-		g.drawString(buttonText, titleX, 500);
+		queue.submitText(0, 1, this.startButtonFont, START_BUTTON, this.startButtonX, 500, this.startButtonColor);
 	}
 	
 
@@ -0,0 +1,117 @@
+package spaceinvaders.game;
+
+
+
+/**
+ * 	The Wave Stats keep track of how the player did against a single Alien
+ * 	Wave: how long they survived while the Wave was attacking, how many Aliens
+ * 	they killed and how many Lasers they fired. The Gameplay Scene keeps one
+ * 	for each Wave it starts so that runs of the game can be compared, for
+ * 	example when tuning how often the Aliens attack.
+ * 	
+ */
+public class WaveStats {
+	
+	
+	/** Number of the Wave, starting at 1 */
+	private int wave;
+	/** Total Aliens in the Wave */
+	private int totalAliens;
+	
+	/** Amount of time in seconds the player survived during the Wave */
+	private double survivalTime;
+	/** Number of Aliens the player killed */
+	private int aliensKilled;
+	/** Number of Lasers the player fired */
+	private int shotsFired;
+	
+	/** True if the player died during the Wave */
+	private boolean playerKilled;
+	
+	
+	
+	
+	/** Creates new, empty, Wave Stats for the given Wave number and size */
+	public WaveStats( int wave, int totalAliens )
+	{
+		this.wave = wave;
+		this.totalAliens = totalAliens;
+	}
+	
+	
+	
+//==============================================================================
+//							RECORD
+//==============================================================================
+	
+	/** Adds the given amount of time in seconds the player has survived */
+	public void addSurvivalTime( double secs )
+	{
+		this.survivalTime += secs;
+	}
+	
+	/** Counts one more Alien killed by the player */
+	public void addAlienKilled()
+	{
+		this.aliensKilled ++;
+	}
+	
+	/** Counts one more Laser fired by the player */
+	public void addShotFired()
+	{
+		this.shotsFired ++;
+	}
+	
+	/** Records that the player died during the Wave */
+	public void setPlayerKilled()
+	{
+		this.playerKilled = true;
+	}
+	
+//==============================================================================
+//							STATS
+//==============================================================================
+	
+	/** Returns the number of the Wave, starting at 1 */
+	public int getWave()
+	{
+		return	this.wave;
+	}
+	
+	/** Returns the total number of Aliens in the Wave */
+	public int getTotalAliens()
+	{
+		return	this.totalAliens;
+	}
+	
+	/** Returns the amount of time in seconds the player survived the Wave */
+	public double getSurvivalTime()
+	{
+		return	this.survivalTime;
+	}
+	
+	/** Returns the number of Aliens the player killed */
+	public int getAliensKilled()
+	{
+		return	this.aliensKilled;
+	}
+	
+	/** Returns the number of Lasers the player fired */
+	public int getShotsFired()
+	{
+		return	this.shotsFired;
+	}
+	
+	/** Returns true if the player died during the Wave */
+	public boolean isPlayerKilled()
+	{
+		return	this.playerKilled;
+	}
+	
+	/** Returns true if every Alien in the Wave was killed */
+	public boolean isCleared()
+	{
+		return	this.aliensKilled >= this.totalAliens;
+	}
+	
+}